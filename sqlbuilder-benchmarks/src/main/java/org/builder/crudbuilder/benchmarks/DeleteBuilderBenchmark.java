@@ -0,0 +1,67 @@
+package org.builder.crudbuilder.benchmarks;
+
+import org.builder.crudbuilder.DeleteBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.builder.crudbuilder.DeleteBuilder.deleteQuery;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeleteBuilderBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class InList {
+
+        @Param({"10", "100", "1000"})
+        private int size;
+
+        private List<Object> values;
+
+        @Setup
+        public void setUp() {
+            values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add((long) i);
+            }
+        }
+    }
+
+    @Benchmark
+    public void shortChain(Blackhole blackhole) {
+        DeleteBuilder builder = deleteQuery()
+                .deleteFrom("users")
+                .whereEq("name", "John")
+                .andGt("age", 30)
+                .orEq("city", "New York");
+        blackhole.consume(builder.getQuery());
+        blackhole.consume(builder.getParameters());
+    }
+
+    @Benchmark
+    public void wideWhereIn(InList inList, Blackhole blackhole) {
+        DeleteBuilder builder = deleteQuery()
+                .deleteFrom("users")
+                .whereIn("id", inList.values);
+        blackhole.consume(builder.getQuery());
+        blackhole.consume(builder.getParameters());
+    }
+}
@@ -0,0 +1,88 @@
+package org.builder.crudbuilder.benchmarks;
+
+import org.builder.crudbuilder.InsertBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.builder.crudbuilder.InsertBuilder.insert;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBuilderBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    private int rowCount;
+
+    private Map<String, Object> singleRow;
+    private List<Map<String, Object>> columnRows;
+    private List<List<Object>> valueRows;
+
+    @Setup
+    public void setUp() {
+        singleRow = row(0);
+        columnRows = new ArrayList<>(rowCount);
+        valueRows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            Map<String, Object> row = row(i);
+            columnRows.add(row);
+            valueRows.add(new ArrayList<>(row.values()));
+        }
+    }
+
+    @Benchmark
+    public void columnsAndValues(Blackhole blackhole) {
+        InsertBuilder builder = insert().columnsAndValues("users", singleRow);
+        blackhole.consume(builder.getQuery());
+        blackhole.consume(builder.getParameters());
+    }
+
+    @Benchmark
+    public void columnsAndMultiValues(Blackhole blackhole) {
+        InsertBuilder builder = insert().columnsAndMultiValues("users", columnRows);
+        blackhole.consume(builder.getQuery());
+        blackhole.consume(builder.getParameters());
+    }
+
+    @Benchmark
+    public void columnsAndMultiValuesParallel(Blackhole blackhole) {
+        InsertBuilder builder = insert().parallelRendering().columnsAndMultiValues("users", columnRows);
+        blackhole.consume(builder.getQuery());
+        blackhole.consume(builder.getParameters());
+    }
+
+    @Benchmark
+    public void multiValues(Blackhole blackhole) {
+        InsertBuilder builder = insert().multiValues("users", valueRows);
+        blackhole.consume(builder.getQuery());
+        blackhole.consume(builder.getParameters());
+    }
+
+    private static Map<String, Object> row(int i) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", (long) i);
+        row.put("name", "user-" + i);
+        row.put("age", 20 + i % 50);
+        row.put("gender", i % 2 == 0 ? "female" : "male");
+        return row;
+    }
+}
@@ -0,0 +1,94 @@
+package org.builder.crudbuilder.benchmarks;
+
+import org.builder.crudbuilder.UpdateBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.builder.crudbuilder.UpdateBuilder.updateQuery;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UpdateBuilderBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class InList {
+
+        @Param({"10", "100", "1000"})
+        private int size;
+
+        private List<Object> values;
+
+        @Setup
+        public void setUp() {
+            values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add((long) i);
+            }
+        }
+    }
+
+    private Map<String, Object> setValues;
+
+    @Setup
+    public void setUp() {
+        setValues = new LinkedHashMap<>();
+        setValues.put("name", "kim");
+        setValues.put("age", 30);
+        setValues.put("is_active", true);
+    }
+
+    @Benchmark
+    public void shortChain(Blackhole blackhole) {
+        UpdateBuilder builder = updateQuery()
+                .updateTable("users")
+                .setValues(setValues)
+                .whereEq("name", "John")
+                .andGt("age", 30)
+                .orEq("city", "New York");
+        blackhole.consume(builder.getQuery());
+        blackhole.consume(builder.getParameters());
+    }
+
+    @Benchmark
+    public void caseChain(Blackhole blackhole) {
+        UpdateBuilder builder = updateQuery()
+                .updateTable("members")
+                .setCase("member_grade")
+                .when("points").gte(1000).then("Platinum")
+                .when("points").gte(500).then("Gold")
+                .when("points").gte(100).then("Silver")
+                .endCase("Bronze");
+        blackhole.consume(builder.getQuery());
+        blackhole.consume(builder.getParameters());
+    }
+
+    @Benchmark
+    public void wideWhereIn(InList inList, Blackhole blackhole) {
+        UpdateBuilder builder = updateQuery()
+                .updateTable("users")
+                .setValues(setValues)
+                .whereIn("id", inList.values);
+        blackhole.consume(builder.getQuery());
+        blackhole.consume(builder.getParameters());
+    }
+}
@@ -0,0 +1,60 @@
+package org.builder.crudbuilder;
+
+/**
+ * Per-thread builder instances for allocation-free hot paths.
+ *
+ * <p>Each method returns the calling thread's builder of that type after {@code reset()},
+ * so the query buffer and parameter array grown by earlier queries are reused. In steady
+ * state, building a query allocates only its nodes and the final SQL string.</p>
+ *
+ * <pre>{@code
+ * SelectBuilder builder = BuilderPool.select()
+ *         .selectFrom("users")
+ *         .whereEq("id", id);
+ * jdbcTemplate.queryForList(builder.getQuery(), builder.getParameters().toArray());
+ * }</pre>
+ *
+ * <p>The returned builder, including the list returned by its {@code getParameters()}, is only
+ * valid until the same thread asks this pool for a builder of the same type again. Consume the
+ * query before that, and never hand a pooled builder to another thread. Instances are kept per
+ * thread, so on virtual threads, which are not reused, the pool gives no benefit over
+ * creating a new builder.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public final class BuilderPool {
+
+    private static final ThreadLocal<SelectBuilder> SELECT = ThreadLocal.withInitial(SelectBuilder::selectBuilder);
+    private static final ThreadLocal<InsertBuilder> INSERT = ThreadLocal.withInitial(InsertBuilder::insert);
+    private static final ThreadLocal<UpdateBuilder> UPDATE = ThreadLocal.withInitial(UpdateBuilder::updateQuery);
+    private static final ThreadLocal<DeleteBuilder> DELETE = ThreadLocal.withInitial(DeleteBuilder::deleteQuery);
+
+    private BuilderPool() {
+    }
+
+    public static SelectBuilder select() {
+        return SELECT.get().reset();
+    }
+
+    public static InsertBuilder insert() {
+        return INSERT.get().reset();
+    }
+
+    public static UpdateBuilder update() {
+        return UPDATE.get().reset();
+    }
+
+    public static DeleteBuilder delete() {
+        return DELETE.get().reset();
+    }
+
+    /**
+     * Drops the calling thread's builders, e.g. before returning a pooled worker thread.
+     */
+    public static void clear() {
+        SELECT.remove();
+        INSERT.remove();
+        UPDATE.remove();
+        DELETE.remove();
+    }
+}
@@ -0,0 +1,133 @@
+package org.builder.crudbuilder;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An immutable snapshot of a built query: the interned SQL string and a frozen copy of its parameters.
+ *
+ * <p>The hash code is computed once, when the snapshot is taken, so a {@code BuiltQuery} is a cheap
+ * key for result caches and metrics registries. Two snapshots are equal when their SQL and their
+ * parameters are equal; array parameters are compared by content. Instances are safe to share
+ * between threads and stay valid after the builder that produced them is reset or reused.</p>
+ *
+ * <pre>{@code
+ * BuiltQuery key = selectBuilder()
+ *         .selectFrom("users")
+ *         .whereEq("id", id)
+ *         .build();
+ * cache.computeIfAbsent(key, k -> load(k));
+ * }</pre>
+ *
+ * @author Kim SeuongYong
+ */
+public final class BuiltQuery implements SqlQuery {
+
+    private final String query;
+    private final ParameterBuffer parameters;
+    private final String builder;
+    private final int hash;
+
+    private BuiltQuery(String query, ParameterBuffer parameters, String builder) {
+        this.query = query;
+        this.parameters = parameters;
+        this.builder = builder;
+        this.hash = computeHash(query, parameters);
+    }
+
+    /**
+     * Takes a snapshot of the given SQL and parameters.
+     *
+     * @throws IllegalArgumentException If the query is null.
+     */
+    public static BuiltQuery of(String query, ParameterBuffer parameters) {
+        return of(query, parameters, null);
+    }
+
+    /**
+     * @param builder The simple class name of the builder the query came from, or null.
+     */
+    static BuiltQuery of(String query, ParameterBuffer parameters, String builder) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        ParameterBuffer frozen = parameters == null ? new ParameterBuffer(0).frozenCopy()
+                : parameters.isFrozen() ? parameters : parameters.frozenCopy();
+        return new BuiltQuery(query.intern(), frozen, builder);
+    }
+
+    public static BuiltQuery of(SqlQuery query) {
+        if (query instanceof BuiltQuery) {
+            return (BuiltQuery) query;
+        }
+        String builder = query instanceof StatementChunk ? ((StatementChunk) query).getBuilder()
+                : query.getClass().getSimpleName();
+        return of(query.getQuery(), query.getParameters(), builder);
+    }
+
+    @Override
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * @return The read-only parameters of this query.
+     */
+    @Override
+    public ParameterBuffer getParameters() {
+        return parameters;
+    }
+
+    /**
+     * The builder is not part of equality: the same SQL and parameters are the same query.
+     *
+     * @return The simple class name of the builder that produced this query, e.g. {@code SelectBuilder},
+     *         or null for a snapshot taken with {@link #of(String, ParameterBuffer)}.
+     */
+    public String getBuilder() {
+        return builder;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BuiltQuery)) {
+            return false;
+        }
+        BuiltQuery other = (BuiltQuery) o;
+        if (hash != other.hash || parameters.size() != other.parameters.size()) {
+            return false;
+        }
+        if (query != other.query && !query.equals(other.query)) {
+            return false;
+        }
+        for (int i = 0; i < parameters.size(); i++) {
+            if (!Objects.deepEquals(parameters.get(i), other.parameters.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "BuiltQuery{query=" + query + ", parameters=" + parameters + "}";
+    }
+
+    private static int computeHash(String query, ParameterBuffer parameters) {
+        int result = query.hashCode();
+        for (int i = 0; i < parameters.size(); i++) {
+            Object value = parameters.get(i);
+            boolean array = value != null && value.getClass().isArray();
+            result = 31 * result + (array ? Arrays.deepHashCode(new Object[]{value}) : Objects.hashCode(value));
+        }
+        return result;
+    }
+}
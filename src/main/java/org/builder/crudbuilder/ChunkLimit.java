@@ -0,0 +1,97 @@
+package org.builder.crudbuilder;
+
+/**
+ * The size budget of one statement produced by a chunked builder method.
+ *
+ * <p>A chunk is closed as soon as the next row would exceed either the number of bind
+ * parameters or the estimated statement size in bytes. The byte estimate is the SQL length
+ * plus the length of string and binary values and a fixed size for everything else, which is
+ * good enough to stay under limits such as MySQL's {@code max_allowed_packet}.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public final class ChunkLimit {
+
+    /** PostgreSQL wire protocol limit on bind parameters per statement. */
+    public static final int POSTGRES_MAX_BINDS = 65_535;
+    /** SQL Server limit on parameters per RPC call (2,100 including the statement itself). */
+    public static final int SQL_SERVER_MAX_BINDS = 2_099;
+    /** MySQL limit on placeholders in one prepared statement. */
+    public static final int MYSQL_MAX_BINDS = 65_535;
+
+    private static final int FIXED_VALUE_BYTES = 8;
+
+    private final int maxBinds;
+    private final long maxBytes;
+
+    private ChunkLimit(int maxBinds, long maxBytes) {
+        if (maxBinds <= 0) {
+            throw new IllegalArgumentException("maxBinds must be positive");
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.maxBinds = maxBinds;
+        this.maxBytes = maxBytes;
+    }
+
+    public static ChunkLimit maxBinds(int maxBinds) {
+        return new ChunkLimit(maxBinds, Long.MAX_VALUE);
+    }
+
+    /**
+     * A limit on the estimated statement size only, with no bind budget of its own.
+     *
+     * @param maxBytes The maximum estimated size of one statement in bytes.
+     */
+    public static ChunkLimit maxBytes(long maxBytes) {
+        return new ChunkLimit(Integer.MAX_VALUE, maxBytes);
+    }
+
+    public static ChunkLimit postgres() {
+        return maxBinds(POSTGRES_MAX_BINDS);
+    }
+
+    public static ChunkLimit sqlServer() {
+        return maxBinds(SQL_SERVER_MAX_BINDS);
+    }
+
+    /**
+     * @param maxAllowedPacket The server's {@code max_allowed_packet} in bytes.
+     */
+    public static ChunkLimit mysql(long maxAllowedPacket) {
+        return new ChunkLimit(MYSQL_MAX_BINDS, maxAllowedPacket);
+    }
+
+    /**
+     * Returns a copy of this limit that also caps the estimated statement size.
+     */
+    public ChunkLimit withMaxBytes(long maxBytes) {
+        return new ChunkLimit(maxBinds, maxBytes);
+    }
+
+    public int getMaxBinds() {
+        return maxBinds;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Maximum number of rows of {@code columnCount} values that fit the bind budget, at least one.
+     */
+    int maxRows(int columnCount) {
+        return Math.max(1, maxBinds / Math.max(1, columnCount));
+    }
+
+    static long estimateBytes(Object value) {
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        return FIXED_VALUE_BYTES;
+    }
+}
@@ -0,0 +1,380 @@
+package org.builder.crudbuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Encodes rows for PostgreSQL's {@code COPY ... FROM STDIN}, the fastest way to load many rows.
+ *
+ * <p>Takes the same rows as {@link InsertBuilder#columnsAndMultiValues} and
+ * {@link InsertBuilder#multiValues}, but as an {@link Iterator} or {@link Stream}, and returns a
+ * {@link CopyLoad} that encodes them in {@link CopyFormat#TEXT} or {@link CopyFormat#BINARY}
+ * format while writing. The encoding buffer belongs to the builder and is flushed every
+ * {@code bufferSize} bytes, so memory stays bounded for any number of rows and is reused by
+ * later loads of the same builder.</p>
+ *
+ * <pre>{@code
+ * CopyLoad load = copy(CopyFormat.BINARY).columnsAndMultiValues("users", rows.iterator());
+ * try (OutputStream out = new PGCopyOutputStream(pgConnection, load.getCommand())) {
+ *     load.writeTo(out);
+ * }
+ * }</pre>
+ *
+ * <p>A builder is not thread safe; use one per loading thread.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public class CopyBuilder {
+
+    static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final int MIN_BUFFER_SIZE = 64;
+
+    private static final byte[] BINARY_HEADER = {
+            'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0,
+            0, 0, 0, 0,
+            0, 0, 0, 0
+    };
+    private static final long POSTGRES_EPOCH_SECOND = 946_684_800L;
+    private static final long POSTGRES_EPOCH_DAY = 10_957L;
+
+    private final CopyFormat format;
+    private final int bufferSize;
+    private final StringBuilder text;
+    private final byte[] bytes;
+    private int position;
+
+    private CopyBuilder(CopyFormat format, int bufferSize) {
+        if (format == null) {
+            throw new IllegalArgumentException("Copy format cannot be null");
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        this.format = format;
+        this.bufferSize = bufferSize;
+        this.text = format == CopyFormat.TEXT ? new StringBuilder(bufferSize + 256) : null;
+        this.bytes = format == CopyFormat.BINARY ? new byte[Math.max(bufferSize, MIN_BUFFER_SIZE)] : null;
+    }
+
+    public static CopyBuilder copy() {
+        return new CopyBuilder(CopyFormat.TEXT, DEFAULT_BUFFER_SIZE);
+    }
+
+    public static CopyBuilder copy(CopyFormat format) {
+        return new CopyBuilder(format, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize The number of encoded bytes (characters for text) collected before they
+     *                   are written out. Binary buffers are at least 64 bytes.
+     */
+    public static CopyBuilder copy(CopyFormat format, int bufferSize) {
+        return new CopyBuilder(format, bufferSize);
+    }
+
+    /**
+     * Prepares a load of named rows. The column names are taken from the first row.
+     *
+     * @param table The name of the table.
+     * @param rows The rows to load, all with the same columns in the same order.
+     * @return The command and the rows to stream into it.
+     * @throws IllegalArgumentException If there are no rows.
+     */
+    public CopyLoad columnsAndMultiValues(String table, Iterator<Map<String, Object>> rows) {
+        if (rows == null || !rows.hasNext()) {
+            throw new IllegalArgumentException("Row data cannot be null or empty");
+        }
+        Map<String, Object> firstRow = rows.next();
+        if (firstRow == null || firstRow.isEmpty()) {
+            throw new IllegalArgumentException("Row data cannot be null or empty");
+        }
+        List<String> columns = RowValues.columnsOf(firstRow);
+        return new CopyLoad(this, command(table, columns), columns, new RowValues(columns, firstRow),
+                RowValues.of(columns, rows));
+    }
+
+    public CopyLoad columnsAndMultiValues(String table, Stream<Map<String, Object>> rows) {
+        if (rows == null) {
+            throw new IllegalArgumentException("Row data cannot be null or empty");
+        }
+        return columnsAndMultiValues(table, rows.iterator());
+    }
+
+    /**
+     * Prepares a load of rows given in table column order.
+     *
+     * @param table The name of the table.
+     * @param valuesLists The rows to load, all with the same number of values.
+     * @return The command and the rows to stream into it.
+     * @throws IllegalArgumentException If there are no rows.
+     */
+    public CopyLoad multiValues(String table, Iterator<? extends List<Object>> valuesLists) {
+        if (valuesLists == null || !valuesLists.hasNext()) {
+            throw new IllegalArgumentException("Values cannot be null or empty");
+        }
+        List<Object> firstRow = valuesLists.next();
+        if (firstRow == null || firstRow.isEmpty()) {
+            throw new IllegalArgumentException("Values cannot be null or empty");
+        }
+        return new CopyLoad(this, command(table, List.of()), List.of(), firstRow, valuesLists);
+    }
+
+    public CopyLoad multiValues(String table, Stream<? extends List<Object>> valuesLists) {
+        if (valuesLists == null) {
+            throw new IllegalArgumentException("Values cannot be null or empty");
+        }
+        return multiValues(table, valuesLists.iterator());
+    }
+
+    public CopyFormat getFormat() {
+        return format;
+    }
+
+    long encode(Collection<Object> firstRow, Iterator<? extends Collection<Object>> rows, OutputStream out) throws IOException {
+        if (format == CopyFormat.TEXT) {
+            return encodeText(firstRow, rows, chars -> out.write(chars.toString().getBytes(StandardCharsets.UTF_8)));
+        }
+        position = 0;
+        writeBytes(BINARY_HEADER, out);
+        int columnCount = firstRow.size();
+        long rowCount = 0;
+        Collection<Object> row = firstRow;
+        while (true) {
+            checkRow(row, columnCount, rowCount);
+            ensure(2, out);
+            writeShort(columnCount);
+            for (Object value : row) {
+                writeBinaryValue(value, out);
+            }
+            rowCount++;
+            if (!rows.hasNext()) {
+                break;
+            }
+            row = rows.next();
+        }
+        ensure(2, out);
+        writeShort(-1);
+        out.write(bytes, 0, position);
+        position = 0;
+        return rowCount;
+    }
+
+    long encode(Collection<Object> firstRow, Iterator<? extends Collection<Object>> rows, Writer writer) throws IOException {
+        return encodeText(firstRow, rows, writer::append);
+    }
+
+    private interface TextSink {
+        void write(StringBuilder chars) throws IOException;
+    }
+
+    private long encodeText(Collection<Object> firstRow, Iterator<? extends Collection<Object>> rows, TextSink sink) throws IOException {
+        text.setLength(0);
+        int columnCount = firstRow.size();
+        long rowCount = 0;
+        Collection<Object> row = firstRow;
+        while (true) {
+            checkRow(row, columnCount, rowCount);
+            char separator = 0;
+            for (Object value : row) {
+                if (separator != 0) {
+                    text.append(separator);
+                }
+                appendTextValue(value);
+                separator = '\t';
+            }
+            text.append('\n');
+            if (text.length() >= bufferSize) {
+                sink.write(text);
+                text.setLength(0);
+            }
+            rowCount++;
+            if (!rows.hasNext()) {
+                break;
+            }
+            row = rows.next();
+        }
+        if (text.length() > 0) {
+            sink.write(text);
+            text.setLength(0);
+        }
+        return rowCount;
+    }
+
+    private static void checkRow(Collection<Object> row, int columnCount, long rowNumber) {
+        if (row == null || row.size() != columnCount) {
+            throw new IllegalArgumentException("Every row must have " + columnCount + " values but row "
+                    + rowNumber + " has " + (row == null ? 0 : row.size()));
+        }
+    }
+
+    private void appendTextValue(Object value) {
+        if (value == null) {
+            text.append("\\N");
+        } else if (value instanceof Boolean) {
+            text.append((Boolean) value ? 't' : 'f');
+        } else if (value instanceof Number) {
+            text.append(value);
+        } else if (value instanceof byte[]) {
+            text.append("\\\\x");
+            for (byte b : (byte[]) value) {
+                text.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+        } else if (value instanceof Enum) {
+            appendEscaped(((Enum<?>) value).name());
+        } else {
+            appendEscaped(value.toString());
+        }
+    }
+
+    private void appendEscaped(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> text.append("\\\\");
+                case '\t' -> text.append("\\t");
+                case '\n' -> text.append("\\n");
+                case '\r' -> text.append("\\r");
+                default -> text.append(c);
+            }
+        }
+    }
+
+    private void writeBinaryValue(Object value, OutputStream out) throws IOException {
+        if (value == null) {
+            ensure(4, out);
+            writeInt(-1);
+        } else if (value instanceof Integer) {
+            ensure(8, out);
+            writeInt(4);
+            writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            ensure(12, out);
+            writeInt(8);
+            writeLong((Long) value);
+        } else if (value instanceof Short) {
+            ensure(6, out);
+            writeInt(2);
+            writeShort((Short) value);
+        } else if (value instanceof Double) {
+            ensure(12, out);
+            writeInt(8);
+            writeLong(Double.doubleToLongBits((Double) value));
+        } else if (value instanceof Float) {
+            ensure(8, out);
+            writeInt(4);
+            writeInt(Float.floatToIntBits((Float) value));
+        } else if (value instanceof Boolean) {
+            ensure(5, out);
+            writeInt(1);
+            bytes[position++] = (byte) ((Boolean) value ? 1 : 0);
+        } else if (value instanceof String || value instanceof Character) {
+            writeLengthPrefixed(value.toString().getBytes(StandardCharsets.UTF_8), out);
+        } else if (value instanceof Enum) {
+            writeLengthPrefixed(((Enum<?>) value).name().getBytes(StandardCharsets.UTF_8), out);
+        } else if (value instanceof byte[]) {
+            writeLengthPrefixed((byte[]) value, out);
+        } else if (value instanceof UUID) {
+            ensure(20, out);
+            writeInt(16);
+            writeLong(((UUID) value).getMostSignificantBits());
+            writeLong(((UUID) value).getLeastSignificantBits());
+        } else if (value instanceof LocalDate) {
+            ensure(8, out);
+            writeInt(4);
+            writeInt((int) (((LocalDate) value).toEpochDay() - POSTGRES_EPOCH_DAY));
+        } else if (value instanceof LocalDateTime) {
+            writeTimestamp(((LocalDateTime) value).toInstant(ZoneOffset.UTC), out);
+        } else if (value instanceof Timestamp) {
+            writeTimestamp(((Timestamp) value).toLocalDateTime().toInstant(ZoneOffset.UTC), out);
+        } else if (value instanceof Instant) {
+            writeTimestamp((Instant) value, out);
+        } else if (value instanceof OffsetDateTime) {
+            writeTimestamp(((OffsetDateTime) value).toInstant(), out);
+        } else {
+            throw new IllegalArgumentException("Cannot encode " + value.getClass().getName()
+                    + " in binary COPY format, use CopyFormat.TEXT");
+        }
+    }
+
+    private void writeTimestamp(Instant instant, OutputStream out) throws IOException {
+        ensure(12, out);
+        writeInt(8);
+        writeLong((instant.getEpochSecond() - POSTGRES_EPOCH_SECOND) * 1_000_000L + instant.getNano() / 1_000);
+    }
+
+    private void writeLengthPrefixed(byte[] value, OutputStream out) throws IOException {
+        ensure(4, out);
+        writeInt(value.length);
+        writeBytes(value, out);
+    }
+
+    private void writeBytes(byte[] value, OutputStream out) throws IOException {
+        if (value.length > bytes.length - position) {
+            out.write(bytes, 0, position);
+            position = 0;
+            if (value.length > bytes.length) {
+                out.write(value);
+                return;
+            }
+        }
+        System.arraycopy(value, 0, bytes, position, value.length);
+        position += value.length;
+    }
+
+    /**
+     * Writes the buffer out when fewer than {@code count} bytes are left in it.
+     */
+    private void ensure(int count, OutputStream out) throws IOException {
+        if (bytes.length - position < count) {
+            out.write(bytes, 0, position);
+            position = 0;
+        }
+    }
+
+    private void writeShort(int value) {
+        bytes[position++] = (byte) (value >>> 8);
+        bytes[position++] = (byte) value;
+    }
+
+    private void writeInt(int value) {
+        bytes[position++] = (byte) (value >>> 24);
+        bytes[position++] = (byte) (value >>> 16);
+        bytes[position++] = (byte) (value >>> 8);
+        bytes[position++] = (byte) value;
+    }
+
+    private void writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    private String command(String table, List<String> columns) {
+        if (table == null || table.isBlank()) {
+            throw new IllegalArgumentException("Table can not be null or empty");
+        }
+        StringBuilder command = new StringBuilder("COPY ").append(table);
+        if (!columns.isEmpty()) {
+            command.append(" (").append(String.join(", ", columns)).append(")");
+        }
+        command.append(" FROM STDIN");
+        if (format == CopyFormat.BINARY) {
+            command.append(" (FORMAT binary)");
+        }
+        return command.toString();
+    }
+}
@@ -0,0 +1,22 @@
+package org.builder.crudbuilder;
+
+/**
+ * The PostgreSQL {@code COPY ... FROM STDIN} data formats written by {@link CopyBuilder}.
+ *
+ * @author Kim SeuongYong
+ */
+public enum CopyFormat {
+
+    /**
+     * Tab separated text, {@code \N} for null. Values are written with their {@code toString()},
+     * so the server parses them into the column types.
+     */
+    TEXT,
+
+    /**
+     * PostgreSQL's binary tuple format. Cheaper for the server to read, but the Java type of each
+     * value decides its wire type ({@code Integer} is {@code integer}, {@code Long} is
+     * {@code bigint}), which must match the column type exactly.
+     */
+    BINARY
+}
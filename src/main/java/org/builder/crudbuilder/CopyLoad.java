@@ -0,0 +1,91 @@
+package org.builder.crudbuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * One pending {@code COPY ... FROM STDIN}: the command to run and the rows to stream into it.
+ *
+ * <p>Run {@link #getCommand()} with the driver's copy API, e.g. PostgreSQL's
+ * {@code CopyManager.copyIn(command, inputStream)}, or write the data to a file and load that.
+ * Rows are pulled from the source iterator while writing, so only the builder's buffer is held
+ * in memory. A load can be written once. Created by {@link CopyBuilder}.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public final class CopyLoad {
+
+    private final CopyBuilder builder;
+    private final String command;
+    private final List<String> columns;
+    private final Collection<Object> firstRow;
+    private final Iterator<? extends Collection<Object>> rows;
+    private boolean written;
+
+    CopyLoad(CopyBuilder builder, String command, List<String> columns, Collection<Object> firstRow,
+             Iterator<? extends Collection<Object>> rows) {
+        this.builder = builder;
+        this.command = command;
+        this.columns = columns;
+        this.firstRow = firstRow;
+        this.rows = rows;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * @return The column names, or an empty list when the rows were given without names.
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Encodes every row into {@code out}, flushing the builder's buffer whenever it fills up.
+     *
+     * @return The number of rows written.
+     * @throws IllegalStateException If this load was already written.
+     * @throws IllegalArgumentException If a row has a different number of values than the first one.
+     * @throws UncheckedIOException If writing to {@code out} fails.
+     */
+    public long writeTo(OutputStream out) {
+        startWriting();
+        try {
+            return builder.encode(firstRow, rows, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the rows as text to {@code writer}.
+     *
+     * @return The number of rows written.
+     * @throws IllegalStateException If this load was already written or the format is binary.
+     */
+    public long writeTo(Writer writer) {
+        if (builder.getFormat() != CopyFormat.TEXT) {
+            throw new IllegalStateException("Binary COPY data can only be written to an OutputStream");
+        }
+        startWriting();
+        try {
+            return builder.encode(firstRow, rows, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void startWriting() {
+        if (written) {
+            throw new IllegalStateException("COPY rows were already written");
+        }
+        written = true;
+    }
+}
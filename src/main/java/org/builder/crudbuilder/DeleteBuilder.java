@@ -2,9 +2,9 @@ package org.builder.crudbuilder;
 
 import jakarta.annotation.Nullable;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * A builder class to construct SQL DELETE queries in a fluent manner.
@@ -14,19 +14,30 @@ import java.util.stream.Collectors;
  * @author Kim SeuongYong
  */
 
-public class DeleteBuilder {
+public class DeleteBuilder implements SqlQuery {
 
-    private final StringBuilder query;
-    private final List<Object> parameters;
+    private final QueryText query;
+    private final ParameterBuffer parameters;
+    private final Dialect dialect;
+    private final List<SqlNode> nodes = new ArrayList<>();
+    private boolean rendered;
+    private InListPadding inListPadding;
+    private boolean arrayInLists;
+    private boolean simplifyPredicates;
     private boolean tableSpecified;
+    private String table;
 
 
     /**
      * Private constructor to ensure instantiation through the static factory method.
      */
-    private DeleteBuilder() {
-        this.query = new StringBuilder();
-        this.parameters = new LinkedList<>();
+    private DeleteBuilder(QueryText query, Dialect dialect) {
+        if (dialect == null) {
+            throw new IllegalArgumentException("Dialect cannot be null");
+        }
+        this.query = query;
+        this.dialect = dialect;
+        this.parameters = new ParameterBuffer();
         this.tableSpecified = false;
     }
 
@@ -36,7 +47,41 @@ public class DeleteBuilder {
      * @return A new DeleteBuilder instance.
      */
     public static DeleteBuilder deleteQuery() {
-        return new DeleteBuilder();
+        return new DeleteBuilder(new QueryText(), StandardDialect.GENERIC);
+    }
+
+    /**
+     * Creates a new DeleteBuilder that resolves its SQL through the given shape cache.
+     *
+     * <p>Repeating the same sequence of builder calls returns the cached SQL string
+     * instead of rendering it again. Only the parameters are collected per call.</p>
+     *
+     * @param cache The cache shared by builders of the same query shapes.
+     * @return A new DeleteBuilder instance.
+     */
+    public static DeleteBuilder deleteQuery(QueryShapeCache cache) {
+        return new DeleteBuilder(new QueryText(cache), StandardDialect.GENERIC);
+    }
+
+    /**
+     * Creates a new DeleteBuilder rendering for the given database.
+     *
+     * @param dialect The dialect of the target database.
+     * @return A new DeleteBuilder instance.
+     */
+    public static DeleteBuilder deleteQuery(Dialect dialect) {
+        return new DeleteBuilder(new QueryText(), dialect);
+    }
+
+    /**
+     * Creates a new DeleteBuilder rendering for the given database through the given shape cache.
+     *
+     * @param dialect The dialect of the target database.
+     * @param cache The cache shared by builders of the same query shapes.
+     * @return A new DeleteBuilder instance.
+     */
+    public static DeleteBuilder deleteQuery(Dialect dialect, QueryShapeCache cache) {
+        return new DeleteBuilder(new QueryText(cache), dialect);
     }
 
     /**
@@ -52,9 +97,9 @@ public class DeleteBuilder {
         if (!hasText(table)) {
             throw new IllegalArgumentException("Table name cannot be null or empty");
         }
-        query.append("DELETE FROM ").append(table);
         tableSpecified = true;
-        return this;
+        this.table = table;
+        return addNode(new SqlNode.DeleteFrom(table));
     }
 
     public DeleteBuilder whereEq(String column, Object condition) {
@@ -77,6 +122,46 @@ public class DeleteBuilder {
         return addCondition(">=", column, condition, "WHERE");
     }
 
+    /**
+     * Pads the placeholders of subsequent IN / NOT IN conditions to the buckets of the given padding.
+     *
+     * @param padding The shared padding policy, or {@code null} to render exactly one placeholder per value.
+     * @return The current DeleteBuilder instance.
+     */
+    public DeleteBuilder padInLists(InListPadding padding) {
+        this.inListPadding = padding;
+        return this;
+    }
+
+    /**
+     * Renders IN and NOT IN as {@code column = ANY(?)} and {@code column <> ALL(?)} with the whole
+     * list bound as one {@link SqlArray}, so every list size shares one statement.
+     *
+     * @return The current DeleteBuilder instance.
+     * @throws IllegalStateException If the dialect does not support array parameters.
+     */
+    public DeleteBuilder bindInListsAsArray() {
+        if (!dialect.supportsArrayParameters()) {
+            throw new IllegalStateException("Dialect " + dialect.name() + " does not support array parameters");
+        }
+        this.arrayInLists = true;
+        return this;
+    }
+
+    /**
+     * Simplifies the WHERE clause before rendering: repeated terms are dropped,
+     * {@code col >= ? AND col <= ?} becomes {@code col BETWEEN ? AND ?} and OR-ed equalities on
+     * one column become one IN list, which follows {@link #padInLists} and {@link #bindInListsAsArray}.
+     * {@link #getNodes()} still returns the nodes as added.
+     *
+     * @return The current DeleteBuilder instance.
+     */
+    public DeleteBuilder simplifyPredicates() {
+        this.simplifyPredicates = true;
+        rendered = false;
+        return this;
+    }
+
     public DeleteBuilder whereIn(String column, List<Object> values) {
         return addInCondition(column, values);
     }
@@ -164,6 +249,105 @@ public class DeleteBuilder {
         return addCondition("LIKE", column, pattern, "AND");
     }
 
+    /**
+     * Appends a RETURNING clause so the statement returns the given columns of the affected rows.
+     *
+     * @param columns The columns to return.
+     * @return The current DeleteBuilder instance.
+     * @throws IllegalStateException If the dialect does not support RETURNING.
+     */
+    public DeleteBuilder returning(List<String> columns) {
+        if (columns == null || columns.isEmpty()) {
+            throw new IllegalArgumentException("Returning columns cannot be null or empty");
+        }
+        if (!dialect.supportsReturning()) {
+            throw new IllegalStateException("Dialect " + dialect.name() + " does not support RETURNING");
+        }
+        return addNode(new SqlNode.Returning(columns));
+    }
+
+    public Dialect getDialect() {
+        return dialect;
+    }
+
+    /**
+     * Clears the builder so it can build the next query.
+     *
+     * <p>The grown query buffer and parameter array are kept, so building the next query
+     * does not allocate them again. The table has to be specified again with deleteFrom.
+     * A list previously returned by {@link #getParameters()} is emptied as well.</p>
+     *
+     * @return The current DeleteBuilder instance, as if newly created.
+     */
+    public DeleteBuilder reset() {
+        query.reset();
+        parameters.reset();
+        nodes.clear();
+        rendered = false;
+        inListPadding = null;
+        arrayInLists = false;
+        simplifyPredicates = false;
+        tableSpecified = false;
+        table = null;
+        return this;
+    }
+
+    /**
+     * Takes an immutable snapshot of the query and its parameters.
+     *
+     * <p>The snapshot stays valid after this builder is reset or changed, and can be shared
+     * between threads or used as a cache key.</p>
+     *
+     * @return The built query.
+     */
+    public BuiltQuery build() {
+        return BuiltQuery.of(getQuery(), parameters, "DeleteBuilder");
+    }
+
+    /**
+     * Takes a snapshot of this delete restricted to at most {@code limit} rows per execution, for
+     * purging a large number of rows in small transactions. The dialect renders the restriction,
+     * e.g. {@code DELETE FROM t WHERE id IN (SELECT id FROM t WHERE ... LIMIT n)}, MySQL's
+     * {@code DELETE ... LIMIT n} or SQL Server's {@code DELETE TOP (n)}.
+     *
+     * @param keyColumn A unique column of the table, used to select the rows of one chunk.
+     * @param limit The maximum number of rows one execution deletes.
+     * @return The built chunk statement, to be executed until it deletes fewer than {@code limit} rows.
+     * @throws IllegalStateException If the table has not been specified.
+     * @throws IllegalArgumentException If the key column is empty or the limit is not positive.
+     */
+    public BuiltQuery buildChunk(String keyColumn, int limit) {
+        if (!tableSpecified) {
+            throw new IllegalStateException("You should specify the table first using deleteFrom method.");
+        }
+        if (!hasText(keyColumn)) {
+            throw new IllegalArgumentException("Key column cannot be null or empty");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Chunk limit must be positive");
+        }
+        List<SqlNode> chunkNodes = renderedNodes();
+        List<SqlNode> predicates = new ArrayList<>(chunkNodes.size());
+        List<SqlNode> returning = new ArrayList<>(1);
+        for (SqlNode node : chunkNodes) {
+            if (node.kind() == SqlNode.Kind.DELETE_FROM) {
+                predicates.clear();
+            } else if (node.kind() == SqlNode.Kind.RETURNING) {
+                returning.add(node);
+            } else {
+                predicates.add(node);
+            }
+        }
+        QueryText condition = new QueryText();
+        ParameterBuffer conditionParameters = new ParameterBuffer();
+        QueryText returningClause = new QueryText();
+        SqlRenderer.render(predicates, dialect, condition, conditionParameters);
+        // RETURNING belongs to the outer DELETE, never to the subselect choosing the chunk.
+        SqlRenderer.render(returning, dialect, returningClause, conditionParameters);
+        return BuiltQuery.of(dialect.limitedDelete(table, condition.toString(), keyColumn, limit) + returningClause,
+                conditionParameters, "DeleteBuilder");
+    }
+
     /**
      * Makes the delete query a string.
      *
@@ -172,7 +356,9 @@ public class DeleteBuilder {
      *
      * @return A string representation of the DELETE query.
      */
+    @Override
     public String getQuery() {
+        ensureRendered();
         return query.toString();
     }
 
@@ -186,10 +372,66 @@ public class DeleteBuilder {
      *
      * @return A list of parameters for the DELETE query.
      */
-    public List<Object> getParameters() {
+    @Override
+    public ParameterBuffer getParameters() {
+        ensureRendered();
         return parameters;
     }
 
+    /**
+     * Returns the nodes of the query in call order, e.g. to inspect or rewrite the conditions.
+     *
+     * @return A read-only view of the nodes.
+     */
+    public List<SqlNode> getNodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Renders the same nodes for another database, leaving this builder untouched.
+     *
+     * @param dialect The dialect of the target database.
+     * @return The query and parameters for that database.
+     * @throws IllegalStateException If the query uses a feature the dialect does not support.
+     */
+    public BuiltQuery renderFor(Dialect dialect) {
+        return SqlRenderer.renderFor("DeleteBuilder", renderedNodes(), dialect);
+    }
+
+    private DeleteBuilder addNode(SqlNode node) {
+        nodes.add(node);
+        rendered = false;
+        return this;
+    }
+
+    /**
+     * Returns the nodes to render, simplified when {@link #simplifyPredicates()} was called.
+     */
+    private List<SqlNode> renderedNodes() {
+        return simplifyPredicates ? PredicateSimplifier.simplify(nodes, inListPadding, arrayInLists) : nodes;
+    }
+
+    /**
+     * Renders the nodes into the query buffer and parameters, unless nothing changed since the last call.
+     */
+    private void ensureRendered() {
+        if (!rendered) {
+            QueryRenderEvent event = QueryRenderEvent.started();
+            QueryMetrics metrics = QueryMetrics.installed();
+            long start = metrics == QueryMetrics.NOOP ? 0 : System.nanoTime();
+            List<SqlNode> renderNodes = renderedNodes();
+            query.reset();
+            parameters.clear();
+            SqlRenderer.render(renderNodes, dialect, query, parameters);
+            rendered = true;
+            if (metrics != QueryMetrics.NOOP) {
+                SqlRenderer.recordRender(metrics, "DeleteBuilder", renderNodes, System.nanoTime() - start, query,
+                        parameters);
+            }
+            event.complete("DeleteBuilder", query, parameters.size());
+        }
+    }
+
 
     /**
      * Adds a condition to the DELETE query.
@@ -204,10 +446,7 @@ public class DeleteBuilder {
         if (!hasText(column) || !hasValue(condition)) {
             return this;
         }
-        addConditionPrefix(conditionOperator);
-        query.append(column).append(" ").append(operator).append(" ?");
-        parameters.add(condition);
-        return this;
+        return addNode(new SqlNode.Comparison(connector(conditionOperator), column, operator, condition));
     }
 
     /**
@@ -222,9 +461,7 @@ public class DeleteBuilder {
         if (!hasText(column)) {
             return this;
         }
-        addConditionPrefix(conditionOperator);
-        query.append(column).append(" ").append(nullOrNotNull);
-        return this;
+        return addNode(new SqlNode.NullCheck(connector(conditionOperator), column, "IS NOT NULL".equals(nullOrNotNull)));
     }
 
     /**
@@ -239,11 +476,7 @@ public class DeleteBuilder {
         if (!hasText(column) || !hasValue(start) || !hasValue(end)) {
             return this;
         }
-        addConditionPrefix("WHERE");
-        query.append(column).append(" BETWEEN ? AND ?");
-        parameters.add(start);
-        parameters.add(end);
-        return this;
+        return addNode(new SqlNode.Between(connector("WHERE"), column, start, end));
     }
 
     /**
@@ -254,19 +487,7 @@ public class DeleteBuilder {
      * @return The current DeleteBuilder instance.
      */
     private DeleteBuilder addInCondition(String column, List<Object> values) {
-        if (!hasText(column) || values == null || values.isEmpty()) {
-            return this;
-        }
-        addConditionPrefix("WHERE");
-        query.append(column).append(" IN (")
-                .append(values.stream()
-                        .map(value -> {
-                            parameters.add(value);
-                            return "?";
-                        })
-                        .collect(Collectors.joining(", ")))
-                .append(")");
-        return this;
+        return addInList(column, values, false);
     }
 
     /**
@@ -277,35 +498,41 @@ public class DeleteBuilder {
      * @return The current DeleteBuilder instance.
      */
     private DeleteBuilder addNotInCondition(String column, List<Object> values) {
+        return addInList(column, values, true);
+    }
+
+    /**
+     * Adds an 'IN' or 'NOT IN' node, with the placeholder count padded when padding is enabled.
+     *
+     * @param column The column name.
+     * @param values A list of values for the condition.
+     * @param negated Whether the condition is NOT IN.
+     * @return The current DeleteBuilder instance.
+     */
+    private DeleteBuilder addInList(String column, List<Object> values, boolean negated) {
         if (!hasText(column) || values == null || values.isEmpty()) {
             return this;
         }
-        addConditionPrefix("WHERE");
-        query.append(column).append(" NOT IN (")
-                .append(values.stream()
-                        .map(value -> {
-                            parameters.add(value);
-                            return "?";
-                        })
-                        .collect(Collectors.joining(", ")))
-                .append(")");
-        return this;
+        int size = values.size();
+        int padded = arrayInLists || inListPadding == null ? size : inListPadding.paddedSize(size);
+        return addNode(new SqlNode.InList(connector("WHERE"), column, values.toArray(), negated, padded, arrayInLists));
     }
 
     /**
-     * Appends a condition prefix (e.g., WHERE, AND, OR) to the DELETE query.
+     * Returns the connector (e.g., WHERE, AND, OR) of a condition node.
      *
-     * <p>It checks if the table has been specified before appending the condition prefix.
+     * <p>It checks if the table has been specified before the condition is added.
      * If the table has not been specified, an IllegalStateException is thrown.</p>
      *
-     * @param conditionOperator The condition prefix to be added (e.g., WHERE, AND, OR).
+     * @param conditionOperator The condition prefix (e.g., WHERE, AND, OR).
+     * @return The connector of the condition.
      * @throws IllegalStateException If the table has not been previously specified.
      */
-    private void addConditionPrefix(String conditionOperator) {
+    private SqlNode.Connector connector(String conditionOperator) {
         if (!tableSpecified) {
             throw new IllegalStateException("You should specify the table first using deleteFrom method.");
         }
-        query.append(" ").append(conditionOperator).append(" ");
+        return SqlNode.Connector.valueOf(conditionOperator);
     }
 
 
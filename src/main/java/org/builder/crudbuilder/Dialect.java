@@ -0,0 +1,140 @@
+package org.builder.crudbuilder;
+
+/**
+ * Renders the vendor specific parts of a query.
+ *
+ * <p>Builders created with a dialect ask it for everything that differs between databases:
+ * the select list, LIMIT syntax, identifier quoting, row value comparisons, RETURNING and upserts.
+ * Implement this interface for a database that {@link StandardDialect} does not cover; the
+ * default methods describe a PostgreSQL-like database.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public interface Dialect {
+
+    String name();
+
+    /**
+     * Renders the column list of a SELECT, e.g. {@code a, b}.
+     *
+     * @param columns The comma separated columns.
+     */
+    default String selectList(String columns) {
+        return columns;
+    }
+
+    /**
+     * Quotes an identifier, quoting each part of a qualified name separately:
+     * {@code u.order} becomes {@code "u"."order"}.
+     */
+    default String quoteIdentifier(String identifier) {
+        return quoteParts(identifier, "\"", "\"");
+    }
+
+    /**
+     * Renders the clause restricting the number of returned rows, including its leading space.
+     */
+    default String limitClause(int limit) {
+        return " LIMIT " + limit;
+    }
+
+    /**
+     * Renders a DELETE that removes at most {@code limit} of the rows matching {@code condition}.
+     *
+     * @param condition The rendered conditions with their leading space, e.g. {@code  WHERE a < ?}, or empty.
+     * @param keyColumn A unique column used to pick the rows.
+     */
+    default String limitedDelete(String table, String condition, String keyColumn, int limit) {
+        return "DELETE FROM " + table + " WHERE " + keyColumn + " IN (SELECT " + keyColumn
+                + " FROM " + table + condition + limitClause(limit) + ")";
+    }
+
+    /**
+     * @return Whether {@code (a, b) > (?, ?)} is supported and can use an index.
+     */
+    default boolean supportsRowValueComparison() {
+        return true;
+    }
+
+    /**
+     * @return Whether INSERT, UPDATE and DELETE accept a trailing {@code RETURNING} clause.
+     */
+    default boolean supportsReturning() {
+        return false;
+    }
+
+    /**
+     * @return Whether a list can be bound as one array parameter, as in {@code id = ANY(?)}.
+     */
+    default boolean supportsArrayParameters() {
+        return false;
+    }
+
+    /**
+     * @return Whether the driver only reads a result through a cursor, instead of loading it
+     *         whole, inside a transaction, so auto-commit must be off while streaming.
+     */
+    default boolean cursorRequiresTransaction() {
+        return false;
+    }
+
+    /**
+     * @param fetchSize The number of rows to fetch per round trip.
+     * @return The fetch size to give the driver so a forward-only result is streamed.
+     */
+    default int cursorFetchSize(int fetchSize) {
+        return fetchSize;
+    }
+
+    /**
+     * @return The statement {@link UpsertBuilder} renders for this database. It also decides
+     *         how {@link UpdateBuilder#bulkUpdate} joins the table to its VALUES list.
+     */
+    default UpsertStyle upsertStyle() {
+        return UpsertStyle.ON_CONFLICT;
+    }
+
+    /**
+     * Quotes every dot separated part of {@code identifier} with the given quote characters,
+     * doubling any closing quote inside a part. A {@code *} part is left unquoted.
+     */
+    static String quoteParts(String identifier, String open, String close) {
+        if (identifier == null || identifier.isBlank()) {
+            throw new IllegalArgumentException("Identifier cannot be null or empty");
+        }
+        StringBuilder quoted = new StringBuilder(identifier.length() + 4);
+        int start = 0;
+        while (true) {
+            int dot = identifier.indexOf('.', start);
+            String part = identifier.substring(start, dot < 0 ? identifier.length() : dot);
+            if (part.equals("*")) {
+                quoted.append(part);
+            } else {
+                quoted.append(open).append(part.replace(close, close + close)).append(close);
+            }
+            if (dot < 0) {
+                return quoted.toString();
+            }
+            quoted.append('.');
+            start = dot + 1;
+        }
+    }
+
+    /**
+     * The ways databases express "insert, or update the existing row".
+     */
+    enum UpsertStyle {
+        /**
+         * {@code INSERT ... ON CONFLICT (key) DO UPDATE SET ...}, as in PostgreSQL and SQLite.
+         */
+        ON_CONFLICT,
+        /**
+         * {@code INSERT ... AS new ON DUPLICATE KEY UPDATE ...}, as in MySQL 8.0.19 and later.
+         */
+        ON_DUPLICATE_KEY,
+        /**
+         * {@code MERGE INTO ... USING (VALUES ...)}, as in SQL Server, H2 and Oracle.
+         */
+        MERGE
+    }
+}
@@ -0,0 +1,107 @@
+package org.builder.crudbuilder;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative values in power-of-two buckets.
+ *
+ * <p>Bucket {@code 0} counts the value 0 and bucket {@code b} counts the values from
+ * {@code 2^(b-1)} to {@code 2^b - 1}, so recording is a leading-zero count and one atomic
+ * increment. Percentiles are therefore accurate to a factor of two, which is enough to tell a
+ * 50 microsecond render from a 5 millisecond one. Count and sum are striped {@link LongAdder}s.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public final class Histogram {
+
+    static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param value The value; negative values are recorded as 0.
+     */
+    public void record(long value) {
+        long recorded = Math.max(0, value);
+        buckets.incrementAndGet(Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(recorded)));
+        count.increment();
+        sum.add(recorded);
+        max.accumulate(recorded);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long sum() {
+        return sum.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        long n = count();
+        return n == 0 ? 0 : (double) sum() / n;
+    }
+
+    /**
+     * @return The number of values in the bucket, see the class description.
+     */
+    public long bucketCount(int bucket) {
+        if (bucket < 0 || bucket >= BUCKETS) {
+            throw new IllegalArgumentException("Bucket must be between 0 and " + (BUCKETS - 1));
+        }
+        return buckets.get(bucket);
+    }
+
+    /**
+     * @param quantile Between 0 and 1, e.g. 0.99.
+     * @return The upper bound of the bucket holding the quantile, at most {@link #max()}, or 0
+     *         when nothing was recorded.
+     */
+    public long percentile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        long total = 0;
+        long[] counts = new long[BUCKETS];
+        for (int b = 0; b < BUCKETS; b++) {
+            counts[b] = buckets.get(b);
+            total += counts[b];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+            if (seen >= rank) {
+                long upper = b == 0 ? 0 : b == BUCKETS - 1 ? Long.MAX_VALUE : (1L << b) - 1;
+                return Math.min(upper, max());
+            }
+        }
+        return max();
+    }
+
+    public void reset() {
+        for (int b = 0; b < BUCKETS; b++) {
+            buckets.set(b, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "Histogram{count=" + count() + ", mean=" + mean() + ", max=" + max() + "}";
+    }
+}
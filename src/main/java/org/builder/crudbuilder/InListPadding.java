@@ -0,0 +1,126 @@
+package org.builder.crudbuilder;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rounds the number of IN / NOT IN placeholders up to a few fixed sizes.
+ *
+ * <p>Every distinct list length is a distinct statement for the driver and the server plan cache.
+ * With padding, a list of 5 values renders {@code IN (?, ?, ?, ?, ?, ?, ?, ?)} and the last value
+ * is repeated to fill the extra placeholders, which does not change the result of IN or NOT IN.
+ * Only a handful of statement shapes are left.</p>
+ *
+ * <p>An instance also keeps statistics about the list sizes it has seen, so it is meant to be
+ * shared, for example as a constant, and is safe to use from many threads.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public final class InListPadding {
+
+    private static final int MAX_POWER_OF_TWO = 1 << 30;
+
+    private final int[] steps;
+    private final Set<Integer> seenSizes = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> paddedSizes = ConcurrentHashMap.newKeySet();
+    private final LongAdder paddedValues = new LongAdder();
+
+    private InListPadding(int[] steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * Pads every list to the next power of two: 1, 2, 4, 8, 16, ...
+     */
+    public static InListPadding powersOfTwo() {
+        return new InListPadding(null);
+    }
+
+    /**
+     * Pads every list to the first step that can hold it. Lists longer than the last step
+     * are padded to the next multiple of the last step.
+     *
+     * @param steps Strictly increasing, positive bucket sizes, e.g. {@code 10, 50, 100, 500}.
+     * @throws IllegalArgumentException If no steps are given or they are not strictly increasing.
+     */
+    public static InListPadding steps(int... steps) {
+        if (steps == null || steps.length == 0) {
+            throw new IllegalArgumentException("Padding steps cannot be null or empty");
+        }
+        int previous = 0;
+        for (int step : steps) {
+            if (step <= previous) {
+                throw new IllegalArgumentException("Padding steps must be positive and strictly increasing: " + Arrays.toString(steps));
+            }
+            previous = step;
+        }
+        return new InListPadding(steps.clone());
+    }
+
+    /**
+     * Returns the number of placeholders to render for a list of {@code size} values and
+     * records the size in the statistics.
+     */
+    public int paddedSize(int size) {
+        int padded = bucketOf(size);
+        seenSizes.add(size);
+        paddedSizes.add(padded);
+        if (padded > size) {
+            paddedValues.add(padded - size);
+        }
+        return padded;
+    }
+
+    /**
+     * @return The number of different list sizes seen, i.e. the shapes there would be without padding.
+     */
+    public int distinctListSizes() {
+        return seenSizes.size();
+    }
+
+    /**
+     * @return The number of different placeholder counts actually rendered.
+     */
+    public int distinctShapes() {
+        return paddedSizes.size();
+    }
+
+    /**
+     * @return How many distinct statement shapes padding has avoided so far.
+     */
+    public int shapesAvoided() {
+        return distinctListSizes() - distinctShapes();
+    }
+
+    /**
+     * @return The total number of repeated values bound to fill padded placeholders.
+     */
+    public long paddedValueCount() {
+        return paddedValues.sum();
+    }
+
+    /**
+     * Returns the number of placeholders for a list of {@code size} values without recording
+     * the size in the statistics.
+     */
+    int bucketOf(int size) {
+        if (size <= 0) {
+            return size;
+        }
+        if (steps == null) {
+            int highest = Integer.highestOneBit(size);
+            // Above 2^30 the next power of two does not fit an int; such a list keeps its exact size.
+            return highest == size || highest == MAX_POWER_OF_TWO ? size : highest << 1;
+        }
+        for (int step : steps) {
+            if (size <= step) {
+                return step;
+            }
+        }
+        int last = steps[steps.length - 1];
+        long padded = ((long) size + last - 1) / last * last;
+        return padded > Integer.MAX_VALUE ? size : (int) padded;
+    }
+}
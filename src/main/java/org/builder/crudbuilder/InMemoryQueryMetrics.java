@@ -0,0 +1,140 @@
+package org.builder.crudbuilder;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps every measurement in memory: striped counters and lock-free {@link Histogram}s, and
+ * execution statistics per query fingerprint. Meant for tests and for exporting to a metrics
+ * system on a schedule.
+ *
+ * <pre>{@code
+ * InMemoryQueryMetrics metrics = new InMemoryQueryMetrics();
+ * QueryMetrics.install(metrics);
+ * executor.executeUpdate(connection, updateQuery().updateTable("users")...);
+ * metrics.executions(QueryMetrics.fingerprint(sql)).nanos().percentile(0.99);
+ * }</pre>
+ *
+ * @author Kim SeuongYong
+ */
+public final class InMemoryQueryMetrics implements QueryMetrics {
+
+    private final Map<String, LongAdder> renders = new ConcurrentHashMap<>();
+    private final Histogram renderNanos = new Histogram();
+    private final Histogram sqlLength = new Histogram();
+    private final Histogram parameterCount = new Histogram();
+    private final Histogram inListSize = new Histogram();
+    private final Histogram multiInsertRows = new Histogram();
+    private final Map<String, Executions> executions = new ConcurrentHashMap<>();
+
+    @Override
+    public void rendered(String builder, long nanos, int sqlLength, int parameterCount) {
+        LongAdder count = renders.get(builder);
+        if (count == null) {
+            count = renders.computeIfAbsent(builder, key -> new LongAdder());
+        }
+        count.increment();
+        renderNanos.record(nanos);
+        this.sqlLength.record(sqlLength);
+        this.parameterCount.record(parameterCount);
+    }
+
+    @Override
+    public void inListRendered(int values) {
+        inListSize.record(values);
+    }
+
+    @Override
+    public void multiInsertRendered(int rows) {
+        multiInsertRows.record(rows);
+    }
+
+    @Override
+    public void executed(String fingerprint, long nanos, long rows) {
+        Executions stats = executions.get(fingerprint);
+        if (stats == null) {
+            stats = executions.computeIfAbsent(fingerprint, key -> new Executions());
+        }
+        stats.nanos.record(nanos);
+        stats.rows.add(rows);
+    }
+
+    /**
+     * @return The number of renders of the builder, by its simple class name.
+     */
+    public long renderCount(String builder) {
+        LongAdder count = renders.get(builder);
+        return count == null ? 0 : count.sum();
+    }
+
+    public Histogram renderNanos() {
+        return renderNanos;
+    }
+
+    public Histogram sqlLength() {
+        return sqlLength;
+    }
+
+    public Histogram parameterCount() {
+        return parameterCount;
+    }
+
+    public Histogram inListSize() {
+        return inListSize;
+    }
+
+    public Histogram multiInsertRows() {
+        return multiInsertRows;
+    }
+
+    /**
+     * @return The statistics of the fingerprint, empty if it was never executed.
+     */
+    public Executions executions(String fingerprint) {
+        Executions stats = executions.get(fingerprint);
+        return stats == null ? new Executions() : stats;
+    }
+
+    /**
+     * @return The statistics of every executed fingerprint.
+     */
+    public Map<String, Executions> executions() {
+        return Collections.unmodifiableMap(executions);
+    }
+
+    public void reset() {
+        renders.clear();
+        renderNanos.reset();
+        sqlLength.reset();
+        parameterCount.reset();
+        inListSize.reset();
+        multiInsertRows.reset();
+        executions.clear();
+    }
+
+    /**
+     * The executions of one query fingerprint.
+     */
+    public static final class Executions {
+
+        private final Histogram nanos = new Histogram();
+        private final LongAdder rows = new LongAdder();
+
+        public long count() {
+            return nanos.count();
+        }
+
+        public Histogram nanos() {
+            return nanos;
+        }
+
+        /**
+         * @return The rows affected or read over all executions.
+         */
+        public long rows() {
+            return rows.sum();
+        }
+    }
+}
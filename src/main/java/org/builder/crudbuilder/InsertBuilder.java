@@ -1,97 +1,300 @@
 package org.builder.crudbuilder;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.RandomAccess;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
-public class InsertBuilder {
+public class InsertBuilder implements SqlQuery {
 
-    private final StringBuilder query;
-    private final List<Object> parameters;
+    private final QueryText query;
+    private final ParameterBuffer parameters;
+    private final Dialect dialect;
+    private final List<SqlNode> nodes = new ArrayList<>();
+    private boolean rendered;
+    private Executor renderExecutor;
 
-    private InsertBuilder() {
-        this.query = new StringBuilder();
-        this.parameters = new LinkedList<>();
+    private InsertBuilder(QueryText query, Dialect dialect) {
+        if (dialect == null) {
+            throw new IllegalArgumentException("Dialect cannot be null");
+        }
+        this.query = query;
+        this.dialect = dialect;
+        this.parameters = new ParameterBuffer();
     }
 
     public static InsertBuilder insert() {
-        return new InsertBuilder();
+        return new InsertBuilder(new QueryText(), StandardDialect.GENERIC);
+    }
+
+    public static InsertBuilder insert(Dialect dialect) {
+        return new InsertBuilder(new QueryText(), dialect);
     }
 
     public InsertBuilder columnsAndValues(String table, Map<String, Object> columnValueMap) {
         if (columnValueMap == null || columnValueMap.isEmpty()) {
             throw new IllegalArgumentException("Row data cannot be null or empty");
         }
-        appendInsertIntoTable(table);
-        String columns = columnsExtraction(columnValueMap);
-        parameters.addAll(columnValueMap.values());
-        query.append(" (").append(columns).append(") VALUES (")
-                .append(generateValueHolders(columnValueMap.size())).append(")");
-        return this;
+        addNode(new SqlNode.InsertInto(table, List.copyOf(columnValueMap.keySet())));
+        return addNode(new SqlNode.Values(columnValueMap.values().toArray(), columnValueMap.size()));
     }
 
+    /**
+     * @throws IllegalArgumentException If there are no rows or a row has different columns than the first.
+     */
     public InsertBuilder columnsAndMultiValues(String table, List<Map<String, Object>> rows) {
-        if (rows == null || rows.isEmpty()) {
+        if (rows == null || rows.isEmpty() || rows.get(0) == null) {
             throw new IllegalArgumentException("Row data cannot be null or empty");
         }
-        appendInsertIntoTable(table);
-        String columns = columnsExtraction(rows.get(0));
-        query.append(" (").append(columns).append(") VALUES ");
-        appendMultiValues(rows.stream()
-                .map(map -> new ArrayList<>(map.values()))
-                .collect(Collectors.toList()));
-        return this;
+        List<String> columns = RowValues.columnsOf(rows.get(0));
+        addNode(new SqlNode.InsertInto(table, columns));
+        return addNode(multiValues(rows, row -> new RowValues(columns, row), renderExecutor));
     }
 
     public InsertBuilder values(String table, List<Object> values) {
         if (values == null || values.isEmpty()) {
             throw new IllegalArgumentException("Row data cannot be null or empty");
         }
-        appendInsertIntoTable(table);
-        parameters.addAll(values);
-        query.append(" VALUES (").append(generateValueHolders(values.size())).append(")");
-        return this;
+        addNode(new SqlNode.InsertInto(table, List.of()));
+        return addNode(new SqlNode.Values(values.toArray(), values.size()));
     }
 
+    /**
+     * @throws IllegalArgumentException If there are no rows or a row has a different number of values than the first.
+     */
     public InsertBuilder multiValues(String table, List<List<Object>> valuesLists) {
         if (valuesLists == null || valuesLists.isEmpty()) {
             throw new IllegalArgumentException("Values cannot be null or empty");
         }
-        appendInsertIntoTable(table);
-        query.append(" VALUES ");
-        appendMultiValues(valuesLists);
+        addNode(new SqlNode.InsertInto(table, List.of()));
+        return addNode(multiValues(valuesLists, values -> values, renderExecutor));
+    }
+
+    /**
+     * Splits a multi-row insert into statements that stay within the given limit.
+     *
+     * <p>The column names are taken from the first row. Rows are read lazily from the iterator,
+     * and every chunk with the maximum number of rows shares one SQL string.</p>
+     *
+     * @param table The name of the table.
+     * @param rows The rows to insert, all with the same columns; values are read by column name.
+     * @param limit The maximum binds and bytes of a single statement.
+     * @return An iterator over the statements to execute.
+     * @throws IllegalArgumentException If there are no rows or the limit is null.
+     */
+    public InsertChunks columnsAndMultiValuesChunked(String table, Iterator<Map<String, Object>> rows, ChunkLimit limit) {
+        if (rows == null || !rows.hasNext()) {
+            throw new IllegalArgumentException("Row data cannot be null or empty");
+        }
+        Map<String, Object> firstRow = rows.next();
+        if (firstRow == null || firstRow.isEmpty()) {
+            throw new IllegalArgumentException("Row data cannot be null or empty");
+        }
+        List<String> columns = RowValues.columnsOf(firstRow);
+        String prefix = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ";
+        return new InsertChunks("InsertBuilder", prefix, new RowValues(columns, firstRow), RowValues.of(columns, rows), limit);
+    }
+
+    public InsertChunks columnsAndMultiValuesChunked(String table, List<Map<String, Object>> rows, ChunkLimit limit) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("Row data cannot be null or empty");
+        }
+        return columnsAndMultiValuesChunked(table, rows.iterator(), limit);
+    }
+
+    /**
+     * Splits a multi-row {@code INSERT INTO table VALUES ...} into statements that stay within the given limit.
+     *
+     * @param table The name of the table.
+     * @param valuesLists The rows to insert, all with the same number of values.
+     * @param limit The maximum binds and bytes of a single statement.
+     * @return An iterator over the statements to execute.
+     * @throws IllegalArgumentException If there are no rows or the limit is null.
+     */
+    public InsertChunks multiValuesChunked(String table, Iterator<? extends List<Object>> valuesLists, ChunkLimit limit) {
+        if (valuesLists == null || !valuesLists.hasNext()) {
+            throw new IllegalArgumentException("Values cannot be null or empty");
+        }
+        List<Object> firstRow = valuesLists.next();
+        if (firstRow == null || firstRow.isEmpty()) {
+            throw new IllegalArgumentException("Values cannot be null or empty");
+        }
+        return new InsertChunks("InsertBuilder", "INSERT INTO " + table + " VALUES ", firstRow, valuesLists, limit);
+    }
+
+    public InsertChunks multiValuesChunked(String table, List<List<Object>> valuesLists, ChunkLimit limit) {
+        if (valuesLists == null || valuesLists.isEmpty()) {
+            throw new IllegalArgumentException("Values cannot be null or empty");
+        }
+        return multiValuesChunked(table, valuesLists.iterator(), limit);
+    }
+
+    /**
+     * Appends a RETURNING clause so the statement returns the given columns of the affected rows.
+     *
+     * @param columns The columns to return.
+     * @return The current InsertBuilder instance.
+     * @throws IllegalStateException If the dialect does not support RETURNING.
+     */
+    public InsertBuilder returning(List<String> columns) {
+        if (columns == null || columns.isEmpty()) {
+            throw new IllegalArgumentException("Returning columns cannot be null or empty");
+        }
+        if (!dialect.supportsReturning()) {
+            throw new IllegalStateException("Dialect " + dialect.name() + " does not support RETURNING");
+        }
+        return addNode(new SqlNode.Returning(columns));
+    }
+
+    /**
+     * Renders multi-row inserts in parallel on the common fork/join pool.
+     *
+     * @see #parallelRendering(Executor)
+     */
+    public InsertBuilder parallelRendering() {
+        return parallelRendering(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Splits very large multi-row inserts into segments of rows that are copied and rendered on
+     * the given executor, then stitched together in row order. The SQL and parameters are identical
+     * to the serial rendering. Inserts of a few thousand rows stay on the calling thread.
+     *
+     * <p>Call it before adding the rows, so copying their values is split as well.</p>
+     *
+     * @param executor The executor running the segments.
+     * @return The current InsertBuilder instance.
+     */
+    public InsertBuilder parallelRendering(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        this.renderExecutor = executor;
+        rendered = false;
         return this;
     }
 
+    public Dialect getDialect() {
+        return dialect;
+    }
+
+    /**
+     * Clears the builder so it can build the next query, keeping its grown buffers.
+     *
+     * @return The current InsertBuilder instance, as if newly created.
+     */
+    public InsertBuilder reset() {
+        query.reset();
+        parameters.reset();
+        nodes.clear();
+        rendered = false;
+        renderExecutor = null;
+        return this;
+    }
+
+    /**
+     * Takes an immutable snapshot of the query and its parameters, e.g. to use as a cache key.
+     */
+    public BuiltQuery build() {
+        return BuiltQuery.of(getQuery(), parameters, "InsertBuilder");
+    }
+
+    /**
+     * @return The nodes added so far, in call order.
+     */
+    public List<SqlNode> getNodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Renders the same nodes for another database, leaving this builder untouched.
+     *
+     * @throws IllegalStateException If the query uses a feature the dialect does not support.
+     */
+    public BuiltQuery renderFor(Dialect dialect) {
+        return SqlRenderer.renderFor("InsertBuilder", nodes, dialect, renderExecutor);
+    }
+
+    @Override
     public String getQuery() {
+        ensureRendered();
         return query.toString();
     }
 
-    public List<Object> getParameters() {
+    @Override
+    public ParameterBuffer getParameters() {
+        ensureRendered();
         return parameters;
     }
 
-    private void appendInsertIntoTable(String table) {
-        query.append("INSERT INTO ").append(table);
+    private InsertBuilder addNode(SqlNode node) {
+        nodes.add(node);
+        rendered = false;
+        return this;
     }
 
-    private String columnsExtraction(Map<String, Object> map) {
-        return String.join(", ", map.keySet());
+    private void ensureRendered() {
+        if (!rendered) {
+            QueryRenderEvent event = QueryRenderEvent.started();
+            QueryMetrics metrics = QueryMetrics.installed();
+            long start = metrics == QueryMetrics.NOOP ? 0 : System.nanoTime();
+            List<SqlNode> renderNodes = nodes;
+            query.reset();
+            parameters.clear();
+            SqlRenderer.render(renderNodes, dialect, query, parameters, renderExecutor);
+            rendered = true;
+            if (metrics != QueryMetrics.NOOP) {
+                SqlRenderer.recordRender(metrics, "InsertBuilder", renderNodes, System.nanoTime() - start, query,
+                        parameters);
+            }
+            event.complete("InsertBuilder", query, parameters.size());
+        }
     }
 
-    private void appendMultiValues(List<List<Object>> multiValues) {
-        query.append(multiValues.stream()
-                .map(values -> {
-                    parameters.addAll(values);
-                    return "(" + generateValueHolders(values.size()) + ")";
-                })
-                .collect(Collectors.joining(", ")));
+    /**
+     * Copies the values of the rows into a VALUES node, split into segments on the executor if
+     * there is one.
+     *
+     * @throws IllegalArgumentException If a row is null or has a different number of values than the first.
+     */
+    static <R> SqlNode.Values multiValues(List<R> rows, Function<R, Collection<Object>> rowValues, Executor executor) {
+        R first = rows.get(0);
+        int columnCount = first == null ? 0 : rowValues.apply(first).size();
+        if (columnCount == 0) {
+            throw new IllegalArgumentException("Row data cannot be null or empty");
+        }
+        Object[] values = new Object[rows.size() * columnCount];
+        if (executor == null) {
+            copyRows(rows, 0, values, columnCount, rowValues);
+        } else {
+            List<R> indexed = rows instanceof RandomAccess ? rows : new ArrayList<>(rows);
+            ParallelSegments.run(indexed.size(), executor,
+                    (from, to) -> copyRows(indexed.subList(from, to), from, values, columnCount, rowValues));
+        }
+        return new SqlNode.Values(values, columnCount);
     }
 
-    private String generateValueHolders(int count) {
-        return String.join(", ", Collections.nCopies(count, "?"));
+    /**
+     * Copies the values of the rows into {@code values}, starting at the slot of row {@code firstRow}.
+     */
+    private static <R> Void copyRows(List<R> rows, int firstRow, Object[] values, int columnCount,
+                                     Function<R, Collection<Object>> rowValues) {
+        int index = firstRow * columnCount;
+        for (R row : rows) {
+            Collection<Object> rowData = row == null ? null : rowValues.apply(row);
+            if (rowData == null || rowData.size() != columnCount) {
+                throw new IllegalArgumentException("Every row must have " + columnCount + " values");
+            }
+            for (Object value : rowData) {
+                values[index++] = value;
+            }
+        }
+        return null;
     }
 }
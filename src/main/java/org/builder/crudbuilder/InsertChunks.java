@@ -0,0 +1,138 @@
+package org.builder.crudbuilder;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits a multi-row insert, or any statement built around a list of row value tuples, into
+ * statements that respect a {@link ChunkLimit}.
+ *
+ * <p>Rows are pulled from the source iterator only as chunks are requested, so no more than
+ * one chunk of rows is held at a time. Created by
+ * {@link InsertBuilder#columnsAndMultiValuesChunked}, {@link InsertBuilder#multiValuesChunked}
+ * and {@link UpdateBuilder#bulkUpdateChunked}.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public final class InsertChunks implements Iterator<StatementChunk> {
+
+    /**
+     * Rows the first chunk's parameters are presized for; later chunks are presized for the rows
+     * of the previous one. A limit of tens of thousands of binds, or a byte-only limit, should not
+     * allocate its whole budget up front.
+     */
+    static final int INITIAL_ROW_CAPACITY = 256;
+
+    private final String builder;
+    private final String prefix;
+    private final String suffix;
+    private final Iterator<? extends Collection<Object>> rows;
+    private final ChunkLimit limit;
+    private final int columnCount;
+    private final int maxRows;
+    private final String rowPlaceholders;
+
+    private Collection<Object> pending;
+    private String fullQuery;
+    private int lastRowCount;
+    private String lastQuery;
+    private int previousRowCount;
+
+    InsertChunks(String builder, String prefix, Collection<Object> firstRow, Iterator<? extends Collection<Object>> rows,
+                 ChunkLimit limit) {
+        this(builder, prefix, "(", "", firstRow, rows, limit);
+    }
+
+    /**
+     * @param builder The simple class name of the builder, carried by every chunk.
+     * @param rowOpen What opens each row tuple, e.g. {@code (} or MySQL's {@code ROW(}.
+     * @param suffix What follows the last row tuple.
+     */
+    InsertChunks(String builder, String prefix, String rowOpen, String suffix, Collection<Object> firstRow,
+                 Iterator<? extends Collection<Object>> rows, ChunkLimit limit) {
+        if (limit == null) {
+            throw new IllegalArgumentException("Chunk limit cannot be null");
+        }
+        if (firstRow.isEmpty()) {
+            throw new IllegalArgumentException("Row data cannot be null or empty");
+        }
+        this.builder = builder;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.rows = rows;
+        this.limit = limit;
+        this.columnCount = firstRow.size();
+        this.maxRows = limit.maxRows(columnCount);
+        this.rowPlaceholders = rowOpen + Placeholders.of(columnCount) + ")";
+        this.pending = firstRow;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return pending != null || rows.hasNext();
+    }
+
+    @Override
+    public StatementChunk next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int expectedRows = previousRowCount > 0 ? previousRowCount : Math.min(maxRows, INITIAL_ROW_CAPACITY);
+        ParameterBuffer parameters = new ParameterBuffer(expectedRows * columnCount);
+        long bytes = prefix.length() + suffix.length();
+        int rowCount = 0;
+        while (rowCount < maxRows) {
+            Collection<Object> row;
+            if (pending != null) {
+                row = pending;
+                pending = null;
+            } else if (rows.hasNext()) {
+                row = rows.next();
+            } else {
+                break;
+            }
+            if (row == null || row.size() != columnCount) {
+                throw new IllegalArgumentException("Every row must have " + columnCount + " values but row "
+                        + rowCount + " of this chunk has " + (row == null ? 0 : row.size()));
+            }
+            long rowBytes = rowPlaceholders.length() + 2;
+            for (Object value : row) {
+                rowBytes += ChunkLimit.estimateBytes(value);
+            }
+            if (rowCount > 0 && bytes + rowBytes > limit.getMaxBytes()) {
+                pending = row;
+                break;
+            }
+            parameters.addAll(row);
+            bytes += rowBytes;
+            rowCount++;
+        }
+        previousRowCount = rowCount;
+        return new StatementChunk(queryFor(rowCount), parameters, rowCount, builder);
+    }
+
+    private String queryFor(int rowCount) {
+        if (rowCount == maxRows) {
+            if (fullQuery == null) {
+                fullQuery = render(rowCount);
+            }
+            return fullQuery;
+        }
+        if (rowCount != lastRowCount) {
+            lastQuery = render(rowCount);
+            lastRowCount = rowCount;
+        }
+        return lastQuery;
+    }
+
+    private String render(int rowCount) {
+        StringBuilder query = new StringBuilder(prefix.length() + suffix.length()
+                + rowCount * (rowPlaceholders.length() + 2));
+        query.append(prefix).append(rowPlaceholders);
+        for (int i = 1; i < rowCount; i++) {
+            query.append(", ").append(rowPlaceholders);
+        }
+        return query.append(suffix).toString();
+    }
+}
@@ -0,0 +1,75 @@
+package org.builder.crudbuilder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the installed {@link QueryMetrics} and computes query fingerprints.
+ *
+ * <p>Fingerprints are cached per SQL string. Builders sharing a {@link QueryShapeCache} and
+ * {@link BuiltQuery} snapshots hand out interned strings, so a repeated execution costs one
+ * lookup that compares by identity instead of a copy, a hash pass and a new hex string. Once
+ * {@code MAX_CACHED_FINGERPRINTS} statements are cached, new ones are computed every time.</p>
+ */
+final class InstalledMetrics {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int MAX_CACHED_FINGERPRINTS = 1024;
+    private static final Map<String, String> FINGERPRINTS = new ConcurrentHashMap<>();
+
+    static volatile QueryMetrics current = QueryMetrics.NOOP;
+
+    private InstalledMetrics() {
+    }
+
+    /**
+     * FNV-1a over the SQL with {@code ?, ?, ?} collapsed to {@code ?} and then
+     * {@code (?), (?), (?)} collapsed to {@code (?)}.
+     */
+    static String fingerprint(String sql) {
+        if (sql == null) {
+            throw new IllegalArgumentException("SQL cannot be null");
+        }
+        String fingerprint = FINGERPRINTS.get(sql);
+        if (fingerprint != null) {
+            return fingerprint;
+        }
+        fingerprint = computeFingerprint(sql);
+        if (FINGERPRINTS.size() < MAX_CACHED_FINGERPRINTS) {
+            String previous = FINGERPRINTS.putIfAbsent(sql, fingerprint);
+            if (previous != null) {
+                return previous;
+            }
+        }
+        return fingerprint;
+    }
+
+    private static String computeFingerprint(String sql) {
+        StringBuilder placeholders = new StringBuilder(sql.length());
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            placeholders.append(c);
+            if (c == '?') {
+                while (sql.startsWith(", ?", i + 1)) {
+                    i += 3;
+                }
+            }
+        }
+        String collapsed = placeholders.toString();
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < collapsed.length(); i++) {
+            hash = (hash ^ collapsed.charAt(i)) * FNV_PRIME;
+            if (collapsed.startsWith("(?)", i)) {
+                hash = (hash ^ '?') * FNV_PRIME;
+                hash = (hash ^ ')') * FNV_PRIME;
+                i += 2;
+                while (collapsed.startsWith(", (?)", i + 1)) {
+                    i += 5;
+                }
+            }
+        }
+        String hex = Long.toHexString(hash);
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+}
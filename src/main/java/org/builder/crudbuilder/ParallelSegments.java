@@ -0,0 +1,57 @@
+package org.builder.crudbuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Splits a range of rows into segments, processes them on an executor and returns the results
+ * in row order, for rendering very large multi-row statements on several cores.
+ *
+ * <p>Segments are at least {@link #MIN_SEGMENT_ROWS} rows, so smaller inputs are processed on the
+ * calling thread. Each segment must only write to its own range of shared state.</p>
+ */
+final class ParallelSegments {
+
+    static final int MIN_SEGMENT_ROWS = 4096;
+
+    interface Segment<T> {
+        T process(int from, int to);
+    }
+
+    private ParallelSegments() {
+    }
+
+    static <T> List<T> run(int rows, Executor executor, Segment<T> segment) {
+        int parallelism = executor instanceof ForkJoinPool pool
+                ? pool.getParallelism() : Runtime.getRuntime().availableProcessors();
+        int segmentRows = Math.max(MIN_SEGMENT_ROWS, (rows + parallelism * 2 - 1) / (parallelism * 2));
+        if (rows <= segmentRows) {
+            return List.of(segment.process(0, rows));
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(rows / segmentRows + 1);
+        for (int from = 0; from < rows; from += segmentRows) {
+            int start = from;
+            int end = Math.min(rows, from + segmentRows);
+            futures.add(CompletableFuture.supplyAsync(() -> segment.process(start, end), executor));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+        return results;
+    }
+}
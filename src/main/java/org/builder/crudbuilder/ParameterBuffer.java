@@ -0,0 +1,220 @@
+package org.builder.crudbuilder;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Array-backed storage for the bind parameters of a query.
+ *
+ * <p>Parameters are kept in placeholder order in a growable {@code Object[]}, so positional
+ * access is O(1) and no node object is allocated per bind. Every {@link java.util.List} operation
+ * is supported; inserting or removing in the middle shifts the following parameters.</p>
+ *
+ * <p>The buffer is a {@link java.util.List}, so existing code reading {@code getParameters()}
+ * keeps working. Use {@link #toArray()} to hand the values to varargs APIs such as
+ * {@code JdbcTemplate.update(sql, args...)}.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public final class ParameterBuffer extends AbstractList<Object> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 10;
+    static final int MAX_RETAINED_CAPACITY = 1 << 14;
+    private static final Object[] EMPTY = {};
+
+    private Object[] values;
+    private int size;
+    private boolean frozen;
+
+    /**
+     * Creates an empty buffer. The backing array is allocated on the first add.
+     */
+    public ParameterBuffer() {
+        this.values = EMPTY;
+    }
+
+    /**
+     * Creates an empty buffer presized for the given number of placeholders.
+     *
+     * @param capacity The expected number of parameters.
+     * @throws IllegalArgumentException If the capacity is negative.
+     */
+    public ParameterBuffer(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+        }
+        this.values = capacity == 0 ? EMPTY : new Object[capacity];
+    }
+
+    /**
+     * Makes sure the buffer can hold {@code capacity} parameters without growing again.
+     *
+     * @param capacity The total number of parameters expected.
+     */
+    public void ensureCapacity(int capacity) {
+        checkMutable();
+        if (capacity > values.length) {
+            grow(capacity);
+        }
+    }
+
+    @Override
+    public boolean add(Object value) {
+        checkMutable();
+        int index = size;
+        if (index == values.length) {
+            grow(index + 1);
+        }
+        values[index] = value;
+        size = index + 1;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Inserts the value at the given position, shifting the parameters from there on by one.
+     */
+    @Override
+    public void add(int index, Object value) {
+        checkMutable();
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == values.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public boolean addAll(Collection<?> collection) {
+        int count = collection.size();
+        if (count == 0) {
+            return false;
+        }
+        ensureCapacity(size + count);
+        for (Object value : collection) {
+            add(value);
+        }
+        return true;
+    }
+
+    /**
+     * Appends all values of the array with a single copy.
+     */
+    void addAll(Object[] source) {
+        checkMutable();
+        int count = source.length;
+        ensureCapacity(size + count);
+        System.arraycopy(source, 0, values, size, count);
+        size += count;
+        modCount++;
+    }
+
+    @Override
+    public Object get(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    @Override
+    public Object set(int index, Object value) {
+        checkMutable();
+        Object previous = get(index);
+        values[index] = value;
+        return previous;
+    }
+
+    @Override
+    public Object remove(int index) {
+        checkMutable();
+        Object previous = get(index);
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(values, index + 1, values, index, moved);
+        }
+        values[--size] = null;
+        modCount++;
+        return previous;
+    }
+
+    /**
+     * Removes all parameters. The backing array is kept, so the buffer can be refilled
+     * without allocating.
+     */
+    @Override
+    public void clear() {
+        checkMutable();
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Removes all parameters like {@link #clear()}, but releases the backing array when it
+     * grew beyond {@link #MAX_RETAINED_CAPACITY}.
+     */
+    void reset() {
+        checkMutable();
+        if (values.length > MAX_RETAINED_CAPACITY) {
+            values = EMPTY;
+            size = 0;
+            modCount++;
+        } else {
+            clear();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copies the parameters into a new array in placeholder order.
+     *
+     * @return An array suitable for varargs JDBC APIs.
+     */
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Returns a read-only copy trimmed to the current size. Every mutating method of the copy
+     * throws {@link UnsupportedOperationException}.
+     */
+    ParameterBuffer frozenCopy() {
+        ParameterBuffer copy = new ParameterBuffer(0);
+        copy.values = size == 0 ? EMPTY : Arrays.copyOf(values, size);
+        copy.size = size;
+        copy.frozen = true;
+        return copy;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Parameters of a built query cannot be modified");
+        }
+    }
+
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(Math.max(values.length + (values.length >> 1), minCapacity), DEFAULT_CAPACITY);
+        values = Arrays.copyOf(values, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
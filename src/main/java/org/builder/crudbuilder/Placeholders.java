@@ -0,0 +1,42 @@
+package org.builder.crudbuilder;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Comma separated {@code ?} lists such as {@code "?, ?, ?"}.
+ *
+ * <p>Lists up to {@value #CACHED_COUNT} placeholders are built once and shared, so IN lists
+ * and VALUES rows do not rebuild the same string on every call.</p>
+ */
+final class Placeholders {
+
+    private static final int CACHED_COUNT = 256;
+    private static final AtomicReferenceArray<String> CACHE = new AtomicReferenceArray<>(CACHED_COUNT + 1);
+
+    private Placeholders() {
+    }
+
+    static String of(int count) {
+        if (count > CACHED_COUNT) {
+            return render(count);
+        }
+        String placeholders = CACHE.get(count);
+        if (placeholders == null) {
+            placeholders = render(count);
+            CACHE.set(count, placeholders);
+        }
+        return placeholders;
+    }
+
+    private static String render(int count) {
+        if (count <= 0) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(count * 3 - 2);
+        builder.append('?');
+        for (int i = 1; i < count; i++) {
+            builder.append(", ?");
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,269 @@
+package org.builder.crudbuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Rewrites the WHERE clause of a node list into shorter, equivalent predicates before rendering.
+ *
+ * <p>The clause is read as OR-ed groups of AND-ed terms, the way SQL binds it, and:</p>
+ * <ul>
+ *     <li>drops a term that repeats an earlier term of the same AND group,</li>
+ *     <li>turns {@code col >= ? AND col <= ?} within an AND group into {@code col BETWEEN ? AND ?},</li>
+ *     <li>turns OR-ed single {@code col = ?} groups on one column into one {@code col IN (...)},</li>
+ *     <li>drops an OR group that repeats an earlier group.</li>
+ * </ul>
+ *
+ * <p>Only a clause made of comparisons, IN lists, null checks and BETWEEN is touched. A clause
+ * with raw SQL conditions, a keyset seek or bare operands is returned as is, since its grouping
+ * cannot be known from the nodes.</p>
+ */
+final class PredicateSimplifier {
+
+    private PredicateSimplifier() {
+    }
+
+    /**
+     * @param padding The padding of merged IN lists, or {@code null}.
+     * @param asArray Whether merged IN lists are bound as one array.
+     * @return The simplified nodes, or {@code nodes} itself when nothing could be simplified.
+     */
+    static List<SqlNode> simplify(List<SqlNode> nodes, InListPadding padding, boolean asArray) {
+        int start = -1;
+        for (int i = 0; i < nodes.size(); i++) {
+            if (nodes.get(i) instanceof SqlNode.Predicate) {
+                start = i;
+                break;
+            }
+        }
+        if (start < 0 || ((SqlNode.Predicate) nodes.get(start)).connector() != SqlNode.Connector.WHERE) {
+            return nodes;
+        }
+        int end = start + 1;
+        while (end < nodes.size() && nodes.get(end) instanceof SqlNode.Predicate predicate
+                && predicate.connector() != SqlNode.Connector.WHERE) {
+            end++;
+        }
+        for (int i = end; i < nodes.size(); i++) {
+            SqlNode.Kind kind = nodes.get(i).kind();
+            if (kind != SqlNode.Kind.ORDER_BY && kind != SqlNode.Kind.LIMIT && kind != SqlNode.Kind.RETURNING) {
+                return nodes;
+            }
+        }
+        List<List<SqlNode.Predicate>> groups = new ArrayList<>();
+        for (int i = start; i < end; i++) {
+            SqlNode.Predicate predicate = (SqlNode.Predicate) nodes.get(i);
+            if (!isSimple(predicate)) {
+                return nodes;
+            }
+            if (groups.isEmpty() || predicate.connector() == SqlNode.Connector.OR) {
+                groups.add(new ArrayList<>());
+            }
+            groups.get(groups.size() - 1).add(predicate);
+        }
+        boolean changed = false;
+        for (List<SqlNode.Predicate> group : groups) {
+            changed |= removeRepeatedTerms(group);
+            changed |= mergeRanges(group);
+        }
+        changed |= mergeEqualities(groups, padding, asArray);
+        changed |= removeRepeatedGroups(groups);
+        if (!changed) {
+            return nodes;
+        }
+        List<SqlNode> simplified = new ArrayList<>(nodes.size());
+        simplified.addAll(nodes.subList(0, start));
+        for (int g = 0; g < groups.size(); g++) {
+            List<SqlNode.Predicate> group = groups.get(g);
+            for (int t = 0; t < group.size(); t++) {
+                SqlNode.Connector connector = t > 0 ? SqlNode.Connector.AND
+                        : g == 0 ? SqlNode.Connector.WHERE : SqlNode.Connector.OR;
+                simplified.add(withConnector(group.get(t), connector));
+            }
+        }
+        simplified.addAll(nodes.subList(end, nodes.size()));
+        return simplified;
+    }
+
+    private static boolean isSimple(SqlNode.Predicate predicate) {
+        SqlNode.Kind kind = predicate.kind();
+        return kind == SqlNode.Kind.COMPARISON || kind == SqlNode.Kind.IN_LIST
+                || kind == SqlNode.Kind.NULL_CHECK || kind == SqlNode.Kind.BETWEEN;
+    }
+
+    private static boolean removeRepeatedTerms(List<SqlNode.Predicate> group) {
+        boolean changed = false;
+        for (int i = group.size() - 1; i > 0; i--) {
+            for (int j = 0; j < i; j++) {
+                if (sameTerm(group.get(i), group.get(j))) {
+                    group.remove(i);
+                    changed = true;
+                    break;
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Replaces the only {@code >=} and the only {@code <=} of a column with one BETWEEN at the
+     * position of the first of them.
+     */
+    private static boolean mergeRanges(List<SqlNode.Predicate> group) {
+        boolean changed = false;
+        for (int i = 0; i < group.size(); i++) {
+            if (!(group.get(i) instanceof SqlNode.Comparison first) || !isBound(first)) {
+                continue;
+            }
+            String column = first.column();
+            String other = ">=".equals(first.operator()) ? "<=" : ">=";
+            int otherIndex = -1;
+            boolean unique = true;
+            for (int j = 0; j < group.size(); j++) {
+                if (j != i && group.get(j) instanceof SqlNode.Comparison comparison
+                        && comparison.column().equals(column) && isBound(comparison)) {
+                    if (!comparison.operator().equals(other) || otherIndex >= 0) {
+                        unique = false;
+                    }
+                    otherIndex = j;
+                }
+            }
+            if (!unique || otherIndex < 0) {
+                continue;
+            }
+            SqlNode.Comparison second = (SqlNode.Comparison) group.get(otherIndex);
+            SqlNode.Comparison lower = ">=".equals(first.operator()) ? first : second;
+            SqlNode.Comparison upper = lower == first ? second : first;
+            group.set(i, new SqlNode.Between(first.connector(), column, lower.value(), upper.value()));
+            group.remove(otherIndex);
+            changed = true;
+        }
+        return changed;
+    }
+
+    private static boolean isBound(SqlNode.Comparison comparison) {
+        return ">=".equals(comparison.operator()) || "<=".equals(comparison.operator());
+    }
+
+    /**
+     * Replaces OR groups that are a single {@code col = ?} on the same column with one IN list
+     * at the position of the first of them.
+     */
+    private static boolean mergeEqualities(List<List<SqlNode.Predicate>> groups, InListPadding padding, boolean asArray) {
+        boolean changed = false;
+        for (int i = 0; i < groups.size(); i++) {
+            SqlNode.Comparison first = singleEquality(groups.get(i));
+            if (first == null) {
+                continue;
+            }
+            List<Object> values = new ArrayList<>();
+            values.add(first.value());
+            boolean merged = false;
+            for (int j = groups.size() - 1; j > i; j--) {
+                SqlNode.Comparison other = singleEquality(groups.get(j));
+                if (other != null && other.column().equals(first.column())) {
+                    values.add(1, other.value());
+                    groups.remove(j);
+                    merged = true;
+                }
+            }
+            if (!merged) {
+                continue;
+            }
+            changed = true;
+            List<Object> distinct = new ArrayList<>(values.size());
+            for (Object value : values) {
+                if (!distinct.contains(value)) {
+                    distinct.add(value);
+                }
+            }
+            SqlNode.Predicate replacement;
+            if (distinct.size() == 1) {
+                replacement = first;
+            } else {
+                int size = distinct.size();
+                // Simplifying runs on every render, so the bucket is computed without touching the statistics.
+                int placeholders = asArray || padding == null ? size : padding.bucketOf(size);
+                replacement = new SqlNode.InList(first.connector(), first.column(), distinct.toArray(), false,
+                        placeholders, asArray);
+            }
+            groups.set(i, new ArrayList<>(List.of(replacement)));
+        }
+        return changed;
+    }
+
+    private static SqlNode.Comparison singleEquality(List<SqlNode.Predicate> group) {
+        if (group.size() == 1 && group.get(0) instanceof SqlNode.Comparison comparison
+                && "=".equals(comparison.operator())) {
+            return comparison;
+        }
+        return null;
+    }
+
+    private static boolean removeRepeatedGroups(List<List<SqlNode.Predicate>> groups) {
+        boolean changed = false;
+        for (int i = groups.size() - 1; i > 0; i--) {
+            for (int j = 0; j < i; j++) {
+                if (sameGroup(groups.get(i), groups.get(j))) {
+                    groups.remove(i);
+                    changed = true;
+                    break;
+                }
+            }
+        }
+        return changed;
+    }
+
+    private static boolean sameGroup(List<SqlNode.Predicate> a, List<SqlNode.Predicate> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!sameTerm(a.get(i), b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares two predicates ignoring their connectors; IN lists compare their values by content.
+     */
+    private static boolean sameTerm(SqlNode.Predicate a, SqlNode.Predicate b) {
+        if (a.kind() != b.kind()) {
+            return false;
+        }
+        if (a instanceof SqlNode.InList x && b instanceof SqlNode.InList y) {
+            return x.column().equals(y.column()) && x.negated() == y.negated() && x.asArray() == y.asArray()
+                    && x.placeholders() == y.placeholders() && Arrays.equals(x.values(), y.values());
+        }
+        return Objects.equals(withConnector(a, SqlNode.Connector.AND), withConnector(b, SqlNode.Connector.AND));
+    }
+
+    private static SqlNode.Predicate withConnector(SqlNode.Predicate predicate, SqlNode.Connector connector) {
+        if (predicate.connector() == connector) {
+            return predicate;
+        }
+        return switch (predicate.kind()) {
+            case COMPARISON -> {
+                SqlNode.Comparison c = (SqlNode.Comparison) predicate;
+                yield new SqlNode.Comparison(connector, c.column(), c.operator(), c.value());
+            }
+            case IN_LIST -> {
+                SqlNode.InList l = (SqlNode.InList) predicate;
+                yield new SqlNode.InList(connector, l.column(), l.values(), l.negated(), l.placeholders(), l.asArray());
+            }
+            case NULL_CHECK -> {
+                SqlNode.NullCheck n = (SqlNode.NullCheck) predicate;
+                yield new SqlNode.NullCheck(connector, n.column(), n.negated());
+            }
+            case BETWEEN -> {
+                SqlNode.Between b = (SqlNode.Between) predicate;
+                yield new SqlNode.Between(connector, b.column(), b.start(), b.end());
+            }
+            default -> throw new IllegalArgumentException("Cannot simplify " + predicate.kind());
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package org.builder.crudbuilder;
+
+/**
+ * Receives measurements from the builders and from the execution helpers in
+ * {@code org.builder.crudbuilder.jdbc}.
+ *
+ * <p>One instance is installed for the whole application with {@link #install(QueryMetrics)};
+ * until then {@link #NOOP} is used and nothing is measured, not even the time. Methods are
+ * called on the rendering and executing threads, so an implementation must be thread safe and
+ * cheap, as {@link InMemoryQueryMetrics} is. All methods default to doing nothing.</p>
+ *
+ * <pre>{@code
+ * InMemoryQueryMetrics metrics = new InMemoryQueryMetrics();
+ * QueryMetrics.install(metrics);
+ * ...
+ * long p99 = metrics.renderNanos().percentile(0.99);
+ * }</pre>
+ *
+ * @author Kim SeuongYong
+ */
+public interface QueryMetrics {
+
+    /**
+     * Measures nothing.
+     */
+    QueryMetrics NOOP = new QueryMetrics() {
+    };
+
+    /**
+     * A builder rendered its query and parameters.
+     *
+     * @param builder The simple name of the builder class, e.g. {@code SelectBuilder}.
+     * @param nanos The rendering time.
+     */
+    default void rendered(String builder, long nanos, int sqlLength, int parameterCount) {
+    }
+
+    /**
+     * A rendered query contains an IN or NOT IN list of {@code values} values, before padding.
+     */
+    default void inListRendered(int values) {
+    }
+
+    /**
+     * A rendered INSERT or upsert writes {@code rows} rows in one statement.
+     */
+    default void multiInsertRendered(int rows) {
+    }
+
+    /**
+     * A query was executed.
+     *
+     * @param fingerprint The {@link #fingerprint(String)} of the SQL.
+     * @param nanos The time from preparing the statement until the last row was read.
+     * @param rows The rows affected or read.
+     */
+    default void executed(String fingerprint, long nanos, long rows) {
+    }
+
+    /**
+     * Replaces the metrics for all builders and executors.
+     *
+     * @throws IllegalArgumentException If metrics is null; install {@link #NOOP} to stop measuring.
+     */
+    static void install(QueryMetrics metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics cannot be null, use QueryMetrics.NOOP");
+        }
+        InstalledMetrics.current = metrics;
+    }
+
+    static QueryMetrics installed() {
+        return InstalledMetrics.current;
+    }
+
+    /**
+     * Identifies the shape of a SQL statement, stable across runs and JVMs: a list of
+     * placeholders and a list of placeholder rows count as one, so IN lists and multi-row
+     * VALUES of any length share the fingerprint.
+     *
+     * @return 16 hex digits.
+     */
+    static String fingerprint(String sql) {
+        return InstalledMetrics.fingerprint(sql);
+    }
+}
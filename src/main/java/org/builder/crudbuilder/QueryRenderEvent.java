@@ -0,0 +1,63 @@
+package org.builder.crudbuilder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event spanning the rendering of a builder's query, emitted as
+ * {@value #NAME}.
+ *
+ * <p>The event is created and begun before rendering and completed after it. While the event
+ * is not recorded, {@link #shouldCommit()} is false, the fields are never filled in and the
+ * fingerprint is never computed, and the JIT compiler removes the rest.</p>
+ */
+@Name(QueryRenderEvent.NAME)
+@Label("Query Render")
+@Category({"SQL Builder", "Render"})
+@Description("Rendering of the SQL text and parameters of a builder")
+@StackTrace(false)
+final class QueryRenderEvent extends Event {
+
+    static final String NAME = "org.builder.crudbuilder.QueryRender";
+
+    @Label("Builder")
+    String builder;
+
+    @Label("Fingerprint")
+    @Description("QueryMetrics.fingerprint of the SQL")
+    String fingerprint;
+
+    @Label("SQL Length")
+    int sqlLength;
+
+    @Label("Parameter Count")
+    int parameterCount;
+
+    static QueryRenderEvent started() {
+        QueryRenderEvent event = new QueryRenderEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it with the rendered query if the event is enabled.
+     */
+    void complete(String builder, QueryText query, int parameterCount) {
+        end();
+        if (shouldCommit()) {
+            commit(builder, query.toString(), parameterCount);
+        }
+    }
+
+    private void commit(String builder, String sql, int parameterCount) {
+        this.builder = builder;
+        this.fingerprint = QueryMetrics.fingerprint(sql);
+        this.sqlLength = sql.length();
+        this.parameterCount = parameterCount;
+        commit();
+    }
+}
@@ -0,0 +1,170 @@
+package org.builder.crudbuilder;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An opt-in cache of rendered SQL, keyed on the sequence of builder calls that produced it.
+ *
+ * <p>A builder created with a cache does not append to a {@link StringBuilder}. It records the
+ * fragments each call contributes (keywords, table and column names) as a fingerprint, and
+ * {@code getQuery()} looks that fingerprint up here. When the same call sequence was seen
+ * before, the already rendered, interned SQL string is returned and only the new parameters
+ * are collected.</p>
+ *
+ * <pre>{@code
+ * QueryShapeCache cache = new QueryShapeCache();
+ * SelectBuilder builder = selectBuilder(cache)
+ *         .selectFrom("users")
+ *         .whereEq("id", id)
+ *         .andGt("age", age);
+ * }</pre>
+ *
+ * <p>One instance is meant to be shared by all threads. Once {@code maxShapes} different shapes
+ * are cached, new shapes are still rendered but no longer stored.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public final class QueryShapeCache {
+
+    private static final int DEFAULT_MAX_SHAPES = 1024;
+
+    private final Map<Shape, String> shapes = new ConcurrentHashMap<>();
+    private final int maxShapes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public QueryShapeCache() {
+        this(DEFAULT_MAX_SHAPES);
+    }
+
+    /**
+     * @param maxShapes The maximum number of distinct query shapes to keep.
+     * @throws IllegalArgumentException If maxShapes is not positive.
+     */
+    public QueryShapeCache(int maxShapes) {
+        if (maxShapes <= 0) {
+            throw new IllegalArgumentException("maxShapes must be positive");
+        }
+        this.maxShapes = maxShapes;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return shapes.size();
+    }
+
+    public void clear() {
+        shapes.clear();
+    }
+
+    /**
+     * Returns the SQL for the recorded fragments, rendering and storing it on the first sight
+     * of this shape. The lookup itself does not copy the fragments.
+     */
+    String resolve(Shape shape) {
+        String sql = shapes.get(shape);
+        if (sql != null) {
+            hits.increment();
+            return sql;
+        }
+        misses.increment();
+        sql = shape.render().intern();
+        if (shapes.size() < maxShapes) {
+            String previous = shapes.putIfAbsent(shape.copy(), sql);
+            if (previous != null) {
+                return previous;
+            }
+        }
+        return sql;
+    }
+
+    /**
+     * The fingerprint of a builder call sequence: the fragments appended so far plus a hash
+     * that is updated incrementally on every append.
+     */
+    static final class Shape {
+
+        private String[] fragments;
+        private int count;
+        private int hash;
+
+        Shape() {
+            this.fragments = new String[16];
+        }
+
+        private Shape(String[] fragments, int hash) {
+            this.fragments = fragments;
+            this.count = fragments.length;
+            this.hash = hash;
+        }
+
+        void add(String fragment) {
+            if (count == fragments.length) {
+                fragments = Arrays.copyOf(fragments, count << 1);
+            }
+            fragments[count++] = fragment;
+            hash = 31 * hash + fragment.hashCode();
+        }
+
+        void clear() {
+            Arrays.fill(fragments, 0, count, null);
+            count = 0;
+            hash = 0;
+        }
+
+        int length() {
+            int length = 0;
+            for (int i = 0; i < count; i++) {
+                length += fragments[i].length();
+            }
+            return length;
+        }
+
+        String render() {
+            StringBuilder sql = new StringBuilder(length());
+            for (int i = 0; i < count; i++) {
+                sql.append(fragments[i]);
+            }
+            return sql.toString();
+        }
+
+        Shape copy() {
+            return new Shape(Arrays.copyOf(fragments, count), hash);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Shape)) {
+                return false;
+            }
+            Shape other = (Shape) o;
+            if (hash != other.hash || count != other.count) {
+                return false;
+            }
+            for (int i = 0; i < count; i++) {
+                if (!fragments[i].equals(other.fragments[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.builder.crudbuilder;
+
+/**
+ * The SQL text a builder appends to.
+ *
+ * <p>Without a {@link QueryShapeCache} it is a thin wrapper over a {@link StringBuilder}.
+ * With a cache, appended fragments are only recorded as the query's shape, and
+ * {@link #toString()} resolves the shape to the cached, interned SQL string.</p>
+ */
+final class QueryText {
+
+    /**
+     * Largest buffer kept by {@link #reset()}; a one-off huge statement should not pin its buffer.
+     */
+    static final int MAX_RETAINED_CHARS = 1 << 16;
+
+    private final StringBuilder text;
+    private final QueryShapeCache cache;
+    private final QueryShapeCache.Shape shape;
+    private String rendered;
+
+    QueryText() {
+        this.text = new StringBuilder();
+        this.cache = null;
+        this.shape = null;
+    }
+
+    QueryText(QueryShapeCache cache) {
+        if (cache == null) {
+            throw new IllegalArgumentException("Query shape cache cannot be null");
+        }
+        this.text = null;
+        this.cache = cache;
+        this.shape = new QueryShapeCache.Shape();
+    }
+
+    QueryText append(String fragment) {
+        rendered = null;
+        String value = fragment == null ? "null" : fragment;
+        if (shape != null) {
+            shape.add(value);
+        } else {
+            text.append(value);
+        }
+        return this;
+    }
+
+    QueryText append(Object value) {
+        return append(String.valueOf(value));
+    }
+
+    /**
+     * Empties the text but keeps the grown buffer, up to {@link #MAX_RETAINED_CHARS}.
+     */
+    void reset() {
+        rendered = null;
+        if (shape != null) {
+            shape.clear();
+        } else {
+            text.setLength(0);
+            if (text.capacity() > MAX_RETAINED_CHARS) {
+                text.trimToSize();
+            }
+        }
+    }
+
+    int length() {
+        return shape != null ? shape.length() : text.length();
+    }
+
+    @Override
+    public String toString() {
+        if (shape == null) {
+            return text.toString();
+        }
+        if (rendered == null) {
+            rendered = cache.resolve(shape);
+        }
+        return rendered;
+    }
+}
@@ -0,0 +1,75 @@
+package org.builder.crudbuilder;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * The values of a map row in the column order of the first row, read by key.
+ *
+ * <p>Rows of one statement may be different map types, e.g. a {@code HashMap} next to a
+ * {@code LinkedHashMap}, whose iteration orders differ. Reading values by column name binds every
+ * value to its own column regardless of that order.</p>
+ */
+final class RowValues extends AbstractList<Object> implements RandomAccess {
+
+    private final List<String> columns;
+    private final Map<String, ?> row;
+
+    /**
+     * @throws IllegalArgumentException If the row is null, lacks one of the columns or has another key.
+     */
+    RowValues(List<String> columns, Map<String, ?> row) {
+        if (row == null) {
+            throw new IllegalArgumentException("Every row must have the columns " + columns);
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            if (!row.containsKey(columns.get(i))) {
+                throw new IllegalArgumentException("Row " + row.keySet() + " is missing column " + columns.get(i));
+            }
+        }
+        if (row.size() != columns.size()) {
+            throw new IllegalArgumentException("Row " + row.keySet() + " has columns other than " + columns);
+        }
+        this.columns = columns;
+        this.row = row;
+    }
+
+    /**
+     * @return The column names of a first row, fixing the order for every row after it.
+     */
+    static List<String> columnsOf(Map<String, ?> firstRow) {
+        return List.copyOf(firstRow.keySet());
+    }
+
+    /**
+     * Reads each row of the iterator by the given columns as it is pulled; a null row stays null.
+     */
+    static Iterator<Collection<Object>> of(List<String> columns, Iterator<? extends Map<String, ?>> rows) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public Collection<Object> next() {
+                Map<String, ?> row = rows.next();
+                return row == null ? null : new RowValues(columns, row);
+            }
+        };
+    }
+
+    @Override
+    public Object get(int index) {
+        return row.get(columns.get(index));
+    }
+
+    @Override
+    public int size() {
+        return columns.size();
+    }
+}
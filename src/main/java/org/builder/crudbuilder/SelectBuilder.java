@@ -2,79 +2,167 @@ package org.builder.crudbuilder;
 
 import jakarta.annotation.Nullable;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
-public class SelectBuilder {
+public class SelectBuilder implements SqlQuery {
+
+    private final QueryText query;
+    private final ParameterBuffer parameters;
+    private final Dialect dialect;
+    private final List<SqlNode> nodes = new ArrayList<>();
+    private boolean rendered;
+    private InListPadding inListPadding;
+    private boolean arrayInLists;
+    private boolean simplifyPredicates;
+    private boolean whereSpecified;
+    private boolean orSpecified;
+
+    private SelectBuilder(QueryText query, Dialect dialect) {
+        if (dialect == null) {
+            throw new IllegalArgumentException("Dialect cannot be null");
+        }
+        this.query = query;
+        this.dialect = dialect;
+        this.parameters = new ParameterBuffer();
+    }
+
+    public static SelectBuilder selectBuilder() {
+        return new SelectBuilder(new QueryText(), StandardDialect.GENERIC);
+    }
 
-    private final StringBuilder query;
-    private final List<Object> parameters;
+    public static SelectBuilder selectBuilder(QueryShapeCache cache) {
+        return new SelectBuilder(new QueryText(cache), StandardDialect.GENERIC);
+    }
 
-    private SelectBuilder() {
-        this.query = new StringBuilder();
-        this.parameters = new LinkedList<>();
+    public static SelectBuilder selectBuilder(Dialect dialect) {
+        return new SelectBuilder(new QueryText(), dialect);
     }
 
-    public static SelectBuilder selectBuilder() {
-        return new SelectBuilder();
+    public static SelectBuilder selectBuilder(Dialect dialect, QueryShapeCache cache) {
+        return new SelectBuilder(new QueryText(cache), dialect);
     }
 
     public SelectBuilder select(List<String> columns) {
-        String join = String.join(", ", columns);
-        query.append("SELECT ").append("(").append(join).append(")");
-        return this;
+        return addNode(new SqlNode.SelectList(columns));
     }
 
     public SelectBuilder from(String table) {
-        query.append(" FROM ").append(table);
-        return this;
+        return addNode(new SqlNode.From(table));
     }
 
     public SelectBuilder selectFrom(String table) {
-        query.append("SELECT * FROM ").append(table);
-        return this;
+        addNode(new SqlNode.SelectList(List.of("*")));
+        return addNode(new SqlNode.From(table));
     }
 
     public SelectBuilder where(String condition) {
         if (hasText(condition)) {
-            query.append(" WHERE ").append(condition);
+            addNode(new SqlNode.RawCondition(SqlNode.Connector.WHERE, condition));
+            whereSpecified = true;
         }
         return this;
     }
 
     public SelectBuilder or(String column) {
         if (hasText(column)) {
-            query.append(" OR ").append(column);
+            addNode(new SqlNode.RawCondition(SqlNode.Connector.OR, column));
+            orSpecified = true;
         }
         return this;
     }
 
     public SelectBuilder and(String column) {
         if (hasText(column)) {
-            query.append(" AND ").append(column);
+            addNode(new SqlNode.RawCondition(SqlNode.Connector.AND, column));
         }
         return this;
     }
 
     public SelectBuilder join(String table) {
-        query.append(" JOIN ").append(table);
-        return this;
+        return addNode(new SqlNode.Join("JOIN", table, null, null));
     }
 
     public SelectBuilder leftJoin(String table) {
-        query.append(" LEFT JOIN ").append(table);
-        return this;
+        return addNode(new SqlNode.Join("LEFT JOIN", table, null, null));
     }
 
+    /**
+     * Sets the join condition of the join added just before.
+     *
+     * @throws IllegalStateException If the previous call was not join() or leftJoin().
+     */
     public SelectBuilder on(String leftColum, String rightColum) {
-        query.append(" ON ").append(leftColum).append(" = ").append(rightColum);
+        int last = nodes.size() - 1;
+        if (last < 0 || !(nodes.get(last) instanceof SqlNode.Join join) || join.hasCondition()) {
+            throw new IllegalStateException("on() must directly follow join() or leftJoin()");
+        }
+        nodes.set(last, new SqlNode.Join(join.type(), join.table(), leftColum, rightColum));
+        rendered = false;
         return this;
     }
 
     public SelectBuilder orderBy(String column, OrderType orderType) {
-        query.append(" ORDER BY ").append(column).append(" ").append(orderType);
-        return this;
+        return addNode(new SqlNode.OrderBy(List.of(column), orderType));
+    }
+
+    /**
+     * Limits the number of returned rows with the syntax of the builder's dialect.
+     * SQL Server renders FETCH NEXT, which needs a preceding orderBy.
+     */
+    public SelectBuilder limit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return addNode(new SqlNode.Limit(limit));
+    }
+
+    /**
+     * Restricts the query to the page after the given key and finishes it with the matching
+     * ORDER BY and LIMIT (keyset pagination).
+     *
+     * <p>Renders {@code (a, b) > (?, ?) ORDER BY a, b LIMIT n}, joined with WHERE or AND
+     * depending on the conditions already added. The limit and, on databases without row value
+     * comparison, the key predicate are rendered by the builder's dialect. Unlike OFFSET, the database can seek straight
+     * to the key through an index on the key columns, so late pages cost as much as the first.
+     * It must be the last call of the chain.</p>
+     *
+     * @param columns The key columns, unique together, e.g. {@code List.of("created_at", "id")}.
+     * @param lastValues The key of the last row of the previous page, or {@code null} for the first page.
+     * @param pageSize The maximum number of rows of the page.
+     * @return The current SelectBuilder instance.
+     * @throws IllegalArgumentException If columns are empty, values do not match columns or pageSize is not positive.
+     * @throws IllegalStateException If OR conditions were added, which would bind looser than the key predicate.
+     */
+    public SelectBuilder seekAfter(List<String> columns, @Nullable List<Object> lastValues, int pageSize) {
+        return seekAfter(columns, lastValues, pageSize, OrderType.ASC);
+    }
+
+    /**
+     * Keyset pagination in the given direction; {@code DESC} seeks to keys smaller than {@code lastValues}.
+     *
+     * @see #seekAfter(List, List, int)
+     */
+    public SelectBuilder seekAfter(List<String> columns, @Nullable List<Object> lastValues, int pageSize, OrderType orderType) {
+        if (columns == null || columns.isEmpty()) {
+            throw new IllegalArgumentException("Key columns cannot be null or empty");
+        }
+        if (lastValues != null && lastValues.size() != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " key values but got " + lastValues.size());
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        if (orSpecified) {
+            throw new IllegalStateException("seekAfter cannot be combined with OR conditions");
+        }
+        if (lastValues != null) {
+            addNode(new SqlNode.KeysetSeek(connector(whereSpecified ? "AND" : "WHERE"), columns,
+                    lastValues.toArray(), orderType == OrderType.DESC));
+        }
+        addNode(new SqlNode.OrderBy(columns, orderType));
+        return addNode(new SqlNode.Limit(pageSize));
     }
 
     public SelectBuilder whereEq(String column, Object condition) {
@@ -97,6 +185,40 @@ public class SelectBuilder {
         return addCondition("<=", column, condition, "WHERE");
     }
 
+    public SelectBuilder padInLists(InListPadding padding) {
+        this.inListPadding = padding;
+        return this;
+    }
+
+    /**
+     * Renders IN and NOT IN as {@code column = ANY(?)} and {@code column <> ALL(?)} with the whole
+     * list bound as one {@link SqlArray}, so every list size shares one statement.
+     *
+     * @return The current SelectBuilder instance.
+     * @throws IllegalStateException If the dialect does not support array parameters.
+     */
+    public SelectBuilder bindInListsAsArray() {
+        if (!dialect.supportsArrayParameters()) {
+            throw new IllegalStateException("Dialect " + dialect.name() + " does not support array parameters");
+        }
+        this.arrayInLists = true;
+        return this;
+    }
+
+    /**
+     * Simplifies the WHERE clause before rendering: repeated terms are dropped,
+     * {@code col >= ? AND col <= ?} becomes {@code col BETWEEN ? AND ?} and OR-ed equalities on
+     * one column become one IN list, which follows {@link #padInLists} and {@link #bindInListsAsArray}.
+     * {@link #getNodes()} still returns the nodes as added.
+     *
+     * @return The current SelectBuilder instance.
+     */
+    public SelectBuilder simplifyPredicates() {
+        this.simplifyPredicates = true;
+        rendered = false;
+        return this;
+    }
+
     public SelectBuilder whereIn(String column, List<Object> values) {
         return addInCondition(column, values);
     }
@@ -186,105 +308,153 @@ public class SelectBuilder {
     }
 
     public SelectBuilder eq(Object values) {
-        query.append(" = ?");
-        parameters.add(values);
-        return this;
+        return addNode(new SqlNode.Operand("=", values));
     }
 
     public SelectBuilder gt(Object values) {
-        query.append(" > ?");
-        parameters.add(values);
-        return this;
+        return addNode(new SqlNode.Operand(">", values));
     }
 
     public SelectBuilder gte(Object values) {
-        query.append(" >= ?");
-        parameters.add(values);
-        return this;
+        return addNode(new SqlNode.Operand(">=", values));
     }
     public SelectBuilder lt(Object values) {
-        query.append(" < ?");
-        parameters.add(values);
-        return this;
+        return addNode(new SqlNode.Operand("<", values));
     }
     public SelectBuilder lte(Object values) {
-        query.append(" <= ?");
-        parameters.add(values);
+        return addNode(new SqlNode.Operand("<=", values));
+    }
+
+    public Dialect getDialect() {
+        return dialect;
+    }
+
+    /**
+     * Clears the builder so it can build the next query, keeping its grown buffers.
+     *
+     * @return The current SelectBuilder instance, as if newly created.
+     */
+    public SelectBuilder reset() {
+        query.reset();
+        parameters.reset();
+        nodes.clear();
+        rendered = false;
+        inListPadding = null;
+        arrayInLists = false;
+        simplifyPredicates = false;
+        whereSpecified = false;
+        orSpecified = false;
         return this;
     }
 
+    /**
+     * Takes an immutable snapshot of the query and its parameters, e.g. to use as a cache key.
+     */
+    public BuiltQuery build() {
+        return BuiltQuery.of(getQuery(), parameters, "SelectBuilder");
+    }
+
+    /**
+     * @return The nodes added so far, in call order.
+     */
+    public List<SqlNode> getNodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Renders the same nodes for another database, leaving this builder untouched.
+     *
+     * @throws IllegalStateException If the query uses a feature the dialect does not support.
+     */
+    public BuiltQuery renderFor(Dialect dialect) {
+        return SqlRenderer.renderFor("SelectBuilder", renderedNodes(), dialect);
+    }
+
+    @Override
     public String getQuery() {
+        ensureRendered();
         return query.toString();
     }
 
-    public List<Object> getParameters() {
+    @Override
+    public ParameterBuffer getParameters() {
+        ensureRendered();
         return parameters;
     }
 
+    private SelectBuilder addNode(SqlNode node) {
+        nodes.add(node);
+        rendered = false;
+        return this;
+    }
+
+    private List<SqlNode> renderedNodes() {
+        return simplifyPredicates ? PredicateSimplifier.simplify(nodes, inListPadding, arrayInLists) : nodes;
+    }
+
+    private void ensureRendered() {
+        if (!rendered) {
+            QueryRenderEvent event = QueryRenderEvent.started();
+            QueryMetrics metrics = QueryMetrics.installed();
+            long start = metrics == QueryMetrics.NOOP ? 0 : System.nanoTime();
+            List<SqlNode> renderNodes = renderedNodes();
+            query.reset();
+            parameters.clear();
+            SqlRenderer.render(renderNodes, dialect, query, parameters);
+            rendered = true;
+            if (metrics != QueryMetrics.NOOP) {
+                SqlRenderer.recordRender(metrics, "SelectBuilder", renderNodes, System.nanoTime() - start, query,
+                        parameters);
+            }
+            event.complete("SelectBuilder", query, parameters.size());
+        }
+    }
+
     private SelectBuilder addCondition(String operator, String column, Object condition, String conditionOperator) {
         if (!hasText(column) || !hasValue(condition)) {
             return this;
         }
-        addConditionPrefix(conditionOperator);
-        query.append(column).append(" ").append(operator).append(" ?");
-        parameters.add(condition);
-        return this;
+        return addNode(new SqlNode.Comparison(connector(conditionOperator), column, operator, condition));
     }
 
     private SelectBuilder addBetween(String column, Object start, Object end) {
         if (!hasText(column) || !hasValue(start) || !hasValue(end)) {
             return this;
         }
-        addConditionPrefix("WHERE");
-        query.append(column).append(" BETWEEN ? AND ?");
-        parameters.add(start);
-        parameters.add(end);
-        return this;
+        return addNode(new SqlNode.Between(connector("WHERE"), column, start, end));
     }
 
     private SelectBuilder addIsNull(String column, String nullOrNotNull, String conditionOperator) {
         if (!hasText(column)) {
             return this;
         }
-        addConditionPrefix(conditionOperator);
-        query.append(column).append(" ").append(nullOrNotNull);
-        return this;
+        return addNode(new SqlNode.NullCheck(connector(conditionOperator), column, "IS NOT NULL".equals(nullOrNotNull)));
     }
 
     private SelectBuilder addInCondition(String column, List<Object> values) {
-        if (!hasText(column) || values == null || values.isEmpty()) {
-            return this;
-        }
-        addConditionPrefix("WHERE");
-        query.append(column).append(" IN (")
-                .append(values.stream()
-                        .map(value -> {
-                            parameters.add(value);
-                            return "?";
-                        })
-                        .collect(Collectors.joining(", ")))
-                .append(")");
-        return this;
+        return addInList(column, values, false);
     }
 
     private SelectBuilder addNotInCondition(String column, List<Object> values) {
+        return addInList(column, values, true);
+    }
+
+    private SelectBuilder addInList(String column, List<Object> values, boolean negated) {
         if (!hasText(column) || values == null || values.isEmpty()) {
             return this;
         }
-        addConditionPrefix("WHERE");
-        query.append(column).append(" NOT IN (")
-                .append(values.stream()
-                        .map(value -> {
-                            parameters.add(value);
-                            return "?";
-                        })
-                        .collect(Collectors.joining(", ")))
-                .append(")");
-        return this;
+        int size = values.size();
+        int padded = arrayInLists || inListPadding == null ? size : inListPadding.paddedSize(size);
+        return addNode(new SqlNode.InList(connector("WHERE"), column, values.toArray(), negated, padded, arrayInLists));
     }
 
-    private void addConditionPrefix(String conditionOperator) {
-        query.append(" ").append(conditionOperator).append(" ");
+    private SqlNode.Connector connector(String conditionOperator) {
+        if ("WHERE".equals(conditionOperator)) {
+            whereSpecified = true;
+        } else if ("OR".equals(conditionOperator)) {
+            orSpecified = true;
+        }
+        return SqlNode.Connector.valueOf(conditionOperator);
     }
 
     private boolean hasText(@Nullable CharSequence str) {
@@ -0,0 +1,139 @@
+package org.builder.crudbuilder;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * A list of values bound as one SQL array parameter, e.g. for {@code id = ANY(?)}.
+ *
+ * <p>Builders have no connection, so they cannot create a {@link java.sql.Array} themselves.
+ * This value carries the elements and the SQL element type name, and
+ * {@code ParameterBinder} turns it into a driver array with {@code Connection.createArrayOf}.
+ * Code binding parameters by other means has to do the same.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public final class SqlArray {
+
+    private final String elementType;
+    private final Object[] elements;
+
+    private SqlArray(String elementType, Object[] elements) {
+        this.elementType = elementType;
+        this.elements = elements;
+    }
+
+    /**
+     * Creates an array whose element type is derived from the first non-null value,
+     * e.g. {@code bigint} for longs, {@code varchar} for strings and {@code timestamptz} for instants.
+     * Use {@link #of(String, Collection)} for any other element type.
+     *
+     * @throws IllegalArgumentException If values is null, has no non-null value or its first
+     *                                  non-null value has no known SQL type.
+     */
+    public static SqlArray of(Collection<?> values) {
+        if (values == null) {
+            throw new IllegalArgumentException("Array values cannot be null");
+        }
+        Object[] elements = values.toArray();
+        return new SqlArray(elementTypeOf(elements), elements);
+    }
+
+    /**
+     * @param elementType The SQL type name passed to {@code Connection.createArrayOf}, e.g. {@code uuid}.
+     * @throws IllegalArgumentException If the type or values are null.
+     */
+    public static SqlArray of(String elementType, Collection<?> values) {
+        if (elementType == null || elementType.isBlank()) {
+            throw new IllegalArgumentException("Array element type cannot be null or empty");
+        }
+        if (values == null) {
+            throw new IllegalArgumentException("Array values cannot be null");
+        }
+        return new SqlArray(elementType, values.toArray());
+    }
+
+    public String getElementType() {
+        return elementType;
+    }
+
+    /**
+     * @return A copy of the elements.
+     */
+    public Object[] getElements() {
+        return elements.clone();
+    }
+
+    public int length() {
+        return elements.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SqlArray)) {
+            return false;
+        }
+        SqlArray other = (SqlArray) o;
+        return elementType.equals(other.elementType) && Arrays.equals(elements, other.elements);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * elementType.hashCode() + Arrays.hashCode(elements);
+    }
+
+    @Override
+    public String toString() {
+        return elementType + Arrays.toString(elements);
+    }
+
+    private static String elementTypeOf(Object[] elements) {
+        for (Object element : elements) {
+            if (element == null) {
+                continue;
+            }
+            if (element instanceof Long) {
+                return "bigint";
+            } else if (element instanceof Integer) {
+                return "integer";
+            } else if (element instanceof Short) {
+                return "smallint";
+            } else if (element instanceof Double) {
+                return "float8";
+            } else if (element instanceof Float) {
+                return "float4";
+            } else if (element instanceof BigDecimal) {
+                return "numeric";
+            } else if (element instanceof Boolean) {
+                return "boolean";
+            } else if (element instanceof String) {
+                return "varchar";
+            } else if (element instanceof UUID) {
+                return "uuid";
+            } else if (element instanceof LocalDate || element instanceof java.sql.Date) {
+                return "date";
+            } else if (element instanceof LocalTime || element instanceof java.sql.Time) {
+                return "time";
+            } else if (element instanceof LocalDateTime || element instanceof Timestamp) {
+                return "timestamp";
+            } else if (element instanceof Instant || element instanceof OffsetDateTime) {
+                return "timestamptz";
+            }
+            throw new IllegalArgumentException("No SQL array type is known for " + element.getClass().getName()
+                    + ", use SqlArray.of(elementType, values)");
+        }
+        throw new IllegalArgumentException("The element type of an array without non-null values is unknown, "
+                + "use SqlArray.of(elementType, values)");
+    }
+}
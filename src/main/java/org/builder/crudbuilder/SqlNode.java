@@ -0,0 +1,327 @@
+package org.builder.crudbuilder;
+
+import java.util.List;
+
+/**
+ * One element of the intermediate representation the builders produce.
+ *
+ * <p>Every fluent call adds a node holding the call's table, columns, operator and values; nothing
+ * is rendered until {@code getQuery()} or {@code getParameters()} is called. The nodes can be read
+ * through the builders' {@code getNodes()}, and {@code renderFor(Dialect)} renders the same nodes
+ * for another database. Nodes are immutable; lists passed to the builder are kept, not copied,
+ * except for values, which are captured when the node is created.</p>
+ *
+ * <p>The nodes keep the order of the calls, so a chain renders exactly as it is written.
+ * {@link #kind()} identifies the node type without {@code instanceof} checks.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public sealed interface SqlNode {
+
+    Kind kind();
+
+    enum Kind {
+        SELECT_LIST, FROM, JOIN, INSERT_INTO, VALUES, UPDATE_TABLE, SET_VALUES, CASE_START, WHEN, THEN,
+        THEN_COLUMN, CASE_ELSE, CASE_ELSE_COLUMN, CASE_BY_KEY, BULK_UPDATE, DELETE_FROM, COMPARISON, IN_LIST,
+        NULL_CHECK, BETWEEN, RAW_CONDITION, KEYSET_SEEK, OPERAND, ORDER_BY, LIMIT, RETURNING, ON_CONFLICT,
+        UPSERT_SET, DO_NOTHING
+    }
+
+    /**
+     * How a predicate is attached to the previous one.
+     */
+    enum Connector {
+        WHERE, AND, OR
+    }
+
+    /**
+     * A predicate of a WHERE clause.
+     */
+    sealed interface Predicate extends SqlNode {
+        Connector connector();
+
+        String column();
+    }
+
+    /**
+     * {@code SELECT columns}, rendered through {@link Dialect#selectList}; a single {@code *} is rendered as is.
+     */
+    record SelectList(List<String> columns) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.SELECT_LIST;
+        }
+    }
+
+    record From(String table) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.FROM;
+        }
+    }
+
+    /**
+     * A join, e.g. {@code LEFT JOIN}. The ON columns are null until a condition is given.
+     */
+    record Join(String type, String table, String leftColumn, String rightColumn) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.JOIN;
+        }
+
+        public boolean hasCondition() {
+            return leftColumn != null;
+        }
+    }
+
+    /**
+     * {@code INSERT INTO table (columns)}; an empty list omits the column list.
+     */
+    record InsertInto(String table, List<String> columns) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.INSERT_INTO;
+        }
+    }
+
+    /**
+     * {@code VALUES (?, ?), (?, ?)} with the values of all rows one after another.
+     */
+    record Values(Object[] values, int columnCount) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.VALUES;
+        }
+
+        public int rowCount() {
+            return values.length / columnCount;
+        }
+    }
+
+    record UpdateTable(String table) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.UPDATE_TABLE;
+        }
+    }
+
+    record Assignment(String column, Object value) {
+    }
+
+    /**
+     * {@code SET a = ?, b = ?}.
+     */
+    record SetValues(List<Assignment> assignments) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.SET_VALUES;
+        }
+    }
+
+    /**
+     * {@code SET column = CASE}, followed by WHEN / THEN nodes and a closing ELSE.
+     */
+    record CaseStart(String column) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.CASE_START;
+        }
+    }
+
+    record When(String condition) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.WHEN;
+        }
+    }
+
+    record Then(Object value) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.THEN;
+        }
+    }
+
+    record ThenColumn(String column) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.THEN_COLUMN;
+        }
+    }
+
+    record CaseElse(Object value) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.CASE_ELSE;
+        }
+    }
+
+    record CaseElseColumn(String column) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.CASE_ELSE_COLUMN;
+        }
+    }
+
+    /**
+     * {@code SET column = CASE keyColumn WHEN ? THEN ? ... ELSE column END}; keys and values pair up by index.
+     */
+    record CaseByKey(String column, String keyColumn, Object[] keys, Object[] values) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.CASE_BY_KEY;
+        }
+    }
+
+    /**
+     * A whole UPDATE joined to a VALUES list on the key column, rendered in the dialect's form.
+     */
+    record BulkUpdate(String table, String keyColumn, List<String> columns, Object[] values) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.BULK_UPDATE;
+        }
+
+        public int rowCount() {
+            return values.length / columns.size();
+        }
+    }
+
+    record DeleteFrom(String table) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.DELETE_FROM;
+        }
+    }
+
+    /**
+     * {@code column operator ?}, e.g. {@code age >= ?} or {@code name LIKE ?}.
+     */
+    record Comparison(Connector connector, String column, String operator, Object value) implements Predicate {
+        @Override
+        public Kind kind() {
+            return Kind.COMPARISON;
+        }
+    }
+
+    /**
+     * {@code column [NOT] IN (...)}. {@code placeholders} is the padded placeholder count; with
+     * {@code asArray} the list is bound as one array instead.
+     */
+    record InList(Connector connector, String column, Object[] values, boolean negated, int placeholders,
+                  boolean asArray) implements Predicate {
+        @Override
+        public Kind kind() {
+            return Kind.IN_LIST;
+        }
+    }
+
+    record NullCheck(Connector connector, String column, boolean negated) implements Predicate {
+        @Override
+        public Kind kind() {
+            return Kind.NULL_CHECK;
+        }
+    }
+
+    record Between(Connector connector, String column, Object start, Object end) implements Predicate {
+        @Override
+        public Kind kind() {
+            return Kind.BETWEEN;
+        }
+    }
+
+    /**
+     * A condition given as SQL text, e.g. by {@code where("age > 3")}. Its column is the text itself.
+     */
+    record RawCondition(Connector connector, String column) implements Predicate {
+        @Override
+        public Kind kind() {
+            return Kind.RAW_CONDITION;
+        }
+    }
+
+    /**
+     * The keyset pagination predicate {@code (a, b) > (?, ?)}.
+     */
+    record KeysetSeek(Connector connector, List<String> columns, Object[] values, boolean descending) implements Predicate {
+        @Override
+        public Kind kind() {
+            return Kind.KEYSET_SEEK;
+        }
+
+        @Override
+        public String column() {
+            return columns.get(0);
+        }
+    }
+
+    /**
+     * An operator and bound value following the previous node, e.g. {@code = ?} after {@code when("id")}.
+     */
+    record Operand(String operator, Object value) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.OPERAND;
+        }
+    }
+
+    record OrderBy(List<String> columns, OrderType orderType) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.ORDER_BY;
+        }
+    }
+
+    record Limit(int limit) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.LIMIT;
+        }
+    }
+
+    record Returning(List<String> columns) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.RETURNING;
+        }
+    }
+
+    /**
+     * The unique columns of an upsert whose conflict turns the insert into an update.
+     */
+    record OnConflict(List<String> columns) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.ON_CONFLICT;
+        }
+    }
+
+    /**
+     * An assignment to the existing row of an upsert; {@code value} is only bound for {@link Source#VALUE}.
+     */
+    record UpsertSet(String column, Source source, Object value) implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.UPSERT_SET;
+        }
+
+        public enum Source {
+            /** The value that was to be inserted. */
+            INSERTED,
+            /** The bound value. */
+            VALUE,
+            /** The existing value plus the inserted one. */
+            ADD_INSERTED
+        }
+    }
+
+    /**
+     * Leaves the existing rows of an upsert untouched.
+     */
+    record DoNothing() implements SqlNode {
+        @Override
+        public Kind kind() {
+            return Kind.DO_NOTHING;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package org.builder.crudbuilder;
+
+/**
+ * Something that can be executed: a SQL string with {@code ?} placeholders and its parameters.
+ *
+ * <p>Implemented by every builder and by the statements produced by the chunked methods,
+ * so the execution helpers in {@code org.builder.crudbuilder.jdbc} accept all of them.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public interface SqlQuery {
+
+    String getQuery();
+
+    ParameterBuffer getParameters();
+}
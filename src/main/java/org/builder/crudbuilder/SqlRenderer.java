@@ -0,0 +1,418 @@
+package org.builder.crudbuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Turns the {@link SqlNode}s of a builder into SQL text and bind parameters for a dialect.
+ *
+ * <p>Rendering appends to a {@link QueryText}, so a builder with a {@link QueryShapeCache}
+ * records fragments instead of concatenating them, and parameters are appended in placeholder
+ * order. Nothing here allocates per node beyond what the SQL text itself needs.</p>
+ *
+ * <p>With an executor, the row tuples of large VALUES lists are rendered in segments on that
+ * executor and stitched together in order; the text is identical to the serial rendering.</p>
+ */
+final class SqlRenderer {
+
+    private SqlRenderer() {
+    }
+
+    static void render(List<SqlNode> nodes, Dialect dialect, QueryText query, ParameterBuffer parameters) {
+        render(nodes, dialect, query, parameters, null);
+    }
+
+    /**
+     * @param executor The executor rendering large row lists in parallel, or {@code null} to render serially.
+     */
+    static void render(List<SqlNode> nodes, Dialect dialect, QueryText query, ParameterBuffer parameters,
+                       Executor executor) {
+        int size = nodes.size();
+        for (int i = 0; i < size; i++) {
+            render(nodes.get(i), dialect, query, parameters, executor);
+        }
+    }
+
+    /**
+     * Reports a finished rendering of a builder to the metrics, with the sizes of its IN lists
+     * and multi-row VALUES.
+     */
+    static void recordRender(QueryMetrics metrics, String builder, List<SqlNode> nodes, long nanos, QueryText query,
+                             ParameterBuffer parameters) {
+        metrics.rendered(builder, nanos, query.length(), parameters.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            SqlNode node = nodes.get(i);
+            if (node instanceof SqlNode.InList inList) {
+                metrics.inListRendered(inList.values().length);
+            } else if (node instanceof SqlNode.Values values) {
+                metrics.multiInsertRendered(values.rowCount());
+            }
+        }
+    }
+
+    /**
+     * Renders the nodes into a fresh buffer, e.g. for a dialect other than the builder's.
+     */
+    static BuiltQuery renderFor(String builder, List<SqlNode> nodes, Dialect dialect) {
+        return renderFor(builder, nodes, dialect, null);
+    }
+
+    static BuiltQuery renderFor(String builder, List<SqlNode> nodes, Dialect dialect, Executor executor) {
+        if (dialect == null) {
+            throw new IllegalArgumentException("Dialect cannot be null");
+        }
+        QueryText query = new QueryText();
+        ParameterBuffer parameters = new ParameterBuffer();
+        render(nodes, dialect, query, parameters, executor);
+        return BuiltQuery.of(query.toString(), parameters, builder);
+    }
+
+    private static void render(SqlNode node, Dialect dialect, QueryText query, ParameterBuffer parameters,
+                               Executor executor) {
+        switch (node.kind()) {
+            case SELECT_LIST -> {
+                List<String> columns = ((SqlNode.SelectList) node).columns();
+                if (columns.size() == 1 && "*".equals(columns.get(0))) {
+                    query.append("SELECT *");
+                } else {
+                    query.append("SELECT ").append(dialect.selectList(String.join(", ", columns)));
+                }
+            }
+            case FROM -> query.append(" FROM ").append(((SqlNode.From) node).table());
+            case JOIN -> {
+                SqlNode.Join join = (SqlNode.Join) node;
+                query.append(" ").append(join.type()).append(" ").append(join.table());
+                if (join.hasCondition()) {
+                    query.append(" ON ").append(join.leftColumn()).append(" = ").append(join.rightColumn());
+                }
+            }
+            case INSERT_INTO -> {
+                SqlNode.InsertInto insert = (SqlNode.InsertInto) node;
+                query.append("INSERT INTO ").append(insert.table());
+                if (!insert.columns().isEmpty()) {
+                    query.append(" (").append(String.join(", ", insert.columns())).append(")");
+                }
+            }
+            case VALUES -> {
+                SqlNode.Values values = (SqlNode.Values) node;
+                query.append(" VALUES ");
+                appendRows(values.values(), values.columnCount(), "(", query, parameters, executor);
+            }
+            case UPDATE_TABLE -> query.append("UPDATE ").append(((SqlNode.UpdateTable) node).table());
+            case SET_VALUES -> {
+                query.append(" SET ");
+                String separator = "";
+                for (SqlNode.Assignment assignment : ((SqlNode.SetValues) node).assignments()) {
+                    query.append(separator).append(assignment.column()).append(" = ?");
+                    parameters.add(assignment.value());
+                    separator = ", ";
+                }
+            }
+            case CASE_START -> query.append(" SET ").append(((SqlNode.CaseStart) node).column()).append(" = CASE");
+            case WHEN -> query.append(" WHEN ").append(((SqlNode.When) node).condition());
+            case THEN -> {
+                query.append(" THEN ?");
+                parameters.add(((SqlNode.Then) node).value());
+            }
+            case THEN_COLUMN -> query.append(" THEN ").append(((SqlNode.ThenColumn) node).column());
+            case CASE_ELSE -> {
+                query.append(" ELSE ? END");
+                parameters.add(((SqlNode.CaseElse) node).value());
+            }
+            case CASE_ELSE_COLUMN -> query.append(" ELSE ").append(((SqlNode.CaseElseColumn) node).column()).append(" END");
+            case CASE_BY_KEY -> {
+                SqlNode.CaseByKey caseByKey = (SqlNode.CaseByKey) node;
+                Object[] keys = caseByKey.keys();
+                Object[] values = caseByKey.values();
+                parameters.ensureCapacity(parameters.size() + keys.length * 2);
+                query.append(" SET ").append(caseByKey.column()).append(" = CASE ").append(caseByKey.keyColumn());
+                for (int i = 0; i < keys.length; i++) {
+                    query.append(" WHEN ? THEN ?");
+                    parameters.add(keys[i]);
+                    parameters.add(values[i]);
+                }
+                query.append(" ELSE ").append(caseByKey.column()).append(" END");
+            }
+            case BULK_UPDATE -> {
+                SqlNode.BulkUpdate update = (SqlNode.BulkUpdate) node;
+                String[] parts = bulkUpdateParts(dialect, update.table(), update.keyColumn(), update.columns());
+                query.append(parts[0]);
+                appendRows(update.values(), update.columns().size(), parts[1], query, parameters, executor);
+                query.append(parts[2]);
+            }
+            case DELETE_FROM -> query.append("DELETE FROM ").append(((SqlNode.DeleteFrom) node).table());
+            case COMPARISON -> {
+                SqlNode.Comparison comparison = (SqlNode.Comparison) node;
+                appendConnector(comparison.connector(), query);
+                query.append(comparison.column()).append(" ").append(comparison.operator()).append(" ?");
+                parameters.add(comparison.value());
+            }
+            case IN_LIST -> renderInList((SqlNode.InList) node, dialect, query, parameters);
+            case NULL_CHECK -> {
+                SqlNode.NullCheck check = (SqlNode.NullCheck) node;
+                appendConnector(check.connector(), query);
+                query.append(check.column()).append(check.negated() ? " IS NOT NULL" : " IS NULL");
+            }
+            case BETWEEN -> {
+                SqlNode.Between between = (SqlNode.Between) node;
+                appendConnector(between.connector(), query);
+                query.append(between.column()).append(" BETWEEN ? AND ?");
+                parameters.add(between.start());
+                parameters.add(between.end());
+            }
+            case RAW_CONDITION -> {
+                SqlNode.RawCondition condition = (SqlNode.RawCondition) node;
+                appendConnector(condition.connector(), query);
+                query.append(condition.column());
+            }
+            case KEYSET_SEEK -> renderKeysetSeek((SqlNode.KeysetSeek) node, dialect, query, parameters);
+            case OPERAND -> {
+                SqlNode.Operand operand = (SqlNode.Operand) node;
+                query.append(" ").append(operand.operator()).append(" ?");
+                parameters.add(operand.value());
+            }
+            case ORDER_BY -> {
+                SqlNode.OrderBy orderBy = (SqlNode.OrderBy) node;
+                query.append(" ORDER BY ");
+                List<String> columns = orderBy.columns();
+                for (int i = 0; i < columns.size(); i++) {
+                    query.append(i == 0 ? "" : ", ").append(columns.get(i)).append(" ").append(orderBy.orderType());
+                }
+            }
+            case LIMIT -> query.append(dialect.limitClause(((SqlNode.Limit) node).limit()));
+            case RETURNING -> {
+                if (!dialect.supportsReturning()) {
+                    throw new IllegalStateException("Dialect " + dialect.name() + " does not support RETURNING");
+                }
+                query.append(" RETURNING ").append(String.join(", ", ((SqlNode.Returning) node).columns()));
+            }
+        }
+    }
+
+    /**
+     * Renders the nodes of an {@link UpsertBuilder} in the dialect's {@link Dialect.UpsertStyle}.
+     *
+     * <p>The INSERT_INTO and VALUES nodes render exactly as for {@link InsertBuilder}, followed by
+     * the conflict clause; under MERGE the same rows become the source of the merge. Without
+     * UPSERT_SET or DO_NOTHING nodes, every column outside the conflict target is overwritten with
+     * its inserted value. MySQL refers to the inserted row through the {@code AS new} row alias of
+     * 8.0.19 and later, like the {@code VALUES ROW(..)} of {@link #bulkUpdateParts}.</p>
+     *
+     * @throws IllegalStateException If the rows or the conflict columns are missing.
+     */
+    static void renderUpsert(List<SqlNode> nodes, Dialect dialect, QueryText query, ParameterBuffer parameters,
+                             Executor executor) {
+        SqlNode.InsertInto insert = null;
+        SqlNode.Values values = null;
+        List<String> conflictColumns = null;
+        List<SqlNode.UpsertSet> updates = new ArrayList<>();
+        boolean doNothing = false;
+        for (int i = 0; i < nodes.size(); i++) {
+            SqlNode node = nodes.get(i);
+            switch (node.kind()) {
+                case INSERT_INTO -> insert = (SqlNode.InsertInto) node;
+                case VALUES -> values = (SqlNode.Values) node;
+                case ON_CONFLICT -> conflictColumns = ((SqlNode.OnConflict) node).columns();
+                case UPSERT_SET -> updates.add((SqlNode.UpsertSet) node);
+                case DO_NOTHING -> doNothing = true;
+                default -> throw new IllegalStateException(node.kind() + " is not part of an upsert");
+            }
+        }
+        if (insert == null || values == null) {
+            throw new IllegalStateException("Rows must be set before the conflict handling");
+        }
+        if (conflictColumns == null) {
+            throw new IllegalStateException("Conflict columns must be set with onConflict()");
+        }
+        if (updates.isEmpty() && !doNothing) {
+            for (String column : insert.columns()) {
+                if (!conflictColumns.contains(column)) {
+                    updates.add(new SqlNode.UpsertSet(column, SqlNode.UpsertSet.Source.INSERTED, null));
+                }
+            }
+        }
+        String table = insert.table();
+        switch (dialect.upsertStyle()) {
+            case ON_CONFLICT -> {
+                render(insert, dialect, query, parameters, executor);
+                render(values, dialect, query, parameters, executor);
+                query.append(" ON CONFLICT (").append(String.join(", ", conflictColumns)).append(")");
+                if (updates.isEmpty()) {
+                    query.append(" DO NOTHING");
+                } else {
+                    query.append(" DO UPDATE SET ");
+                    appendUpsertSets(updates, "EXCLUDED.", table + ".", query, parameters);
+                }
+            }
+            case ON_DUPLICATE_KEY -> {
+                render(insert, dialect, query, parameters, executor);
+                render(values, dialect, query, parameters, executor);
+                query.append(" AS new ON DUPLICATE KEY UPDATE ");
+                if (updates.isEmpty()) {
+                    String key = conflictColumns.get(0);
+                    query.append(key).append(" = ").append(key);
+                } else {
+                    appendUpsertSets(updates, "new.", "", query, parameters);
+                }
+            }
+            case MERGE -> {
+                query.append("MERGE INTO ").append(table).append(" AS tgt USING (VALUES ");
+                appendRows(values.values(), values.columnCount(), "(", query, parameters, executor);
+                query.append(") AS src (").append(String.join(", ", insert.columns())).append(") ON ");
+                for (int i = 0; i < conflictColumns.size(); i++) {
+                    String key = conflictColumns.get(i);
+                    query.append(i == 0 ? "" : " AND ").append("tgt.").append(key).append(" = src.").append(key);
+                }
+                if (!updates.isEmpty()) {
+                    query.append(" WHEN MATCHED THEN UPDATE SET ");
+                    appendUpsertSets(updates, "src.", "tgt.", query, parameters);
+                }
+                query.append(" WHEN NOT MATCHED THEN INSERT (").append(String.join(", ", insert.columns()))
+                        .append(") VALUES (");
+                for (int i = 0; i < insert.columns().size(); i++) {
+                    query.append(i == 0 ? "src." : ", src.").append(insert.columns().get(i));
+                }
+                query.append(");");
+            }
+        }
+    }
+
+    private static void appendUpsertSets(List<SqlNode.UpsertSet> updates, String inserted, String existing,
+                                         QueryText query, ParameterBuffer parameters) {
+        for (int i = 0; i < updates.size(); i++) {
+            SqlNode.UpsertSet update = updates.get(i);
+            String column = update.column();
+            query.append(i == 0 ? "" : ", ").append(column).append(" = ");
+            switch (update.source()) {
+                case INSERTED -> query.append(inserted).append(column);
+                case VALUE -> {
+                    query.append("?");
+                    parameters.add(update.value());
+                }
+                case ADD_INSERTED -> query.append(existing).append(column).append(" + ").append(inserted).append(column);
+            }
+        }
+    }
+
+    /**
+     * Renders what goes before the row tuples of a bulk update, what opens each tuple and what
+     * follows the last one.
+     */
+    static String[] bulkUpdateParts(Dialect dialect, String table, String keyColumn, List<String> columns) {
+        String source = " AS src (" + String.join(", ", columns) + ")";
+        StringBuilder assignments = new StringBuilder();
+        String separator = "";
+        for (String column : columns) {
+            if (column.equals(keyColumn)) {
+                continue;
+            }
+            if (dialect.upsertStyle() == Dialect.UpsertStyle.ON_DUPLICATE_KEY) {
+                assignments.append(separator).append(table).append(".");
+            } else {
+                assignments.append(separator);
+            }
+            assignments.append(column).append(" = src.").append(column);
+            separator = ", ";
+        }
+        return switch (dialect.upsertStyle()) {
+            case ON_CONFLICT -> new String[]{"UPDATE " + table + " SET " + assignments + " FROM (VALUES ", "(",
+                    ")" + source + " WHERE " + table + "." + keyColumn + " = src." + keyColumn};
+            case ON_DUPLICATE_KEY -> new String[]{"UPDATE " + table + " JOIN (VALUES ", "ROW(",
+                    ")" + source + " ON " + table + "." + keyColumn + " = src." + keyColumn + " SET " + assignments};
+            case MERGE -> new String[]{"MERGE INTO " + table + " AS tgt USING (VALUES ", "(",
+                    ")" + source + " ON tgt." + keyColumn + " = src." + keyColumn
+                            + " WHEN MATCHED THEN UPDATE SET " + assignments + ";"};
+        };
+    }
+
+    private static void appendConnector(SqlNode.Connector connector, QueryText query) {
+        query.append(" ").append(connector.name()).append(" ");
+    }
+
+    private static void appendRows(Object[] values, int columnCount, String rowOpen, QueryText query,
+                                   ParameterBuffer parameters, Executor executor) {
+        String row = rowOpen + Placeholders.of(columnCount) + ")";
+        int rows = values.length / columnCount;
+        if (executor == null) {
+            for (int i = 0; i < rows; i++) {
+                query.append(i == 0 ? "" : ", ").append(row);
+            }
+        } else {
+            List<String> segments = ParallelSegments.run(rows, executor, (from, to) -> {
+                StringBuilder text = new StringBuilder((to - from) * (row.length() + 2));
+                for (int i = from; i < to; i++) {
+                    text.append(i == 0 ? "" : ", ").append(row);
+                }
+                return text.toString();
+            });
+            for (String segment : segments) {
+                query.append(segment);
+            }
+        }
+        parameters.addAll(values);
+    }
+
+    private static void renderInList(SqlNode.InList inList, Dialect dialect, QueryText query, ParameterBuffer parameters) {
+        appendConnector(inList.connector(), query);
+        Object[] values = inList.values();
+        if (inList.asArray()) {
+            if (!dialect.supportsArrayParameters()) {
+                throw new IllegalStateException("Dialect " + dialect.name() + " does not support array parameters");
+            }
+            query.append(inList.column()).append(inList.negated() ? " <> ALL(?)" : " = ANY(?)");
+            parameters.add(SqlArray.of(Arrays.asList(values)));
+            return;
+        }
+        int padded = inList.placeholders();
+        query.append(inList.column()).append(inList.negated() ? " NOT IN (" : " IN (")
+                .append(Placeholders.of(padded)).append(")");
+        parameters.ensureCapacity(parameters.size() + padded);
+        for (Object value : values) {
+            parameters.add(value);
+        }
+        Object last = values[values.length - 1];
+        for (int i = values.length; i < padded; i++) {
+            parameters.add(last);
+        }
+    }
+
+    /**
+     * Renders {@code (a, b) > (?, ?)}, or {@code (a > ? OR (a = ? AND b > ?))} for databases
+     * without row value comparison.
+     */
+    private static void renderKeysetSeek(SqlNode.KeysetSeek seek, Dialect dialect, QueryText query, ParameterBuffer parameters) {
+        appendConnector(seek.connector(), query);
+        List<String> columns = seek.columns();
+        Object[] values = seek.values();
+        String operator = seek.descending() ? " < " : " > ";
+        if (columns.size() == 1) {
+            query.append(columns.get(0)).append(operator).append("?");
+            parameters.add(values[0]);
+        } else if (dialect.supportsRowValueComparison()) {
+            query.append("(").append(String.join(", ", columns)).append(")").append(operator)
+                    .append("(").append(Placeholders.of(columns.size())).append(")");
+            for (Object value : values) {
+                parameters.add(value);
+            }
+        } else {
+            query.append("(");
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    query.append(" OR (");
+                }
+                for (int j = 0; j < i; j++) {
+                    query.append(columns.get(j)).append(" = ? AND ");
+                    parameters.add(values[j]);
+                }
+                query.append(columns.get(i)).append(operator).append("?");
+                parameters.add(values[i]);
+                if (i > 0) {
+                    query.append(")");
+                }
+            }
+            query.append(")");
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.builder.crudbuilder;
+
+import java.util.Locale;
+
+/**
+ * The built-in dialects.
+ *
+ * <p>{@link #GENERIC} is what builders use when no dialect is given. It keeps the historical
+ * output of this library, including the parentheses around the select list, and should be
+ * replaced by the dialect of the actual database.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public enum StandardDialect implements Dialect {
+
+    GENERIC {
+        @Override
+        public String selectList(String columns) {
+            return "(" + columns + ")";
+        }
+    },
+
+    POSTGRES {
+        @Override
+        public boolean supportsReturning() {
+            return true;
+        }
+
+        @Override
+        public boolean supportsArrayParameters() {
+            return true;
+        }
+
+        @Override
+        public boolean cursorRequiresTransaction() {
+            return true;
+        }
+    },
+
+    /**
+     * MySQL: Connector/J streams a result row by row only with a fetch size of
+     * {@link Integer#MIN_VALUE}; any other value reads the whole result into memory.
+     */
+    MYSQL {
+        @Override
+        public String quoteIdentifier(String identifier) {
+            return Dialect.quoteParts(identifier, "`", "`");
+        }
+
+        @Override
+        public String limitedDelete(String table, String condition, String keyColumn, int limit) {
+            return "DELETE FROM " + table + condition + " LIMIT " + limit;
+        }
+
+        @Override
+        public int cursorFetchSize(int fetchSize) {
+            return Integer.MIN_VALUE;
+        }
+
+        @Override
+        public UpsertStyle upsertStyle() {
+            return UpsertStyle.ON_DUPLICATE_KEY;
+        }
+    },
+
+    H2 {
+        @Override
+        public boolean supportsArrayParameters() {
+            return true;
+        }
+
+        @Override
+        public UpsertStyle upsertStyle() {
+            return UpsertStyle.MERGE;
+        }
+    },
+
+    /**
+     * SQL Server: {@code [bracket]} quoting, {@code OFFSET 0 ROWS FETCH NEXT n ROWS ONLY}
+     * (which requires an ORDER BY) and no row value comparison.
+     */
+    SQL_SERVER {
+        @Override
+        public String quoteIdentifier(String identifier) {
+            return Dialect.quoteParts(identifier, "[", "]");
+        }
+
+        @Override
+        public String limitClause(int limit) {
+            return " OFFSET 0 ROWS FETCH NEXT " + limit + " ROWS ONLY";
+        }
+
+        @Override
+        public boolean supportsRowValueComparison() {
+            return false;
+        }
+
+        @Override
+        public String limitedDelete(String table, String condition, String keyColumn, int limit) {
+            return "DELETE TOP (" + limit + ") FROM " + table + condition;
+        }
+
+        @Override
+        public UpsertStyle upsertStyle() {
+            return UpsertStyle.MERGE;
+        }
+    };
+
+    /**
+     * Picks the dialect for a JDBC {@code DatabaseMetaData.getDatabaseProductName()}.
+     *
+     * <p>MariaDB gets {@link #GENERIC}: {@link #MYSQL} renders upserts with {@code AS new} and bulk
+     * updates with {@code VALUES ROW(...)}, MySQL 8.0.19 syntax that MariaDB rejects.</p>
+     *
+     * @return The matching dialect, or {@link #GENERIC} for unknown databases.
+     */
+    public static StandardDialect forProductName(String productName) {
+        if (productName == null) {
+            return GENERIC;
+        }
+        String name = productName.toLowerCase(Locale.ROOT);
+        if (name.contains("postgres")) {
+            return POSTGRES;
+        }
+        if (name.contains("mariadb")) {
+            return GENERIC;
+        }
+        if (name.contains("mysql")) {
+            return MYSQL;
+        }
+        if (name.equals("h2")) {
+            return H2;
+        }
+        if (name.contains("sql server")) {
+            return SQL_SERVER;
+        }
+        return GENERIC;
+    }
+}
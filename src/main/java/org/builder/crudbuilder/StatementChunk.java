@@ -0,0 +1,53 @@
+package org.builder.crudbuilder;
+
+/**
+ * One ready-to-execute statement produced by a chunked builder method.
+ *
+ * <p>All chunks holding the maximum number of rows share the same SQL string instance,
+ * so a driver statement cache sees a single shape for them.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public final class StatementChunk implements SqlQuery {
+
+    private final String query;
+    private final ParameterBuffer parameters;
+    private final int rowCount;
+    private final String builder;
+
+    StatementChunk(String query, ParameterBuffer parameters, int rowCount, String builder) {
+        this.query = query;
+        this.parameters = parameters;
+        this.rowCount = rowCount;
+        this.builder = builder;
+    }
+
+    @Override
+    public String getQuery() {
+        return query;
+    }
+
+    @Override
+    public ParameterBuffer getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @return The number of rows carried by this statement.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return The simple class name of the builder whose chunked method produced this statement.
+     */
+    public String getBuilder() {
+        return builder;
+    }
+
+    @Override
+    public String toString() {
+        return "StatementChunk{rows=" + rowCount + ", binds=" + parameters.size() + ", query=" + query + "}";
+    }
+}
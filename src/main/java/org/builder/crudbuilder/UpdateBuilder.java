@@ -2,24 +2,49 @@ package org.builder.crudbuilder;
 
 import jakarta.annotation.Nullable;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-
-public class UpdateBuilder {
-
-    private final StringBuilder query;
-    private final List<Object> parameters;
+import java.util.NoSuchElementException;
+
+public class UpdateBuilder implements SqlQuery {
+
+    private final QueryText query;
+    private final ParameterBuffer parameters;
+    private final Dialect dialect;
+    private final List<SqlNode> nodes = new ArrayList<>();
+    private boolean rendered;
+    private InListPadding inListPadding;
+    private boolean arrayInLists;
+    private boolean simplifyPredicates;
     private boolean isInsideCase;
 
-    private UpdateBuilder() {
-        this.query = new StringBuilder();
-        this.parameters = new LinkedList<>();
+    private UpdateBuilder(QueryText query, Dialect dialect) {
+        if (dialect == null) {
+            throw new IllegalArgumentException("Dialect cannot be null");
+        }
+        this.query = query;
+        this.dialect = dialect;
+        this.parameters = new ParameterBuffer();
     }
 
     public static UpdateBuilder updateQuery() {
-        return new UpdateBuilder();
+        return new UpdateBuilder(new QueryText(), StandardDialect.GENERIC);
+    }
+
+    public static UpdateBuilder updateQuery(QueryShapeCache cache) {
+        return new UpdateBuilder(new QueryText(cache), StandardDialect.GENERIC);
+    }
+
+    public static UpdateBuilder updateQuery(Dialect dialect) {
+        return new UpdateBuilder(new QueryText(), dialect);
+    }
+
+    public static UpdateBuilder updateQuery(Dialect dialect, QueryShapeCache cache) {
+        return new UpdateBuilder(new QueryText(cache), dialect);
     }
 
     /**
@@ -34,8 +59,7 @@ public class UpdateBuilder {
         if (!hasText(table)) {
             throw new IllegalArgumentException("Table can not be null or empty");
         }
-        query.append("UPDATE ").append(table);
-        return this;
+        return addNode(new SqlNode.UpdateTable(table));
     }
 
     public UpdateBuilder join(String table, String onColumn, String equalToColumn) {
@@ -54,104 +78,263 @@ public class UpdateBuilder {
         if (columnAndValues == null || columnAndValues.isEmpty()) {
             throw new IllegalArgumentException("Row data can not be null or empty");
         }
-        String setString = columnAndValues.entrySet().stream()
-                .map(entry -> {
-                    parameters.add(entry.getValue());
-                    return entry.getKey() + " = ?";
-                })
-                .collect(Collectors.joining(", "));
-        query.append(" SET ").append(setString);
-        return this;
+        List<SqlNode.Assignment> assignments = new ArrayList<>(columnAndValues.size());
+        for (Map.Entry<String, Object> entry : columnAndValues.entrySet()) {
+            assignments.add(new SqlNode.Assignment(entry.getKey(), entry.getValue()));
+        }
+        return addNode(new SqlNode.SetValues(assignments));
+    }
+
+    /**
+     * Updates many rows with different values in one statement, joining the table to a VALUES list
+     * on the key column. Renders, depending on the dialect,
+     * {@code UPDATE t SET c = src.c FROM (VALUES (?, ?), ...) AS src (id, c) WHERE t.id = src.id},
+     * a MySQL {@code UPDATE ... JOIN (VALUES ROW(?, ?), ...)} or a {@code MERGE ... WHEN MATCHED}.
+     *
+     * <p>The columns are taken from the first row; every column other than the key is set. On
+     * PostgreSQL, bind typed values (not strings) so the VALUES columns get the column types.</p>
+     *
+     * @param table The name of the table.
+     * @param keyColumn The column identifying the row to update.
+     * @param rows The rows, all with the same columns in the same order, including the key.
+     * @return The current UpdateBuilder instance.
+     * @throws IllegalArgumentException If there are no rows, the key is missing from them or a
+     *                                  row has a different number of columns.
+     */
+    public UpdateBuilder bulkUpdate(String table, String keyColumn, List<Map<String, Object>> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("Row data can not be null or empty");
+        }
+        List<String> columns = bulkUpdateColumns(table, keyColumn, rows.get(0));
+        int columnCount = columns.size();
+        Object[] values = new Object[rows.size() * columnCount];
+        int index = 0;
+        for (Map<String, Object> row : rows) {
+            RowValues rowValues = new RowValues(columns, row);
+            for (int i = 0; i < columnCount; i++) {
+                values[index++] = rowValues.get(i);
+            }
+        }
+        return addNode(new SqlNode.BulkUpdate(table, keyColumn, columns, values));
+    }
+
+    /**
+     * Splits a {@link #bulkUpdate} into statements that stay within the given limit, the same way
+     * {@link InsertBuilder#columnsAndMultiValuesChunked} splits inserts.
+     *
+     * @return An iterator over the statements to execute.
+     * @throws IllegalArgumentException If there are no rows, the key is missing or the limit is null.
+     */
+    public Iterator<StatementChunk> bulkUpdateChunked(String table, String keyColumn,
+                                                      Iterator<Map<String, Object>> rows, ChunkLimit limit) {
+        if (rows == null || !rows.hasNext()) {
+            throw new IllegalArgumentException("Row data can not be null or empty");
+        }
+        Map<String, Object> firstRow = rows.next();
+        List<String> columns = bulkUpdateColumns(table, keyColumn, firstRow);
+        String[] parts = SqlRenderer.bulkUpdateParts(dialect, table, keyColumn, columns);
+        return new InsertChunks("UpdateBuilder", parts[0], parts[1], parts[2], new RowValues(columns, firstRow),
+                RowValues.of(columns, rows), limit);
+    }
+
+    public Iterator<StatementChunk> bulkUpdateChunked(String table, String keyColumn,
+                                                      List<Map<String, Object>> rows, ChunkLimit limit) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("Row data can not be null or empty");
+        }
+        return bulkUpdateChunked(table, keyColumn, rows.iterator(), limit);
     }
 
     public UpdateBuilder setCase(String column) {
         if (column == null || column.trim().isEmpty()) {
             throw new IllegalArgumentException("Column data cannot be null or empty");
         }
-        query.append(" SET ").append(column).append(" = CASE");
         isInsideCase = true;
-        return this;
+        return addNode(new SqlNode.CaseStart(column));
+    }
+
+    /**
+     * Sets a column to a different value per key in one statement, keeping the current value of
+     * every other row: {@code SET col = CASE key WHEN ? THEN ? ... ELSE col END WHERE key IN (...)}.
+     * The IN list follows {@link #padInLists} and {@link #bindInListsAsArray}.
+     *
+     * @param column The column to set.
+     * @param keyColumn The column identifying the rows.
+     * @param valuesByKey The new value of {@code column} for each key.
+     * @return The current UpdateBuilder instance.
+     * @throws IllegalArgumentException If a column is null or empty or the map is empty.
+     */
+    public UpdateBuilder setCaseByKey(String column, String keyColumn, Map<?, ?> valuesByKey) {
+        if (!hasText(column) || !hasText(keyColumn)) {
+            throw new IllegalArgumentException("Column data cannot be null or empty");
+        }
+        if (valuesByKey == null || valuesByKey.isEmpty()) {
+            throw new IllegalArgumentException("Values by key cannot be null or empty");
+        }
+        Object[] keys = new Object[valuesByKey.size()];
+        Object[] values = new Object[keys.length];
+        int index = 0;
+        for (Map.Entry<?, ?> entry : valuesByKey.entrySet()) {
+            keys[index] = entry.getKey();
+            values[index++] = entry.getValue();
+        }
+        addNode(new SqlNode.CaseByKey(column, keyColumn, keys, values));
+        return addInCondition(keyColumn, new ArrayList<>(valuesByKey.keySet()));
+    }
+
+    /**
+     * Splits a {@link #setCaseByKey} over many keys into {@code UPDATE table} statements that stay
+     * within the given limit. Every full chunk has the same SQL string, so a large map becomes a
+     * few executions of one prepared statement. The chunks use this builder's dialect and IN-list
+     * settings; the builder itself is not modified. A padded key list counts against the bind limit.
+     *
+     * @return An iterator over the statements to execute.
+     * @throws IllegalArgumentException If the table or a column is null or empty, the map is empty or the limit is null.
+     */
+    public Iterator<StatementChunk> setCaseByKeyChunked(String table, String column, String keyColumn,
+                                                        Map<?, ?> valuesByKey, ChunkLimit limit) {
+        if (!hasText(table) || !hasText(column) || !hasText(keyColumn)) {
+            throw new IllegalArgumentException("Table and column data cannot be null or empty");
+        }
+        if (valuesByKey == null || valuesByKey.isEmpty()) {
+            throw new IllegalArgumentException("Values by key cannot be null or empty");
+        }
+        if (limit == null) {
+            throw new IllegalArgumentException("Chunk limit cannot be null");
+        }
+        Iterator<? extends Map.Entry<?, ?>> entries = valuesByKey.entrySet().iterator();
+        QueryShapeCache shapes = new QueryShapeCache(4);
+        int maxKeys = maxKeysPerChunk(limit);
+        long baseBytes = 48L + table.length() + 2L * column.length() + 2L * keyColumn.length();
+        return new Iterator<>() {
+            private Map.Entry<?, ?> pending;
+
+            @Override
+            public boolean hasNext() {
+                return pending != null || entries.hasNext();
+            }
+
+            @Override
+            public StatementChunk next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Map<Object, Object> chunk = new LinkedHashMap<>();
+                long bytes = baseBytes;
+                while (chunk.size() < maxKeys && hasNext()) {
+                    Map.Entry<?, ?> entry = pending != null ? pending : entries.next();
+                    pending = null;
+                    long entryBytes = 18 + 2 * ChunkLimit.estimateBytes(entry.getKey())
+                            + ChunkLimit.estimateBytes(entry.getValue());
+                    if (!chunk.isEmpty() && bytes + entryBytes > limit.getMaxBytes()) {
+                        pending = entry;
+                        break;
+                    }
+                    chunk.put(entry.getKey(), entry.getValue());
+                    bytes += entryBytes;
+                }
+                UpdateBuilder builder = new UpdateBuilder(new QueryText(shapes), dialect);
+                builder.inListPadding = inListPadding;
+                builder.arrayInLists = arrayInLists;
+                builder.updateTable(table).setCaseByKey(column, keyColumn, chunk);
+                return new StatementChunk(builder.getQuery(), builder.getParameters(), chunk.size(), "UpdateBuilder");
+            }
+        };
+    }
+
+    /**
+     * Every key binds twice in the CASE and once in the {@code WHERE key IN} list, which padding
+     * may lengthen; the padded list has to fit the bind limit too.
+     */
+    private int maxKeysPerChunk(ChunkLimit limit) {
+        if (arrayInLists || inListPadding == null) {
+            return limit.maxRows(3);
+        }
+        int low = 1;
+        int high = Math.max(1, limit.getMaxBinds() / 2);
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (2L * mid + inListPadding.bucketOf(mid) <= limit.getMaxBinds()) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
     }
 
     public UpdateBuilder when(String column) {
         if (!isInsideCase) {
             throw new IllegalStateException("Cannot call 'when()' outside of a CASE statement.");
         }
-        query.append(" WHEN ").append(column);
-        return this;
+        return addNode(new SqlNode.When(column));
     }
 
     public UpdateBuilder then(Object value) {
         if (!isInsideCase) {
             throw new IllegalStateException("Cannot call 'then()' outside of a CASE statement.");
         }
-        query.append(" THEN ?");
-        parameters.add(value);
-        return this;
+        return addNode(new SqlNode.Then(value));
     }
 
     public UpdateBuilder thenColum(String column) {
         if (!isInsideCase) {
             throw new IllegalStateException("Cannot call 'then()' outside of a CASE statement.");
         }
-        query.append(" THEN ").append(column);
-        return this;
+        return addNode(new SqlNode.ThenColumn(column));
     }
 
     public UpdateBuilder eq(Object values) {
-        query.append(" = ?");
-        parameters.add(values);
-        return this;
+        return addNode(new SqlNode.Operand("=", values));
     }
 
     public UpdateBuilder gt(Object values) {
-        query.append(" > ?");
-        parameters.add(values);
-        return this;
+        return addNode(new SqlNode.Operand(">", values));
     }
 
     public UpdateBuilder gte(Object values) {
-        query.append(" >= ?");
-        parameters.add(values);
-        return this;
+        return addNode(new SqlNode.Operand(">=", values));
     }
     public UpdateBuilder lt(Object values) {
-        query.append(" < ?");
-        parameters.add(values);
-        return this;
+        return addNode(new SqlNode.Operand("<", values));
     }
     public UpdateBuilder lte(Object values) {
-        query.append(" <= ?");
-        parameters.add(values);
-        return this;
+        return addNode(new SqlNode.Operand("<=", values));
     }
 
     public UpdateBuilder multiply(Object values) {
-        query.append(" * ?");
-        parameters.add(values);
-        return this;
+        return addNode(new SqlNode.Operand("*", values));
     }
 
     public UpdateBuilder add(Object values) {
-        query.append(" + ?");
-        parameters.add(values);
-        return this;
+        return addNode(new SqlNode.Operand("+", values));
     }
 
     public UpdateBuilder odd(Object values) {
-        query.append(" - ?");
-        parameters.add(values);
-        return this;
+        return addNode(new SqlNode.Operand("-", values));
     }
 
     public UpdateBuilder endCase(String value) {
         if (!isInsideCase) {
             throw new IllegalStateException("Cannot set default value outside of a CASE statement.");
         }
-        query.append(" ELSE ? END");
-        parameters.add(value);
         isInsideCase = false;
-        return this;
+        return addNode(new SqlNode.CaseElse(value));
+    }
+
+    /**
+     * Ends a CASE statement with {@code ELSE column END}, so rows matching no branch keep the
+     * value of {@code column} instead of a bound default.
+     */
+    public UpdateBuilder endCaseColumn(String column) {
+        if (!isInsideCase) {
+            throw new IllegalStateException("Cannot set default value outside of a CASE statement.");
+        }
+        if (!hasText(column)) {
+            throw new IllegalArgumentException("Column data cannot be null or empty");
+        }
+        isInsideCase = false;
+        return addNode(new SqlNode.CaseElseColumn(column));
     }
 
     public UpdateBuilder whereEq(String column, Object condition) {
@@ -174,6 +357,40 @@ public class UpdateBuilder {
         return addCondition(">=", column, condition, "WHERE");
     }
 
+    public UpdateBuilder padInLists(InListPadding padding) {
+        this.inListPadding = padding;
+        return this;
+    }
+
+    /**
+     * Renders IN and NOT IN as {@code column = ANY(?)} and {@code column <> ALL(?)} with the whole
+     * list bound as one {@link SqlArray}, so every list size shares one statement.
+     *
+     * @return The current UpdateBuilder instance.
+     * @throws IllegalStateException If the dialect does not support array parameters.
+     */
+    public UpdateBuilder bindInListsAsArray() {
+        if (!dialect.supportsArrayParameters()) {
+            throw new IllegalStateException("Dialect " + dialect.name() + " does not support array parameters");
+        }
+        this.arrayInLists = true;
+        return this;
+    }
+
+    /**
+     * Simplifies the WHERE clause before rendering: repeated terms are dropped,
+     * {@code col >= ? AND col <= ?} becomes {@code col BETWEEN ? AND ?} and OR-ed equalities on
+     * one column become one IN list, which follows {@link #padInLists} and {@link #bindInListsAsArray}.
+     * {@link #getNodes()} still returns the nodes as added.
+     *
+     * @return The current UpdateBuilder instance.
+     */
+    public UpdateBuilder simplifyPredicates() {
+        this.simplifyPredicates = true;
+        rendered = false;
+        return this;
+    }
+
     public UpdateBuilder whereIn(String column, List<Object> values) {
         return addInCondition(column, values);
     }
@@ -245,88 +462,173 @@ public class UpdateBuilder {
         return addCondition(">=", column, condition, "AND");
     }
 
+    /**
+     * Appends a RETURNING clause so the statement returns the given columns of the affected rows.
+     *
+     * @param columns The columns to return.
+     * @return The current UpdateBuilder instance.
+     * @throws IllegalStateException If the dialect does not support RETURNING.
+     */
+    public UpdateBuilder returning(List<String> columns) {
+        if (columns == null || columns.isEmpty()) {
+            throw new IllegalArgumentException("Returning columns cannot be null or empty");
+        }
+        if (!dialect.supportsReturning()) {
+            throw new IllegalStateException("Dialect " + dialect.name() + " does not support RETURNING");
+        }
+        return addNode(new SqlNode.Returning(columns));
+    }
+
+    public Dialect getDialect() {
+        return dialect;
+    }
+
+    /**
+     * Clears the builder so it can build the next query, keeping its grown buffers.
+     *
+     * @return The current UpdateBuilder instance, as if newly created.
+     */
+    public UpdateBuilder reset() {
+        query.reset();
+        parameters.reset();
+        nodes.clear();
+        rendered = false;
+        inListPadding = null;
+        arrayInLists = false;
+        simplifyPredicates = false;
+        isInsideCase = false;
+        return this;
+    }
+
+    /**
+     * Takes an immutable snapshot of the query and its parameters, e.g. to use as a cache key.
+     */
+    public BuiltQuery build() {
+        return BuiltQuery.of(getQuery(), parameters, "UpdateBuilder");
+    }
+
+    /**
+     * @return The nodes added so far, in call order.
+     */
+    public List<SqlNode> getNodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Renders the same nodes for another database, leaving this builder untouched.
+     *
+     * @throws IllegalStateException If the query uses a feature the dialect does not support.
+     */
+    public BuiltQuery renderFor(Dialect dialect) {
+        return SqlRenderer.renderFor("UpdateBuilder", renderedNodes(), dialect);
+    }
+
+    @Override
     public String getQuery() {
+        ensureRendered();
         return query.toString();
     }
 
-    public List<Object> getParameters() {
+    @Override
+    public ParameterBuffer getParameters() {
+        ensureRendered();
         return parameters;
     }
 
+    private UpdateBuilder addNode(SqlNode node) {
+        nodes.add(node);
+        rendered = false;
+        return this;
+    }
+
+    private List<SqlNode> renderedNodes() {
+        return simplifyPredicates ? PredicateSimplifier.simplify(nodes, inListPadding, arrayInLists) : nodes;
+    }
+
+    private void ensureRendered() {
+        if (!rendered) {
+            QueryRenderEvent event = QueryRenderEvent.started();
+            QueryMetrics metrics = QueryMetrics.installed();
+            long start = metrics == QueryMetrics.NOOP ? 0 : System.nanoTime();
+            List<SqlNode> renderNodes = renderedNodes();
+            query.reset();
+            parameters.clear();
+            SqlRenderer.render(renderNodes, dialect, query, parameters);
+            rendered = true;
+            if (metrics != QueryMetrics.NOOP) {
+                SqlRenderer.recordRender(metrics, "UpdateBuilder", renderNodes, System.nanoTime() - start, query,
+                        parameters);
+            }
+            event.complete("UpdateBuilder", query, parameters.size());
+        }
+    }
+
+    /**
+     * Checks the arguments of a bulk update and returns its columns, key included.
+     */
+    private List<String> bulkUpdateColumns(String table, String keyColumn, Map<String, Object> firstRow) {
+        if (!hasText(table) || !hasText(keyColumn)) {
+            throw new IllegalArgumentException("Table and key column can not be null or empty");
+        }
+        if (firstRow == null || firstRow.isEmpty()) {
+            throw new IllegalArgumentException("Row data can not be null or empty");
+        }
+        if (!firstRow.containsKey(keyColumn)) {
+            throw new IllegalArgumentException("Key column " + keyColumn + " is missing from the rows");
+        }
+        if (firstRow.size() == 1) {
+            throw new IllegalArgumentException("Rows must have at least one column besides the key");
+        }
+        return RowValues.columnsOf(firstRow);
+    }
 
     private UpdateBuilder addCondition(String operator, String column, Object condition, String conditionOperator) {
         if (!hasText(column) || !hasValue(condition)) {
             return this;
         }
-        addConditionPrefix(conditionOperator);
-        query.append(column).append(" ").append(operator).append(" ?");
-        parameters.add(condition);
-        return this;
+        return addNode(new SqlNode.Comparison(connector(conditionOperator), column, operator, condition));
     }
 
     private UpdateBuilder addJoin(String joinType, String table, String onColumn, String equalToColumn) {
         if (!hasText(table) || !hasText(onColumn) || !hasText(equalToColumn)) {
             throw new IllegalArgumentException("Join parameters cannot be null or empty");
         }
-        query.append(" ").append(joinType).append(" ").append(table)
-                .append(" ON ").append(onColumn).append(" = ").append(equalToColumn);
-        return this;
+        return addNode(new SqlNode.Join(joinType, table, onColumn, equalToColumn));
     }
 
     private UpdateBuilder addInCondition(String column, List<Object> values) {
-        if (!hasText(column) || values == null || values.isEmpty()) {
-            return this;
-        }
-        addConditionPrefix("WHERE");
-        query.append(column).append(" IN (")
-                .append(values.stream()
-                        .map(value -> {
-                            parameters.add(value);
-                            return "?";
-                        })
-                        .collect(Collectors.joining(", ")))
-                .append(")");
-        return this;
+        return addInList(column, values, false);
     }
 
     private UpdateBuilder addNotInCondition(String column, List<Object> values) {
+        return addInList(column, values, true);
+    }
+
+    private UpdateBuilder addInList(String column, List<Object> values, boolean negated) {
         if (!hasText(column) || values == null || values.isEmpty()) {
             return this;
         }
-        addConditionPrefix("WHERE");
-        query.append(column).append(" NOT IN (")
-                .append(values.stream()
-                        .map(value -> {
-                            parameters.add(value);
-                            return "?";
-                        })
-                        .collect(Collectors.joining(", ")))
-                .append(")");
-        return this;
+        int size = values.size();
+        int padded = arrayInLists || inListPadding == null ? size : inListPadding.paddedSize(size);
+        return addNode(new SqlNode.InList(connector("WHERE"), column, values.toArray(), negated, padded, arrayInLists));
     }
 
     private UpdateBuilder addIsNull(String column, String nullOrNotNull, String conditionOperator) {
         if (!hasText(column)) {
             return this;
         }
-        addConditionPrefix(conditionOperator);
-        query.append(column).append(" ").append(nullOrNotNull);
-        return this;
+        return addNode(new SqlNode.NullCheck(connector(conditionOperator), column, "IS NOT NULL".equals(nullOrNotNull)));
     }
 
     private UpdateBuilder addBetween(String column, Object start, Object end) {
         if (!hasText(column) || !hasValue(start) || !hasValue(end)) {
             return this;
         }
-        addConditionPrefix("WHERE");
-        query.append(column).append(" BETWEEN ? AND ?");
-        parameters.add(start);
-        parameters.add(end);
-        return this;
+        return addNode(new SqlNode.Between(connector("WHERE"), column, start, end));
     }
 
-    private void addConditionPrefix(String conditionOperator) {
-        query.append(" ").append(conditionOperator).append(" ");
+    private SqlNode.Connector connector(String conditionOperator) {
+        return SqlNode.Connector.valueOf(conditionOperator);
     }
 
     private boolean hasText(@Nullable CharSequence str) {
@@ -0,0 +1,294 @@
+package org.builder.crudbuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds a single statement that inserts rows and updates those that already exist, replacing
+ * a SELECT followed by an INSERT or UPDATE.
+ *
+ * <p>The rows are given with the same methods as {@link InsertBuilder} and become the same
+ * {@link SqlNode.InsertInto} and {@link SqlNode.Values} nodes, followed by the conflict handling.
+ * The statement is rendered in the dialect's {@link Dialect.UpsertStyle}: {@code ON CONFLICT} for
+ * PostgreSQL, {@code ON DUPLICATE KEY UPDATE} with the {@code AS new} row alias for MySQL 8.0.19
+ * and later, and {@code MERGE} for SQL Server and H2.</p>
+ *
+ * <pre>{@code
+ * UpsertBuilder builder = upsert(StandardDialect.POSTGRES)
+ *         .columnsAndMultiValues("counters", rows)
+ *         .onConflict(List.of("id"))
+ *         .updateFromInserted(List.of("name"))
+ *         .addToExisting("hits");
+ * }</pre>
+ *
+ * <p>Without any update action, every column that is not part of the conflict target is
+ * overwritten with the inserted value. MySQL ignores the conflict target and reacts to any
+ * unique key, but it is still required so the builder renders the same for every dialect.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public class UpsertBuilder implements SqlQuery {
+
+    private final QueryText query;
+    private final ParameterBuffer parameters;
+    private final Dialect dialect;
+    private final List<SqlNode> nodes = new ArrayList<>();
+    private final Set<String> updatedColumns = new HashSet<>();
+    private List<String> columns;
+    private int conflictNode = -1;
+    private boolean doNothing;
+    private boolean rendered;
+
+    private UpsertBuilder(QueryText query, Dialect dialect) {
+        if (dialect == null) {
+            throw new IllegalArgumentException("Dialect cannot be null");
+        }
+        this.query = query;
+        this.dialect = dialect;
+        this.parameters = new ParameterBuffer();
+    }
+
+    public static UpsertBuilder upsert() {
+        return new UpsertBuilder(new QueryText(), StandardDialect.GENERIC);
+    }
+
+    public static UpsertBuilder upsert(QueryShapeCache cache) {
+        return new UpsertBuilder(new QueryText(cache), StandardDialect.GENERIC);
+    }
+
+    public static UpsertBuilder upsert(Dialect dialect) {
+        return new UpsertBuilder(new QueryText(), dialect);
+    }
+
+    public static UpsertBuilder upsert(Dialect dialect, QueryShapeCache cache) {
+        return new UpsertBuilder(new QueryText(cache), dialect);
+    }
+
+    public UpsertBuilder columnsAndValues(String table, Map<String, Object> columnValueMap) {
+        if (columnValueMap == null || columnValueMap.isEmpty()) {
+            throw new IllegalArgumentException("Row data cannot be null or empty");
+        }
+        return columnsAndMultiValues(table, List.of(columnValueMap));
+    }
+
+    /**
+     * Sets the rows to upsert. The column names are taken from the first row.
+     *
+     * @param table The name of the table.
+     * @param rows The rows, all with the same columns; values are read by column name.
+     * @return The current UpsertBuilder instance.
+     * @throws IllegalArgumentException If there are no rows or a row has different columns than the first.
+     * @throws IllegalStateException If the rows were already set.
+     */
+    public UpsertBuilder columnsAndMultiValues(String table, List<Map<String, Object>> rows) {
+        if (table == null || table.isBlank()) {
+            throw new IllegalArgumentException("Table can not be null or empty");
+        }
+        if (rows == null || rows.isEmpty() || rows.get(0) == null || rows.get(0).isEmpty()) {
+            throw new IllegalArgumentException("Row data cannot be null or empty");
+        }
+        if (columns != null) {
+            throw new IllegalStateException("Rows can only be set once per upsert");
+        }
+        List<String> rowColumns = RowValues.columnsOf(rows.get(0));
+        SqlNode.Values values = InsertBuilder.multiValues(rows, row -> new RowValues(rowColumns, row), null);
+        columns = rowColumns;
+        addNode(new SqlNode.InsertInto(table, rowColumns));
+        return addNode(values);
+    }
+
+    /**
+     * Sets the unique columns that identify an existing row, replacing those set before.
+     *
+     * @throws IllegalArgumentException If a column is not one of the inserted columns.
+     * @throws IllegalStateException If the rows were not set yet.
+     */
+    public UpsertBuilder onConflict(List<String> columns) {
+        if (columns == null || columns.isEmpty()) {
+            throw new IllegalArgumentException("Conflict columns cannot be null or empty");
+        }
+        checkRowsSet();
+        for (String column : columns) {
+            if (!this.columns.contains(column)) {
+                throw new IllegalArgumentException("Conflict column " + column + " is not an inserted column");
+            }
+        }
+        SqlNode.OnConflict node = new SqlNode.OnConflict(List.copyOf(columns));
+        if (conflictNode >= 0) {
+            nodes.set(conflictNode, node);
+            rendered = false;
+            return this;
+        }
+        conflictNode = nodes.size();
+        return addNode(node);
+    }
+
+    /**
+     * Overwrites the given columns of an existing row with the values that were to be inserted.
+     */
+    public UpsertBuilder updateFromInserted(List<String> columns) {
+        if (columns == null || columns.isEmpty()) {
+            throw new IllegalArgumentException("Update columns cannot be null or empty");
+        }
+        checkRowsSet();
+        for (String column : columns) {
+            if (!this.columns.contains(column)) {
+                throw new IllegalArgumentException("Column " + column + " is not an inserted column");
+            }
+            addUpdate(column, SqlNode.UpsertSet.Source.INSERTED, null);
+        }
+        return this;
+    }
+
+    /**
+     * Sets a column of an existing row to a fixed value, e.g. an {@code updated_at} timestamp.
+     */
+    public UpsertBuilder updateValue(String column, Object value) {
+        if (column == null || column.isBlank()) {
+            throw new IllegalArgumentException("Column cannot be null or empty");
+        }
+        checkRowsSet();
+        return addUpdate(column, SqlNode.UpsertSet.Source.VALUE, value);
+    }
+
+    /**
+     * Adds the inserted value to the existing value of a numeric column, e.g. for counters.
+     */
+    public UpsertBuilder addToExisting(String column) {
+        if (column == null || column.isBlank()) {
+            throw new IllegalArgumentException("Column cannot be null or empty");
+        }
+        checkRowsSet();
+        if (!columns.contains(column)) {
+            throw new IllegalArgumentException("Column " + column + " is not an inserted column");
+        }
+        return addUpdate(column, SqlNode.UpsertSet.Source.ADD_INSERTED, null);
+    }
+
+    /**
+     * Leaves existing rows untouched and only inserts the new ones.
+     *
+     * @throws IllegalStateException If update actions were already added.
+     */
+    public UpsertBuilder doNothing() {
+        if (!updatedColumns.isEmpty()) {
+            throw new IllegalStateException("Cannot combine doNothing() with update actions");
+        }
+        if (doNothing) {
+            return this;
+        }
+        doNothing = true;
+        return addNode(new SqlNode.DoNothing());
+    }
+
+    public Dialect getDialect() {
+        return dialect;
+    }
+
+    /**
+     * Clears the builder so it can build the next query, keeping its grown buffers.
+     *
+     * @return The current UpsertBuilder instance, as if newly created.
+     */
+    public UpsertBuilder reset() {
+        query.reset();
+        parameters.reset();
+        nodes.clear();
+        updatedColumns.clear();
+        columns = null;
+        conflictNode = -1;
+        doNothing = false;
+        rendered = false;
+        return this;
+    }
+
+    /**
+     * Takes an immutable snapshot of the query and its parameters, e.g. to use as a cache key.
+     */
+    public BuiltQuery build() {
+        return BuiltQuery.of(getQuery(), parameters, "UpsertBuilder");
+    }
+
+    /**
+     * @return The nodes added so far, in call order.
+     */
+    public List<SqlNode> getNodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Renders the same nodes for another database, leaving this builder untouched.
+     *
+     * @throws IllegalStateException If the rows or the conflict columns were not set.
+     */
+    public BuiltQuery renderFor(Dialect dialect) {
+        if (dialect == null) {
+            throw new IllegalArgumentException("Dialect cannot be null");
+        }
+        QueryText text = new QueryText();
+        ParameterBuffer values = new ParameterBuffer();
+        SqlRenderer.renderUpsert(nodes, dialect, text, values, null);
+        return BuiltQuery.of(text.toString(), values, "UpsertBuilder");
+    }
+
+    /**
+     * @throws IllegalStateException If the rows or the conflict columns were not set.
+     */
+    @Override
+    public String getQuery() {
+        ensureRendered();
+        return query.toString();
+    }
+
+    /**
+     * @throws IllegalStateException If the rows or the conflict columns were not set.
+     */
+    @Override
+    public ParameterBuffer getParameters() {
+        ensureRendered();
+        return parameters;
+    }
+
+    private UpsertBuilder addNode(SqlNode node) {
+        nodes.add(node);
+        rendered = false;
+        return this;
+    }
+
+    private UpsertBuilder addUpdate(String column, SqlNode.UpsertSet.Source source, Object value) {
+        if (doNothing) {
+            throw new IllegalStateException("Cannot combine doNothing() with update actions");
+        }
+        if (!updatedColumns.add(column)) {
+            throw new IllegalArgumentException("Column " + column + " is already updated");
+        }
+        return addNode(new SqlNode.UpsertSet(column, source, value));
+    }
+
+    private void checkRowsSet() {
+        if (columns == null) {
+            throw new IllegalStateException("Rows must be set before the conflict handling");
+        }
+    }
+
+    private void ensureRendered() {
+        if (!rendered) {
+            QueryRenderEvent event = QueryRenderEvent.started();
+            QueryMetrics metrics = QueryMetrics.installed();
+            long start = metrics == QueryMetrics.NOOP ? 0 : System.nanoTime();
+            query.reset();
+            parameters.clear();
+            SqlRenderer.renderUpsert(nodes, dialect, query, parameters, null);
+            rendered = true;
+            if (metrics != QueryMetrics.NOOP) {
+                SqlRenderer.recordRender(metrics, "UpsertBuilder", nodes, System.nanoTime() - start, query,
+                        parameters);
+            }
+            event.complete("UpsertBuilder", query, parameters.size());
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package org.builder.crudbuilder.jdbc;
+
+import org.builder.crudbuilder.SqlQuery;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes built queries on a dedicated, bounded pool of threads and returns their results as
+ * {@link CompletableFuture}s, so the calling thread can do other work while the database answers.
+ *
+ * <pre>{@code
+ * AsyncQueryExecutor async = AsyncQueryExecutor.of(QueryDriver.of(dataSource), 8, 200);
+ * CompletableFuture<Integer> deactivated = async
+ *         .query(selectBuilder().select(List.of("id")).from("users").whereEq("team_id", 7),
+ *                 (rs, rowNum) -> rs.getObject("id"))
+ *         .thenCompose(ids -> async.update(updateQuery()
+ *                 .updateTable("sessions")
+ *                 .setValues(Map.of("active", false))
+ *                 .whereIn("user_id", ids)));
+ * }</pre>
+ *
+ * <p>At most {@code threads} queries run at once and at most {@code queueCapacity} more wait for
+ * a thread. When both are taken, a new query is rejected with a future failed by a
+ * {@link RejectedExecutionException}, or the caller waits for room with {@link WhenFull#WAIT}.
+ * A query releases its place before its future completes, so dependent queries chained with
+ * {@code thenCompose} find room.</p>
+ *
+ * <p>Queries submitted from the executor's own threads, as chained callbacks usually are, never
+ * wait, because the thread they would wait for can be the caller. They take a free place if there
+ * is one and otherwise one of {@code queueCapacity} extra places reserved for them; when those are
+ * taken too, they are rejected under either policy. The work queue is bounded by all places
+ * together.</p>
+ *
+ * <p>Futures complete with the {@link java.sql.SQLException} of a failed query. Cancelling a
+ * future skips the query if it has not started yet.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public final class AsyncQueryExecutor implements AutoCloseable {
+
+    /**
+     * What {@link #query} and {@link #update} do when all threads are busy and the queue is full.
+     */
+    public enum WhenFull {
+        /** Return a future failed with a {@link RejectedExecutionException}. */
+        REJECT,
+        /** Block the calling thread until a place frees up. */
+        WAIT
+    }
+
+    private final QueryDriver driver;
+    private final ThreadPoolExecutor threads;
+    private final Semaphore places;
+    private final Semaphore chainedPlaces;
+    private final AtomicInteger pending = new AtomicInteger();
+    private WhenFull whenFull = WhenFull.REJECT;
+
+    private AsyncQueryExecutor(QueryDriver driver, int threads, int queueCapacity) {
+        this.driver = driver;
+        this.threads = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(threads + 2 * queueCapacity), new WorkerFactory());
+        this.places = new Semaphore(threads + queueCapacity);
+        this.chainedPlaces = new Semaphore(queueCapacity);
+    }
+
+    /**
+     * @param threads The number of queries that run at once.
+     * @param queueCapacity The number of queries that may wait for a thread.
+     * @throws IllegalArgumentException If the driver is null, threads is not positive or the
+     *                                  capacity is negative.
+     */
+    public static AsyncQueryExecutor of(QueryDriver driver, int threads, int queueCapacity) {
+        if (driver == null) {
+            throw new IllegalArgumentException("Driver cannot be null");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Threads must be positive");
+        }
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("Queue capacity cannot be negative");
+        }
+        return new AsyncQueryExecutor(driver, threads, queueCapacity);
+    }
+
+    /**
+     * Sets what happens to a query submitted while the executor is full; the default is
+     * {@link WhenFull#REJECT}.
+     */
+    public AsyncQueryExecutor whenFull(WhenFull whenFull) {
+        if (whenFull == null) {
+            throw new IllegalArgumentException("Policy cannot be null");
+        }
+        this.whenFull = whenFull;
+        return this;
+    }
+
+    /**
+     * Executes a SELECT and maps every row on one of the executor's threads.
+     */
+    public <T> CompletableFuture<List<T>> query(SqlQuery query, RowMapper<T> rowMapper) {
+        if (query == null || rowMapper == null) {
+            throw new IllegalArgumentException("Query and row mapper cannot be null");
+        }
+        return submit(() -> driver.query(query, rowMapper));
+    }
+
+    /**
+     * Executes an INSERT, UPDATE or DELETE on one of the executor's threads.
+     *
+     * @return A future of the number of affected rows.
+     */
+    public CompletableFuture<Integer> update(SqlQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        return submit(() -> driver.update(query));
+    }
+
+    /**
+     * @return The number of queries that are running or waiting for a thread.
+     */
+    public int pendingQueries() {
+        return pending.get();
+    }
+
+    /**
+     * Stops accepting queries; the accepted ones still run.
+     */
+    @Override
+    public void close() {
+        threads.shutdown();
+    }
+
+    /**
+     * Waits until the accepted queries have finished after {@link #close()}.
+     *
+     * @return Whether they finished within the timeout.
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return threads.awaitTermination(timeout, unit);
+    }
+
+    private <T> CompletableFuture<T> submit(Callable<T> work) {
+        Semaphore place;
+        try {
+            place = takePlace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        if (place == null) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Async query executor is full: " + pending.get() + " queries pending"));
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        pending.incrementAndGet();
+        try {
+            threads.execute(() -> run(work, future, place));
+        } catch (RejectedExecutionException e) {
+            release(place);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * @return The semaphore a place was taken from, or null if there was none.
+     */
+    private Semaphore takePlace() throws InterruptedException {
+        if (Thread.currentThread() instanceof Worker worker && worker.owner == this) {
+            if (places.tryAcquire()) {
+                return places;
+            }
+            return chainedPlaces.tryAcquire() ? chainedPlaces : null;
+        }
+        if (whenFull == WhenFull.WAIT) {
+            places.acquire();
+            return places;
+        }
+        return places.tryAcquire() ? places : null;
+    }
+
+    private <T> void run(Callable<T> work, CompletableFuture<T> future, Semaphore place) {
+        if (future.isDone()) {
+            release(place);
+            return;
+        }
+        T result;
+        try {
+            result = work.call();
+        } catch (Throwable e) {
+            release(place);
+            future.completeExceptionally(e);
+            return;
+        }
+        release(place);
+        future.complete(result);
+    }
+
+    private void release(Semaphore place) {
+        pending.decrementAndGet();
+        place.release();
+    }
+
+    private static final class Worker extends Thread {
+
+        private final AsyncQueryExecutor owner;
+
+        private Worker(AsyncQueryExecutor owner, Runnable runnable, String name) {
+            super(runnable, name);
+            this.owner = owner;
+        }
+    }
+
+    private final class WorkerFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Worker(AsyncQueryExecutor.this, runnable, "sqlbuilder-async-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.builder.crudbuilder.jdbc;
+
+import org.builder.crudbuilder.BuiltQuery;
+import org.builder.crudbuilder.DeleteBuilder;
+import org.builder.crudbuilder.QueryMetrics;
+import org.builder.crudbuilder.SqlNode;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Purges the rows matched by a {@link DeleteBuilder} in chunks of at most {@code chunkSize} rows,
+ * so no single transaction locks millions of rows or floods replication.
+ *
+ * <pre>{@code
+ * DeleteProgress done = ChunkedDelete.of(deleteQuery(StandardDialect.MYSQL)
+ *                 .deleteFrom("events")
+ *                 .whereLt("created_at", cutoff), "id", 5_000)
+ *         .throttle(DeleteThrottle.proportional(1.0))
+ *         .onProgress(progress -> log.info("{}", progress))
+ *         .execute(connection);
+ * }</pre>
+ *
+ * <p>The chunk statement is prepared once and executed until it deletes fewer rows than the
+ * chunk size. When the connection is not in auto-commit mode, every chunk is committed on its
+ * own and a failing chunk is rolled back. If the thread is interrupted while throttled, the purge
+ * stops and returns the progress so far with the interrupt flag set. Every chunk is reported to
+ * {@link QueryMetrics} and recorded as a Flight Recorder event, like any other execution.
+ * Chunks only count the deleted rows, so a delete with a RETURNING clause is rejected.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public final class ChunkedDelete {
+
+    private final BuiltQuery chunk;
+    private final int chunkSize;
+    private DeleteThrottle throttle = DeleteThrottle.none();
+    private Consumer<DeleteProgress> progressListener = progress -> {
+    };
+
+    private ChunkedDelete(BuiltQuery chunk, int chunkSize) {
+        this.chunk = chunk;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param delete The delete with its table and conditions.
+     * @param keyColumn A unique column of the table, used where the dialect needs a subselect.
+     * @param chunkSize The maximum number of rows deleted per statement and transaction.
+     * @throws IllegalArgumentException If delete is null or has a RETURNING clause, the key column
+     *                                  is empty or the size is not positive.
+     */
+    public static ChunkedDelete of(DeleteBuilder delete, String keyColumn, int chunkSize) {
+        if (delete == null) {
+            throw new IllegalArgumentException("Delete cannot be null");
+        }
+        for (SqlNode node : delete.getNodes()) {
+            if (node.kind() == SqlNode.Kind.RETURNING) {
+                // Chunks run with executeUpdate, which drivers refuse for row-returning statements.
+                throw new IllegalArgumentException("A chunked delete cannot return rows, remove the RETURNING clause");
+            }
+        }
+        return new ChunkedDelete(delete.buildChunk(keyColumn, chunkSize), chunkSize);
+    }
+
+    public ChunkedDelete throttle(DeleteThrottle throttle) {
+        if (throttle == null) {
+            throw new IllegalArgumentException("Throttle cannot be null");
+        }
+        this.throttle = throttle;
+        return this;
+    }
+
+    public ChunkedDelete pauseBetweenChunks(Duration pause) {
+        return throttle(DeleteThrottle.fixed(pause));
+    }
+
+    /**
+     * Registers a listener called after every chunk, e.g. to log or export the progress.
+     */
+    public ChunkedDelete onProgress(Consumer<DeleteProgress> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Progress listener cannot be null");
+        }
+        this.progressListener = listener;
+        return this;
+    }
+
+    public BuiltQuery getChunkQuery() {
+        return chunk;
+    }
+
+    /**
+     * Deletes chunk after chunk until no matching rows remain.
+     *
+     * @return The final progress.
+     */
+    public DeleteProgress execute(Connection connection) throws SQLException {
+        boolean commitChunks = !connection.getAutoCommit();
+        long start = System.nanoTime();
+        DeleteProgress progress = new DeleteProgress(0, 0, 0, 0, 0);
+        QueryMetrics metrics = QueryMetrics.installed();
+        try (PreparedStatement statement = connection.prepareStatement(chunk.getQuery())) {
+            List<Array> arrays = ParameterBinder.bind(statement, chunk.getParameters());
+            try {
+                while (true) {
+                    QueryExecuteEvent event = QueryExecuteEvent.started();
+                    long chunkStart = System.nanoTime();
+                    int deleted;
+                    try {
+                        deleted = statement.executeUpdate();
+                        if (metrics != QueryMetrics.NOOP) {
+                            QueryExecutor.recordExecution(metrics, chunk.getQuery(), chunkStart, deleted);
+                        }
+                        event.complete(chunk, deleted);
+                        if (commitChunks) {
+                            connection.commit();
+                        }
+                    } catch (SQLException e) {
+                        if (commitChunks) {
+                            connection.rollback();
+                        }
+                        throw e;
+                    }
+                    long now = System.nanoTime();
+                    progress = progress.next(deleted, now - chunkStart, now - start);
+                    progressListener.accept(progress);
+                    if (deleted < chunkSize) {
+                        return progress;
+                    }
+                    try {
+                        throttle.awaitNextChunk(progress);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return progress;
+                    }
+                }
+            } finally {
+                ParameterBinder.free(arrays);
+            }
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package org.builder.crudbuilder.jdbc;
+
+import org.builder.crudbuilder.QueryMetrics;
+import org.builder.crudbuilder.SqlQuery;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs independent queries concurrently, each on its own connection from a {@link DataSource},
+ * and returns their results in input order.
+ *
+ * <pre>{@code
+ * ConcurrentQueryRunner runner = ConcurrentQueryRunner.of(dataSource)
+ *         .maxConcurrency(4)
+ *         .timeout(Duration.ofSeconds(2));
+ * List<List<User>> results = runner.queryAll(List.of(
+ *         selectBuilder().selectFrom("users").whereEq("id", 1),
+ *         selectBuilder().selectFrom("users").whereEq("team_id", 7)), userMapper);
+ * }</pre>
+ *
+ * <p>Queries run on virtual threads when the runtime has them (Java 21+). Otherwise they run on
+ * the runner's own pool of daemon platform threads, sized to the concurrency limit; queries
+ * beyond the limit wait in the pool's queue, not on a thread of their own, and idle threads exit
+ * after a minute. The concurrency limit is shared by all calls of a runner, so it also bounds the
+ * connections taken from the pool. The timeout of a query starts when it gets a permit.</p>
+ *
+ * <p>A call never outlives its queries: when one query fails or times out, or the calling thread
+ * is interrupted, the other queries are cancelled with {@link java.sql.Statement#cancel()} and an
+ * interrupt, and the call waits for all of them to stop before it throws.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public final class ConcurrentQueryRunner {
+
+    private static final int DEFAULT_MAX_CONCURRENCY = 8;
+    private static final long PLATFORM_KEEP_ALIVE_SECONDS = 60;
+    private static final ExecutorService VIRTUAL_THREADS = virtualThreadExecutor();
+    private static final AtomicInteger PLATFORM_THREAD_COUNT = new AtomicInteger();
+
+    private final DataSource dataSource;
+    private boolean platformThreads = VIRTUAL_THREADS == null;
+    private ExecutorService platformPool;
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private Semaphore permits = new Semaphore(DEFAULT_MAX_CONCURRENCY);
+    private Duration timeout;
+
+    private ConcurrentQueryRunner(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * @throws IllegalArgumentException If the data source is null.
+     */
+    public static ConcurrentQueryRunner of(DataSource dataSource) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Data source cannot be null");
+        }
+        return new ConcurrentQueryRunner(dataSource);
+    }
+
+    /**
+     * Limits how many queries of this runner run at the same time; the default is 8.
+     */
+    public synchronized ConcurrentQueryRunner maxConcurrency(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be positive");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency);
+        if (platformPool != null) {
+            // Queries already queued still run; the next call gets a pool of the new size.
+            platformPool.shutdown();
+            platformPool = null;
+        }
+        return this;
+    }
+
+    /**
+     * Cancels a query that runs longer than the given time and fails the call with a
+     * {@link SQLTimeoutException}. Without a timeout, queries run until they finish.
+     */
+    public ConcurrentQueryRunner timeout(Duration timeout) {
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * Runs the queries on platform threads even when virtual threads are available, e.g. for a
+     * driver that blocks inside synchronized code and would pin the carrier threads.
+     */
+    public synchronized ConcurrentQueryRunner platformThreads() {
+        this.platformThreads = true;
+        return this;
+    }
+
+    public synchronized boolean usesVirtualThreads() {
+        return !platformThreads;
+    }
+
+    /**
+     * Executes the queries concurrently and maps every row of every result.
+     *
+     * @return The mapped rows of each query, in the order of {@code queries}.
+     * @throws SQLTimeoutException If a query ran longer than the timeout.
+     * @throws SQLException The first failure of a query; the other queries are cancelled.
+     * @throws InterruptedException If the calling thread was interrupted; the queries are cancelled.
+     */
+    public <T> List<List<T>> queryAll(List<? extends SqlQuery> queries, RowMapper<T> rowMapper)
+            throws SQLException, InterruptedException {
+        if (queries == null) {
+            throw new IllegalArgumentException("Queries cannot be null");
+        }
+        if (rowMapper == null) {
+            throw new IllegalArgumentException("Row mapper cannot be null");
+        }
+        ExecutorService threads = threads();
+        BlockingQueue<QueryTask<T>> completed = new LinkedBlockingQueue<>();
+        List<QueryTask<T>> tasks = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            QueryTask<T> task = new QueryTask<>(i, new Query<>(queries.get(i), rowMapper), completed);
+            tasks.add(task);
+            threads.execute(task);
+        }
+        Object[] results = new Object[tasks.size()];
+        int remaining = tasks.size();
+        try {
+            while (remaining > 0) {
+                QueryTask<T> task = completed.take();
+                remaining--;
+                results[task.index] = result(task);
+            }
+        } catch (SQLException | RuntimeException | InterruptedException e) {
+            for (QueryTask<T> task : tasks) {
+                task.query.cancel();
+            }
+            boolean interrupted = e instanceof InterruptedException;
+            for (QueryTask<T> task : tasks) {
+                interrupted |= task.query.awaitStopped();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            throw e;
+        }
+        @SuppressWarnings("unchecked")
+        List<List<T>> rows = (List<List<T>>) (List<?>) Arrays.asList(results);
+        return rows;
+    }
+
+    private <T> List<T> result(QueryTask<T> task) throws SQLException {
+        try {
+            return task.get();
+        } catch (CancellationException e) {
+            if (task.query.timedOut) {
+                throw new SQLTimeoutException("Query " + task.index + " timed out after " + timeout);
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Query " + task.index + " failed", cause);
+        } catch (InterruptedException e) {
+            // The task is done, so get() does not block.
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private synchronized ExecutorService threads() {
+        if (!platformThreads) {
+            return VIRTUAL_THREADS;
+        }
+        if (platformPool == null) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConcurrency, maxConcurrency,
+                    PLATFORM_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new DaemonThreadFactory());
+            pool.allowCoreThreadTimeOut(true);
+            platformPool = pool;
+        }
+        return platformPool;
+    }
+
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * One query of a call. The statement is kept while it runs so a timeout or the failure of
+     * another query can cancel it on the database, and the state tells the caller when the
+     * query has stopped.
+     */
+    private final class Query<T> implements Callable<List<T>> {
+
+        private static final int NEW = 0;
+        private static final int RUNNING = 1;
+        private static final int STOPPED = 2;
+
+        private final SqlQuery query;
+        private final RowMapper<T> rowMapper;
+        private volatile PreparedStatement statement;
+        private volatile boolean timedOut;
+        private QueryTask<T> task;
+        private int state = NEW;
+
+        private Query(SqlQuery query, RowMapper<T> rowMapper) {
+            this.query = query;
+            this.rowMapper = rowMapper;
+        }
+
+        @Override
+        public List<T> call() throws SQLException, InterruptedException {
+            synchronized (this) {
+                if (state != NEW) {
+                    throw new CancellationException();
+                }
+                state = RUNNING;
+            }
+            try {
+                return run();
+            } finally {
+                synchronized (this) {
+                    state = STOPPED;
+                    notifyAll();
+                }
+            }
+        }
+
+        private List<T> run() throws SQLException, InterruptedException {
+            Semaphore querySlots = permits;
+            querySlots.acquire();
+            CompletableFuture<Void> watchdog = null;
+            try {
+                if (timeout != null) {
+                    watchdog = CompletableFuture.runAsync(this::timeOut,
+                            CompletableFuture.delayedExecutor(timeout.toNanos(), TimeUnit.NANOSECONDS));
+                }
+                QueryExecuteEvent event = QueryExecuteEvent.started();
+                QueryMetrics metrics = QueryMetrics.installed();
+                long start = metrics == QueryMetrics.NOOP ? 0 : System.nanoTime();
+                try (Connection connection = dataSource.getConnection();
+                     PreparedStatement prepared = connection.prepareStatement(query.getQuery())) {
+                    List<Array> arrays = ParameterBinder.bind(prepared, query.getParameters());
+                    List<T> rows;
+                    try {
+                        statement = prepared;
+                        if (task.isCancelled()) {
+                            throw new CancellationException();
+                        }
+                        rows = QueryExecutor.mapRows(prepared, rowMapper);
+                    } finally {
+                        ParameterBinder.free(arrays);
+                    }
+                    if (metrics != QueryMetrics.NOOP) {
+                        QueryExecutor.recordExecution(metrics, query.getQuery(), start, rows.size());
+                    }
+                    event.complete(query, rows.size());
+                    return rows;
+                }
+            } finally {
+                statement = null;
+                if (watchdog != null) {
+                    watchdog.cancel(false);
+                }
+                querySlots.release();
+            }
+        }
+
+        private void timeOut() {
+            timedOut = true;
+            cancel();
+        }
+
+        private void cancel() {
+            synchronized (this) {
+                if (state == NEW) {
+                    state = STOPPED;
+                }
+            }
+            PreparedStatement running = statement;
+            if (running != null) {
+                try {
+                    running.cancel();
+                } catch (SQLException ignored) {
+                    // The statement finished or was closed in the meantime.
+                }
+            }
+            task.cancel(true);
+        }
+
+        /**
+         * Waits until the query is no longer running, even when interrupted.
+         *
+         * @return Whether the waiting thread was interrupted.
+         */
+        private synchronized boolean awaitStopped() {
+            boolean interrupted = false;
+            while (state == RUNNING) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            return interrupted;
+        }
+    }
+
+    private static final class QueryTask<T> extends FutureTask<List<T>> {
+
+        private final int index;
+        private final Query<T> query;
+        private final BlockingQueue<QueryTask<T>> completed;
+
+        private QueryTask(int index, Query<T> query, BlockingQueue<QueryTask<T>> completed) {
+            super(query);
+            this.index = index;
+            this.query = query;
+            this.completed = completed;
+            query.task = this;
+        }
+
+        @Override
+        protected void done() {
+            completed.add(this);
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "sqlbuilder-query-" + PLATFORM_THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
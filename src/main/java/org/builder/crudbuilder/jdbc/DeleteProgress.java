@@ -0,0 +1,68 @@
+package org.builder.crudbuilder.jdbc;
+
+import java.time.Duration;
+
+/**
+ * Where a {@link ChunkedDelete} stands after a chunk: totals so far and the cost of the last chunk.
+ *
+ * @author Kim SeuongYong
+ */
+public final class DeleteProgress {
+
+    private final long chunks;
+    private final long rowsDeleted;
+    private final int lastChunkRows;
+    private final long lastChunkNanos;
+    private final long elapsedNanos;
+
+    DeleteProgress(long chunks, long rowsDeleted, int lastChunkRows, long lastChunkNanos, long elapsedNanos) {
+        this.chunks = chunks;
+        this.rowsDeleted = rowsDeleted;
+        this.lastChunkRows = lastChunkRows;
+        this.lastChunkNanos = lastChunkNanos;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    DeleteProgress next(int chunkRows, long chunkNanos, long elapsedNanos) {
+        return new DeleteProgress(chunks + 1, rowsDeleted + chunkRows, chunkRows, chunkNanos, elapsedNanos);
+    }
+
+    /**
+     * @return The number of DELETE statements executed.
+     */
+    public long getChunks() {
+        return chunks;
+    }
+
+    public long getRowsDeleted() {
+        return rowsDeleted;
+    }
+
+    public int getLastChunkRows() {
+        return lastChunkRows;
+    }
+
+    /**
+     * @return How long the last DELETE and its commit took.
+     */
+    public Duration getLastChunkDuration() {
+        return Duration.ofNanos(lastChunkNanos);
+    }
+
+    /**
+     * @return The time since the purge started, including pauses.
+     */
+    public Duration getElapsed() {
+        return Duration.ofNanos(elapsedNanos);
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rowsDeleted * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "DeleteProgress{chunks=" + chunks + ", rowsDeleted=" + rowsDeleted + ", lastChunkRows=" + lastChunkRows
+                + ", lastChunkDuration=" + getLastChunkDuration() + ", elapsed=" + getElapsed() + "}";
+    }
+}
@@ -0,0 +1,79 @@
+package org.builder.crudbuilder.jdbc;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Decides how long a {@link ChunkedDelete} waits before its next chunk, giving replicas and
+ * other transactions room between the deletes.
+ *
+ * @author Kim SeuongYong
+ */
+@FunctionalInterface
+public interface DeleteThrottle {
+
+    /**
+     * Blocks until the next chunk may run.
+     *
+     * @param progress The progress after the chunk that just finished.
+     */
+    void awaitNextChunk(DeleteProgress progress) throws InterruptedException;
+
+    static DeleteThrottle none() {
+        return progress -> {
+        };
+    }
+
+    /**
+     * Waits the same time after every chunk.
+     */
+    static DeleteThrottle fixed(Duration pause) {
+        if (pause == null || pause.isNegative()) {
+            throw new IllegalArgumentException("Pause cannot be null or negative");
+        }
+        long millis = pause.toMillis();
+        return progress -> Thread.sleep(millis);
+    }
+
+    /**
+     * Waits {@code factor} times as long as the last chunk took. Chunks get slower when the
+     * database is busy, so the pause grows with the load: a factor of 1 keeps the purge
+     * running at most half of the time.
+     */
+    static DeleteThrottle proportional(double factor) {
+        if (!(factor >= 0)) {
+            throw new IllegalArgumentException("Factor cannot be negative");
+        }
+        return progress -> {
+            long nanos = (long) (progress.getLastChunkDuration().toNanos() * factor);
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        };
+    }
+
+    /**
+     * Waits while the reported replica lag is above {@code maxLag}, checking every {@code pollInterval}.
+     *
+     * @param lag Reads the current replication lag, e.g. from the replica's status.
+     */
+    static DeleteThrottle maxReplicaLag(Supplier<Duration> lag, Duration maxLag, Duration pollInterval) {
+        if (lag == null || maxLag == null || pollInterval == null) {
+            throw new IllegalArgumentException("Lag supplier, max lag and poll interval cannot be null");
+        }
+        long pollMillis = pollInterval.toMillis();
+        return progress -> {
+            while (lag.get().compareTo(maxLag) > 0) {
+                Thread.sleep(pollMillis);
+            }
+        };
+    }
+
+    /**
+     * Applies this throttle and then {@code next}.
+     */
+    default DeleteThrottle andThen(DeleteThrottle next) {
+        return progress -> {
+            awaitNextChunk(progress);
+            next.awaitNextChunk(progress);
+        };
+    }
+}
@@ -0,0 +1,124 @@
+package org.builder.crudbuilder.jdbc;
+
+import org.builder.crudbuilder.OrderType;
+import org.builder.crudbuilder.SelectBuilder;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Walks a table page by page with keyset pagination, see {@link SelectBuilder#seekAfter}.
+ *
+ * <p>Every page is a fresh query from {@code baseQuery} restricted to the rows after the key
+ * of the last row of the previous page. Iteration stops after the first page that returns fewer
+ * rows than the page size. The connection stays open; SQL errors are thrown as
+ * {@link SqlExecutionException}.</p>
+ *
+ * <pre>{@code
+ * KeysetPager<User> pages = KeysetPager.of(connection,
+ *         () -> selectBuilder().selectFrom("users").whereEq("tenant_id", tenantId),
+ *         List.of("id"), 1000,
+ *         (rs, rowNum) -> new User(rs.getLong("id"), rs.getString("name")),
+ *         user -> List.of(user.id()));
+ * while (pages.hasNext()) {
+ *     process(pages.next());
+ * }
+ * }</pre>
+ *
+ * @param <T> The type of the mapped rows.
+ */
+public final class KeysetPager<T> implements Iterator<List<T>> {
+
+    private final Connection connection;
+    private final Supplier<SelectBuilder> baseQuery;
+    private final List<String> keyColumns;
+    private final int pageSize;
+    private final OrderType orderType;
+    private final RowMapper<T> rowMapper;
+    private final Function<T, List<Object>> keyOf;
+    private final QueryExecutor executor = new QueryExecutor();
+
+    private List<Object> lastKey;
+    private List<T> nextPage;
+    private boolean exhausted;
+
+    private KeysetPager(Connection connection, Supplier<SelectBuilder> baseQuery, List<String> keyColumns, int pageSize,
+                        OrderType orderType, RowMapper<T> rowMapper, Function<T, List<Object>> keyOf) {
+        this.connection = connection;
+        this.baseQuery = baseQuery;
+        this.keyColumns = List.copyOf(keyColumns);
+        this.pageSize = pageSize;
+        this.orderType = orderType;
+        this.rowMapper = rowMapper;
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * @param connection The connection to run the page queries on.
+     * @param baseQuery Creates the query without pagination for every page; it may only use AND conditions.
+     * @param keyColumns The key columns, unique together.
+     * @param pageSize The number of rows per page.
+     * @param rowMapper Maps a row of the result.
+     * @param keyOf Extracts the key values, in key column order, from a mapped row.
+     */
+    public static <T> KeysetPager<T> of(Connection connection, Supplier<SelectBuilder> baseQuery, List<String> keyColumns,
+                                        int pageSize, RowMapper<T> rowMapper, Function<T, List<Object>> keyOf) {
+        return of(connection, baseQuery, keyColumns, pageSize, OrderType.ASC, rowMapper, keyOf);
+    }
+
+    public static <T> KeysetPager<T> of(Connection connection, Supplier<SelectBuilder> baseQuery, List<String> keyColumns,
+                                        int pageSize, OrderType orderType, RowMapper<T> rowMapper,
+                                        Function<T, List<Object>> keyOf) {
+        if (connection == null || baseQuery == null || rowMapper == null || keyOf == null) {
+            throw new IllegalArgumentException("Connection, base query, row mapper and key extractor cannot be null");
+        }
+        if (keyColumns == null || keyColumns.isEmpty()) {
+            throw new IllegalArgumentException("Key columns cannot be null or empty");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return new KeysetPager<>(connection, baseQuery, keyColumns, pageSize, orderType, rowMapper, keyOf);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextPage == null && !exhausted) {
+            nextPage = fetch();
+            if (nextPage.isEmpty()) {
+                exhausted = true;
+                nextPage = null;
+            }
+        }
+        return nextPage != null;
+    }
+
+    @Override
+    public List<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<T> page = nextPage;
+        nextPage = null;
+        if (page.size() < pageSize) {
+            exhausted = true;
+        } else {
+            lastKey = keyOf.apply(page.get(page.size() - 1));
+        }
+        return page;
+    }
+
+    private List<T> fetch() {
+        SelectBuilder query = baseQuery.get().seekAfter(keyColumns, lastKey, pageSize, orderType);
+        try {
+            return executor.executeQuery(connection, query, rowMapper);
+        } catch (SQLException e) {
+            throw new SqlExecutionException("Keyset page query failed: " + query.getQuery(), e);
+        }
+    }
+}
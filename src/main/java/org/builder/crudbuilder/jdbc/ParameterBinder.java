@@ -0,0 +1,142 @@
+package org.builder.crudbuilder.jdbc;
+
+import org.builder.crudbuilder.ParameterBuffer;
+import org.builder.crudbuilder.SqlArray;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binds the parameters of a builder onto a {@link PreparedStatement}.
+ *
+ * <p>Values are dispatched on their class to the matching type-specific setter. Only unknown
+ * types fall back to {@code setObject}, and {@link SqlArray} values become driver arrays. The
+ * parameter list is walked by index and never copied.</p>
+ *
+ * <p>Driver arrays hold resources until they are freed, so {@link #bind} returns the arrays it
+ * created and the caller passes them to {@link #free} once the statement has executed.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public final class ParameterBinder {
+
+    private ParameterBinder() {
+    }
+
+    /**
+     * Binds every parameter to the placeholder at the same position (1-based in JDBC).
+     *
+     * @return The driver arrays created for {@link SqlArray} parameters, empty if there are none.
+     */
+    public static List<Array> bind(PreparedStatement statement, ParameterBuffer parameters) throws SQLException {
+        List<Array> arrays = List.of();
+        int size = parameters.size();
+        try {
+            for (int i = 0; i < size; i++) {
+                Object value = parameters.get(i);
+                if (value instanceof SqlArray) {
+                    if (arrays.isEmpty()) {
+                        arrays = new ArrayList<>(2);
+                    }
+                    arrays.add(bindArray(statement, i + 1, (SqlArray) value));
+                } else {
+                    bindObject(statement, i + 1, value);
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            try {
+                free(arrays);
+            } catch (SQLException freeFailure) {
+                e.addSuppressed(freeFailure);
+            }
+            throw e;
+        }
+        return arrays;
+    }
+
+    /**
+     * Frees the arrays returned by {@link #bind}. Every array is freed even when one fails; the
+     * first failure is thrown with the others suppressed.
+     */
+    public static void free(List<Array> arrays) throws SQLException {
+        SQLException failure = null;
+        for (Array array : arrays) {
+            try {
+                array.free();
+            } catch (SQLException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static Array bindArray(PreparedStatement statement, int index, SqlArray value) throws SQLException {
+        Array array = statement.getConnection().createArrayOf(value.getElementType(), value.getElements());
+        try {
+            statement.setArray(index, array);
+        } catch (SQLException | RuntimeException e) {
+            array.free();
+            throw e;
+        }
+        return array;
+    }
+
+    static void bindObject(PreparedStatement statement, int index, Object value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.NULL);
+        } else if (value instanceof String) {
+            statement.setString(index, (String) value);
+        } else if (value instanceof Long) {
+            statement.setLong(index, (Long) value);
+        } else if (value instanceof Integer) {
+            statement.setInt(index, (Integer) value);
+        } else if (value instanceof Double) {
+            statement.setDouble(index, (Double) value);
+        } else if (value instanceof Boolean) {
+            statement.setBoolean(index, (Boolean) value);
+        } else if (value instanceof BigDecimal) {
+            statement.setBigDecimal(index, (BigDecimal) value);
+        } else if (value instanceof Timestamp) {
+            statement.setTimestamp(index, (Timestamp) value);
+        } else if (value instanceof LocalDateTime) {
+            statement.setTimestamp(index, Timestamp.valueOf((LocalDateTime) value));
+        } else if (value instanceof Instant) {
+            statement.setTimestamp(index, Timestamp.from((Instant) value));
+        } else if (value instanceof java.sql.Date) {
+            statement.setDate(index, (java.sql.Date) value);
+        } else if (value instanceof LocalDate) {
+            statement.setDate(index, java.sql.Date.valueOf((LocalDate) value));
+        } else if (value instanceof java.sql.Time) {
+            statement.setTime(index, (java.sql.Time) value);
+        } else if (value instanceof java.util.Date) {
+            statement.setTimestamp(index, new Timestamp(((java.util.Date) value).getTime()));
+        } else if (value instanceof Short) {
+            statement.setShort(index, (Short) value);
+        } else if (value instanceof Byte) {
+            statement.setByte(index, (Byte) value);
+        } else if (value instanceof Float) {
+            statement.setFloat(index, (Float) value);
+        } else if (value instanceof byte[]) {
+            statement.setBytes(index, (byte[]) value);
+        } else if (value instanceof Enum) {
+            statement.setString(index, ((Enum<?>) value).name());
+        } else {
+            statement.setObject(index, value);
+        }
+    }
+}
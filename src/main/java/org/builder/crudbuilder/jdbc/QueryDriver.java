@@ -0,0 +1,60 @@
+package org.builder.crudbuilder.jdbc;
+
+import org.builder.crudbuilder.SqlQuery;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Runs a built query to completion. {@link AsyncQueryExecutor} calls it from its worker threads,
+ * so an implementation must be safe to call concurrently.
+ *
+ * <p>{@link #of(DataSource)} is the JDBC implementation; tests can pass a stand-in that answers
+ * from memory instead.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public interface QueryDriver {
+
+    /**
+     * Executes a SELECT and maps every row.
+     */
+    <T> List<T> query(SqlQuery query, RowMapper<T> rowMapper) throws SQLException;
+
+    /**
+     * Executes an INSERT, UPDATE or DELETE.
+     *
+     * @return The number of affected rows.
+     */
+    int update(SqlQuery query) throws SQLException;
+
+    /**
+     * Executes every query on its own connection from the data source, which is closed again
+     * afterwards.
+     *
+     * @throws IllegalArgumentException If the data source is null.
+     */
+    static QueryDriver of(DataSource dataSource) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Data source cannot be null");
+        }
+        QueryExecutor executor = new QueryExecutor();
+        return new QueryDriver() {
+            @Override
+            public <T> List<T> query(SqlQuery query, RowMapper<T> rowMapper) throws SQLException {
+                try (Connection connection = dataSource.getConnection()) {
+                    return executor.executeQuery(connection, query, rowMapper);
+                }
+            }
+
+            @Override
+            public int update(SqlQuery query) throws SQLException {
+                try (Connection connection = dataSource.getConnection()) {
+                    return executor.executeUpdate(connection, query);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package org.builder.crudbuilder.jdbc;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.builder.crudbuilder.BuiltQuery;
+import org.builder.crudbuilder.QueryMetrics;
+import org.builder.crudbuilder.SqlQuery;
+import org.builder.crudbuilder.StatementChunk;
+
+/**
+ * A Flight Recorder event spanning one execution, from preparing the statement until the last
+ * row was read, emitted as {@value #NAME}.
+ *
+ * <p>The fingerprint is the one reported to {@link QueryMetrics}, so a slow execution in a
+ * recording can be matched to its builder shape. Snapshots and chunks record the builder they
+ * came from rather than their own class. Nothing is filled in while the event is disabled.</p>
+ */
+@Name(QueryExecuteEvent.NAME)
+@Label("Query Execute")
+@Category({"SQL Builder", "Execute"})
+@Description("Execution of a builder's query on a JDBC connection")
+final class QueryExecuteEvent extends Event {
+
+    static final String NAME = "org.builder.crudbuilder.QueryExecute";
+
+    @Label("Builder")
+    String builder;
+
+    @Label("Fingerprint")
+    @Description("QueryMetrics.fingerprint of the SQL")
+    String fingerprint;
+
+    @Label("SQL Length")
+    int sqlLength;
+
+    @Label("Parameter Count")
+    @Description("The parameters bound, over all statements of a batch")
+    int parameterCount;
+
+    @Label("Rows")
+    @Description("The rows affected or read")
+    long rows;
+
+    static QueryExecuteEvent started() {
+        QueryExecuteEvent event = new QueryExecuteEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it for the query if the event is enabled.
+     */
+    void complete(SqlQuery query, long rows) {
+        end();
+        if (shouldCommit()) {
+            commit(builderOf(query), query.getQuery(), query.getParameters().size(), rows);
+        }
+    }
+
+    /**
+     * Ends the event and commits it for a batch of statements with the same SQL.
+     */
+    void complete(SqlQuery first, String sql, int parameterCount, long rows) {
+        end();
+        if (shouldCommit()) {
+            commit(builderOf(first), sql, parameterCount, rows);
+        }
+    }
+
+    static String builderOf(SqlQuery query) {
+        String builder = null;
+        if (query instanceof BuiltQuery) {
+            builder = ((BuiltQuery) query).getBuilder();
+        } else if (query instanceof StatementChunk) {
+            builder = ((StatementChunk) query).getBuilder();
+        }
+        return builder != null ? builder : query.getClass().getSimpleName();
+    }
+
+    private void commit(String builder, String sql, int parameterCount, long rows) {
+        this.builder = builder;
+        this.fingerprint = QueryMetrics.fingerprint(sql);
+        this.sqlLength = sql.length();
+        this.parameterCount = parameterCount;
+        this.rows = rows;
+        commit();
+    }
+}
@@ -0,0 +1,353 @@
+package org.builder.crudbuilder.jdbc;
+
+import org.builder.crudbuilder.Dialect;
+import org.builder.crudbuilder.QueryMetrics;
+import org.builder.crudbuilder.SelectBuilder;
+import org.builder.crudbuilder.SqlQuery;
+import org.builder.crudbuilder.StandardDialect;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Executes builders directly on a JDBC {@link Connection}.
+ *
+ * <p>The query text is prepared as is and the parameters are bound with {@link ParameterBinder},
+ * without an intermediate copy of the parameter list. The connection is never closed here;
+ * statements and result sets are. Every execution is reported to the installed
+ * {@link QueryMetrics} and recorded as a Flight Recorder event.</p>
+ *
+ * <pre>{@code
+ * QueryExecutor executor = new QueryExecutor();
+ * List<String> names = executor.executeQuery(connection,
+ *         selectBuilder().selectFrom("users").whereEq("id", 1),
+ *         (rs, rowNum) -> rs.getString("name"));
+ * }</pre>
+ *
+ * @author Kim SeuongYong
+ */
+public class QueryExecutor {
+
+    /**
+     * The fetch size of {@link #stream(Connection, SelectBuilder, RowMapper)}.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    /**
+     * Prepares the query and binds its parameters. The caller owns the returned statement.
+     * Driver arrays of {@link org.builder.crudbuilder.SqlArray} parameters are left to the driver;
+     * bind with {@link ParameterBinder} to free them explicitly.
+     */
+    public PreparedStatement prepare(Connection connection, SqlQuery query) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(query.getQuery());
+        try {
+            ParameterBinder.bind(statement, query.getParameters());
+        } catch (SQLException | RuntimeException e) {
+            statement.close();
+            throw e;
+        }
+        return statement;
+    }
+
+    /**
+     * Executes an INSERT, UPDATE or DELETE.
+     *
+     * @return The number of affected rows.
+     */
+    public int executeUpdate(Connection connection, SqlQuery query) throws SQLException {
+        QueryExecuteEvent event = QueryExecuteEvent.started();
+        QueryMetrics metrics = QueryMetrics.installed();
+        long start = metrics == QueryMetrics.NOOP ? 0 : System.nanoTime();
+        try (PreparedStatement statement = connection.prepareStatement(query.getQuery())) {
+            List<Array> arrays = ParameterBinder.bind(statement, query.getParameters());
+            int count;
+            try {
+                count = statement.executeUpdate();
+            } finally {
+                ParameterBinder.free(arrays);
+            }
+            if (metrics != QueryMetrics.NOOP) {
+                recordExecution(metrics, query.getQuery(), start, count);
+            }
+            event.complete(query, count);
+            return count;
+        }
+    }
+
+    /**
+     * Executes a SELECT and maps every row.
+     *
+     * @return The mapped rows in result set order.
+     */
+    public <T> List<T> executeQuery(Connection connection, SqlQuery query, RowMapper<T> rowMapper) throws SQLException {
+        QueryExecuteEvent event = QueryExecuteEvent.started();
+        QueryMetrics metrics = QueryMetrics.installed();
+        long start = metrics == QueryMetrics.NOOP ? 0 : System.nanoTime();
+        try (PreparedStatement statement = connection.prepareStatement(query.getQuery())) {
+            List<Array> arrays = ParameterBinder.bind(statement, query.getParameters());
+            List<T> rows;
+            try {
+                rows = mapRows(statement, rowMapper);
+            } finally {
+                ParameterBinder.free(arrays);
+            }
+            if (metrics != QueryMetrics.NOOP) {
+                recordExecution(metrics, query.getQuery(), start, rows.size());
+            }
+            event.complete(query, rows.size());
+            return rows;
+        }
+    }
+
+    /**
+     * Executes the prepared SELECT and maps every row.
+     */
+    static <T> List<T> mapRows(PreparedStatement statement, RowMapper<T> rowMapper) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            List<T> rows = new ArrayList<>();
+            int rowNum = 0;
+            while (resultSet.next()) {
+                rows.add(rowMapper.mapRow(resultSet, rowNum++));
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Reports an execution that started at {@code start}, a {@link System#nanoTime()}, to the metrics.
+     */
+    static void recordExecution(QueryMetrics metrics, String sql, long start, long rows) {
+        metrics.executed(QueryMetrics.fingerprint(sql), System.nanoTime() - start, rows);
+    }
+
+    /**
+     * Streams the rows of a SELECT with {@link #DEFAULT_FETCH_SIZE}.
+     *
+     * @see #stream(Connection, SelectBuilder, RowMapper, int)
+     */
+    public <T> Stream<T> stream(Connection connection, SelectBuilder query, RowMapper<T> rowMapper) throws SQLException {
+        return stream(connection, query, rowMapper, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Executes a SELECT through a forward-only, read-only cursor and maps the rows lazily, so
+     * only about {@code fetchSize} rows are held in memory at a time.
+     *
+     * <p>The dialect of the builder, or of the connection's database for a builder without one,
+     * decides the driver settings a cursor needs: on PostgreSQL auto-commit is turned off while
+     * the stream is open, and on MySQL rows are streamed one by one. The statement is closed,
+     * and auto-commit restored, when the last row has been read or the stream is closed. Use
+     * the stream in a try-with-resources block when it may not be read to the end.
+     * SQL errors while reading are thrown as {@link SqlExecutionException}.</p>
+     *
+     * <pre>{@code
+     * try (Stream<User> users = executor.stream(connection, selectBuilder().selectFrom("users"), userMapper, 500)) {
+     *     users.forEach(exporter::write);
+     * }
+     * }</pre>
+     */
+    public <T> Stream<T> stream(Connection connection, SelectBuilder query, RowMapper<T> rowMapper, int fetchSize)
+            throws SQLException {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive");
+        }
+        Cursor<T> cursor = new Cursor<>(connection, dialectOf(connection, query), rowMapper);
+        try {
+            cursor.open(query, fetchSize);
+        } catch (SQLException | RuntimeException e) {
+            cursor.close();
+            throw e;
+        }
+        return StreamSupport.stream(cursor, false).onClose(cursor::close);
+    }
+
+    /**
+     * Passes every row of a SELECT to {@code action} as it is read, see
+     * {@link #stream(Connection, SelectBuilder, RowMapper, int)}.
+     */
+    public <T> void forEach(Connection connection, SelectBuilder query, RowMapper<T> rowMapper, int fetchSize,
+                            Consumer<? super T> action) throws SQLException {
+        try (Stream<T> rows = stream(connection, query, rowMapper, fetchSize)) {
+            rows.forEach(action);
+        } catch (SqlExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Dialect dialectOf(Connection connection, SelectBuilder query) throws SQLException {
+        Dialect dialect = query.getDialect();
+        if (dialect != StandardDialect.GENERIC) {
+            return dialect;
+        }
+        return StandardDialect.forProductName(connection.getMetaData().getDatabaseProductName());
+    }
+
+    /**
+     * Binds the parameters of the query onto an already prepared statement for the same SQL
+     * and adds them to its batch. A mismatch between parameters and placeholders is reported
+     * by the driver.
+     *
+     * @return The driver arrays bound, to be freed with {@link ParameterBinder#free} once the
+     *         batch has executed.
+     */
+    public List<Array> addBatch(PreparedStatement statement, SqlQuery query) throws SQLException {
+        List<Array> arrays = ParameterBinder.bind(statement, query.getParameters());
+        statement.addBatch();
+        return arrays;
+    }
+
+    /**
+     * Executes the queries as JDBC batches. Consecutive queries with the same SQL share one
+     * prepared statement.
+     *
+     * @return The update counts of all queries in input order.
+     */
+    public int[] executeBatch(Connection connection, List<? extends SqlQuery> queries) throws SQLException {
+        int[] counts = new int[queries.size()];
+        int start = 0;
+        QueryMetrics metrics = QueryMetrics.installed();
+        while (start < queries.size()) {
+            QueryExecuteEvent event = QueryExecuteEvent.started();
+            long started = metrics == QueryMetrics.NOOP ? 0 : System.nanoTime();
+            String sql = queries.get(start).getQuery();
+            int end = start;
+            int parameterCount = 0;
+            List<Array> arrays = new ArrayList<>(0);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int[] batchCounts;
+                try {
+                    while (end < queries.size() && sql.equals(queries.get(end).getQuery())) {
+                        arrays.addAll(addBatch(statement, queries.get(end)));
+                        parameterCount += queries.get(end).getParameters().size();
+                        end++;
+                    }
+                    batchCounts = statement.executeBatch();
+                } finally {
+                    ParameterBinder.free(arrays);
+                }
+                System.arraycopy(batchCounts, 0, counts, start, batchCounts.length);
+                long rows = 0;
+                for (int count : batchCounts) {
+                    rows += Math.max(0, count);
+                }
+                if (metrics != QueryMetrics.NOOP) {
+                    recordExecution(metrics, sql, started, rows);
+                }
+                event.complete(queries.get(start), sql, parameterCount, rows);
+            }
+            start = end;
+        }
+        return counts;
+    }
+
+    /**
+     * The open statement and result set of a stream, closed once when the rows run out, reading
+     * fails or the stream is closed.
+     */
+    private static final class Cursor<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final Connection connection;
+        private final Dialect dialect;
+        private final RowMapper<T> rowMapper;
+        private final QueryMetrics metrics = QueryMetrics.installed();
+        private final long start = metrics == QueryMetrics.NOOP ? 0 : System.nanoTime();
+        private final QueryExecuteEvent event = QueryExecuteEvent.started();
+        private SelectBuilder query;
+        private String sql;
+        private PreparedStatement statement;
+        private ResultSet resultSet;
+        private boolean restoreAutoCommit;
+        private boolean closed;
+        private int rowNum;
+
+        private Cursor(Connection connection, Dialect dialect, RowMapper<T> rowMapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.connection = connection;
+            this.dialect = dialect;
+            this.rowMapper = rowMapper;
+        }
+
+        private void open(SelectBuilder query, int fetchSize) throws SQLException {
+            if (dialect.cursorRequiresTransaction() && connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+                restoreAutoCommit = true;
+            }
+            this.query = query;
+            sql = query.getQuery();
+            statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(dialect.cursorFetchSize(fetchSize));
+            List<Array> arrays = ParameterBinder.bind(statement, query.getParameters());
+            try {
+                resultSet = statement.executeQuery();
+            } finally {
+                ParameterBinder.free(arrays);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed) {
+                return false;
+            }
+            T row;
+            try {
+                if (!resultSet.next()) {
+                    close();
+                    return false;
+                }
+                row = rowMapper.mapRow(resultSet, rowNum++);
+            } catch (SQLException e) {
+                close();
+                throw new SqlExecutionException("Reading the result failed", e);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+            action.accept(row);
+            return true;
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (metrics != QueryMetrics.NOOP && resultSet != null) {
+                recordExecution(metrics, sql, start, rowNum);
+            }
+            if (resultSet != null) {
+                event.complete(query, rowNum);
+            }
+            try {
+                try {
+                    if (resultSet != null) {
+                        resultSet.close();
+                    }
+                } finally {
+                    try {
+                        if (statement != null) {
+                            statement.close();
+                        }
+                    } finally {
+                        if (restoreAutoCommit) {
+                            connection.setAutoCommit(true);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                throw new SqlExecutionException("Closing the cursor failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.builder.crudbuilder.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a {@link ResultSet} to an object.
+ *
+ * @param <T> The type of the mapped row.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * @param resultSet The result set, positioned on the row to map.
+     * @param rowNum The zero based number of the current row.
+     * @return The mapped row.
+     */
+    T mapRow(ResultSet resultSet, int rowNum) throws SQLException;
+}
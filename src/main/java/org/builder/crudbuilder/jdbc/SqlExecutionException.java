@@ -0,0 +1,21 @@
+package org.builder.crudbuilder.jdbc;
+
+import java.sql.SQLException;
+
+/**
+ * Unchecked wrapper for a {@link SQLException} thrown where checked exceptions cannot be
+ * propagated, such as inside an {@link java.util.Iterator} or a stream.
+ */
+public class SqlExecutionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SqlExecutionException(String message, SQLException cause) {
+        super(message, cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
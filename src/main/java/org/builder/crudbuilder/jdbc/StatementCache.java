@@ -0,0 +1,242 @@
+package org.builder.crudbuilder.jdbc;
+
+import org.builder.crudbuilder.QueryMetrics;
+import org.builder.crudbuilder.SqlQuery;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the prepared statements of one connection, keyed on the SQL of the query, so queries of
+ * the same shape skip the prepare on drivers without a server-side statement cache.
+ *
+ * <p>Builders produce identical SQL for identical call sequences, and the same interned string
+ * when they share a {@link org.builder.crudbuilder.QueryShapeCache}, which makes the lookup an
+ * identity comparison in the common case. Once {@code maxStatements} are cached, the least
+ * recently used statement is closed and dropped.</p>
+ *
+ * <pre>{@code
+ * try (StatementCache statements = StatementCache.of(dataSource.getConnection(), 64)) {
+ *     for (Order order : orders) {
+ *         statements.executeUpdate(updateQuery()
+ *                 .updateTable("orders")
+ *                 .setValues(Map.of("status", order.status()))
+ *                 .whereEq("id", order.id()));
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Closing the cache closes every cached statement and then the connection, which returns a
+ * pooled connection to its pool. Like the connection, a cache is meant for one thread at a
+ * time.</p>
+ *
+ * @author Kim SeuongYong
+ */
+public final class StatementCache implements AutoCloseable {
+
+    private static final int DEFAULT_MAX_STATEMENTS = 64;
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements;
+    private final Map<PreparedStatement, List<Array>> boundArrays = new IdentityHashMap<>();
+    private long hits;
+    private long misses;
+    private long evictions;
+    private boolean closed;
+
+    private StatementCache(Connection connection, int maxStatements) {
+        this.connection = connection;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= maxStatements) {
+                    return false;
+                }
+                evictions++;
+                freeQuietly(boundArrays.remove(eldest.getValue()));
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    public static StatementCache of(Connection connection) {
+        return of(connection, DEFAULT_MAX_STATEMENTS);
+    }
+
+    /**
+     * @param maxStatements The maximum number of statements kept open on the connection.
+     * @throws IllegalArgumentException If the connection is null or maxStatements is not positive.
+     */
+    public static StatementCache of(Connection connection, int maxStatements) {
+        if (connection == null) {
+            throw new IllegalArgumentException("Connection cannot be null");
+        }
+        if (maxStatements <= 0) {
+            throw new IllegalArgumentException("maxStatements must be positive");
+        }
+        return new StatementCache(connection, maxStatements);
+    }
+
+    /**
+     * Returns the cached statement for the SQL of the query, preparing it on a miss, with the
+     * parameters of the query bound. The statement belongs to the cache and must not be closed.
+     * Driver arrays of {@link org.builder.crudbuilder.SqlArray} parameters stay allocated until
+     * the statement is bound again, dropped or the cache is cleared or closed.
+     *
+     * @throws IllegalStateException If the cache is closed.
+     */
+    public PreparedStatement prepare(SqlQuery query) throws SQLException {
+        PreparedStatement statement = statementFor(query);
+        List<Array> arrays = ParameterBinder.bind(statement, query.getParameters());
+        if (!arrays.isEmpty()) {
+            boundArrays.put(statement, arrays);
+        }
+        return statement;
+    }
+
+    /**
+     * Returns the cached statement for the SQL, first freeing the arrays a previous
+     * {@link #prepare} bound to it.
+     */
+
+    private PreparedStatement statementFor(SqlQuery query) throws SQLException {
+        if (closed) {
+            throw new IllegalStateException("Statement cache is closed");
+        }
+        String sql = query.getQuery();
+        PreparedStatement statement = statements.get(sql);
+        if (statement != null) {
+            hits++;
+            List<Array> previous = boundArrays.remove(statement);
+            if (previous != null) {
+                ParameterBinder.free(previous);
+            }
+        } else {
+            misses++;
+            statement = connection.prepareStatement(sql);
+            statements.put(sql, statement);
+        }
+        return statement;
+    }
+
+    /**
+     * Executes an INSERT, UPDATE or DELETE on its cached statement.
+     *
+     * @return The number of affected rows.
+     */
+    public int executeUpdate(SqlQuery query) throws SQLException {
+        QueryExecuteEvent event = QueryExecuteEvent.started();
+        QueryMetrics metrics = QueryMetrics.installed();
+        long start = metrics == QueryMetrics.NOOP ? 0 : System.nanoTime();
+        PreparedStatement statement = statementFor(query);
+        List<Array> arrays = ParameterBinder.bind(statement, query.getParameters());
+        int count;
+        try {
+            count = statement.executeUpdate();
+        } finally {
+            ParameterBinder.free(arrays);
+        }
+        if (metrics != QueryMetrics.NOOP) {
+            QueryExecutor.recordExecution(metrics, query.getQuery(), start, count);
+        }
+        event.complete(query, count);
+        return count;
+    }
+
+    /**
+     * Executes a SELECT on its cached statement and maps every row.
+     *
+     * @return The mapped rows in result set order.
+     */
+    public <T> List<T> executeQuery(SqlQuery query, RowMapper<T> rowMapper) throws SQLException {
+        QueryExecuteEvent event = QueryExecuteEvent.started();
+        QueryMetrics metrics = QueryMetrics.installed();
+        long start = metrics == QueryMetrics.NOOP ? 0 : System.nanoTime();
+        PreparedStatement statement = statementFor(query);
+        List<Array> arrays = ParameterBinder.bind(statement, query.getParameters());
+        List<T> rows;
+        try {
+            rows = QueryExecutor.mapRows(statement, rowMapper);
+        } finally {
+            ParameterBinder.free(arrays);
+        }
+        if (metrics != QueryMetrics.NOOP) {
+            QueryExecutor.recordExecution(metrics, query.getQuery(), start, rows.size());
+        }
+        event.complete(query, rows.size());
+        return rows;
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    public long hitCount() {
+        return hits;
+    }
+
+    public long missCount() {
+        return misses;
+    }
+
+    public long evictionCount() {
+        return evictions;
+    }
+
+    public int size() {
+        return statements.size();
+    }
+
+    /**
+     * Closes and drops every cached statement; the connection stays open.
+     */
+    public void clear() {
+        for (List<Array> arrays : boundArrays.values()) {
+            freeQuietly(arrays);
+        }
+        boundArrays.clear();
+        for (PreparedStatement statement : statements.values()) {
+            closeQuietly(statement);
+        }
+        statements.clear();
+    }
+
+    /**
+     * Closes every cached statement, then the connection.
+     */
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        clear();
+        connection.close();
+    }
+
+    private static void freeQuietly(List<Array> arrays) {
+        if (arrays == null) {
+            return;
+        }
+        try {
+            ParameterBinder.free(arrays);
+        } catch (SQLException ignored) {
+            // The arrays are no longer referenced; a broken connection fails the next query.
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // The statement is dropped either way; a broken connection fails the next query.
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.builder.crudbuilder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuilderPoolTest {
+
+    @AfterEach
+    void tearDown() {
+        BuilderPool.clear();
+    }
+
+    @Test
+    void sameThreadReusesResetBuilder() {
+        SelectBuilder first = BuilderPool.select().selectFrom("users").whereEq("id", 1);
+        assertThat(first.getQuery()).isEqualTo("SELECT * FROM users WHERE id = ?");
+
+        SelectBuilder second = BuilderPool.select().selectFrom("orders").whereEq("id", 2);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getQuery()).isEqualTo("SELECT * FROM orders WHERE id = ?");
+        assertThat(second.getParameters()).containsExactly(2);
+    }
+
+    @Test
+    void pooledDeleteAndUpdateStartFresh() {
+        BuilderPool.delete().deleteFrom("users").whereEq("id", 1);
+        BuilderPool.update().updateTable("members").setCase("grade");
+
+        DeleteBuilder delete = BuilderPool.delete().deleteFrom("orders");
+        UpdateBuilder update = BuilderPool.update().updateTable("orders");
+
+        assertThat(delete.getQuery()).isEqualTo("DELETE FROM orders");
+        assertThat(update.getQuery()).isEqualTo("UPDATE orders");
+    }
+
+    @Test
+    void otherThreadsGetTheirOwnBuilder() {
+        InsertBuilder mine = BuilderPool.insert();
+
+        InsertBuilder theirs = CompletableFuture.supplyAsync(BuilderPool::insert).join();
+
+        assertThat(theirs).isNotSameAs(mine);
+    }
+}
@@ -0,0 +1,86 @@
+package org.builder.crudbuilder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.builder.crudbuilder.DeleteBuilder.deleteQuery;
+import static org.builder.crudbuilder.InsertBuilder.insert;
+import static org.builder.crudbuilder.SelectBuilder.selectBuilder;
+import static org.builder.crudbuilder.UpdateBuilder.updateQuery;
+
+class BuiltQueryTest {
+
+    @Test
+    void equalQueriesAreEqualKeys() {
+        BuiltQuery first = selectBuilder().selectFrom("users").whereEq("id", 1).build();
+        BuiltQuery second = selectBuilder().selectFrom("users").whereEq("id", 1).build();
+        BuiltQuery other = selectBuilder().selectFrom("users").whereEq("id", 2).build();
+
+        assertThat(first).isEqualTo(second).hasSameHashCodeAs(second);
+        assertThat(first).isNotEqualTo(other);
+        assertThat(first.getQuery()).isSameAs(second.getQuery());
+
+        Map<BuiltQuery, String> cache = new HashMap<>();
+        cache.put(first, "cached");
+        assertThat(cache.get(second)).isEqualTo("cached");
+    }
+
+    @Test
+    void snapshotSurvivesBuilderReset() {
+        SelectBuilder builder = selectBuilder().selectFrom("users").whereIn("id", List.of(1, 2));
+        BuiltQuery built = builder.build();
+
+        builder.reset().selectFrom("orders").whereEq("id", 3);
+
+        assertThat(built.getQuery()).isEqualTo("SELECT * FROM users WHERE id IN (?, ?)");
+        assertThat(built.getParameters()).containsExactly(1, 2);
+    }
+
+    @Test
+    void parametersAreReadOnly() {
+        BuiltQuery built = deleteQuery().deleteFrom("users").whereEq("id", 1).build();
+
+        assertThat(built.getParameters().isFrozen()).isTrue();
+        assertThatThrownBy(() -> built.getParameters().add(2))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> built.getParameters().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void arrayParametersCompareByContent() {
+        ParameterBuffer first = new ParameterBuffer();
+        first.add(new byte[]{1, 2});
+        ParameterBuffer second = new ParameterBuffer();
+        second.add(new byte[]{1, 2});
+
+        assertThat(BuiltQuery.of("SELECT ?", first)).isEqualTo(BuiltQuery.of("SELECT ?", second))
+                .hasSameHashCodeAs(BuiltQuery.of("SELECT ?", second));
+    }
+
+    @Test
+    void everyBuilderCanBuild() {
+        assertThat(insert().values("users", List.of("a")).build().getQuery())
+                .isEqualTo("INSERT INTO users VALUES (?)");
+        assertThat(updateQuery().updateTable("users").setValues(Map.of("age", 1)).build().getParameters())
+                .containsExactly(1);
+    }
+
+    @Test
+    void snapshotsKnowTheirBuilder() {
+        SelectBuilder select = selectBuilder().selectFrom("users").whereEq("id", 1);
+
+        assertThat(select.build().getBuilder()).isEqualTo("SelectBuilder");
+        assertThat(BuiltQuery.of(select).getBuilder()).isEqualTo("SelectBuilder");
+        assertThat(select.renderFor(StandardDialect.H2).getBuilder()).isEqualTo("SelectBuilder");
+        assertThat(deleteQuery().deleteFrom("users").whereEq("id", 1).buildChunk("id", 10).getBuilder())
+                .isEqualTo("DeleteBuilder");
+        assertThat(BuiltQuery.of(select.getQuery(), select.getParameters()).getBuilder()).isNull();
+        assertThat(BuiltQuery.of(select.getQuery(), select.getParameters())).isEqualTo(select.build());
+    }
+}
@@ -0,0 +1,132 @@
+package org.builder.crudbuilder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.builder.crudbuilder.CopyBuilder.copy;
+
+class CopyBuilderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void textRowsAreWrittenToFile() throws IOException {
+        Path file = directory.resolve("users.copy");
+        CopyLoad load = copy().columnsAndMultiValues("users", List.of(
+                row(1L, "Alice", true), row(2L, "tab\there\nnew\\line", null)).iterator());
+
+        long count;
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            count = load.writeTo(writer);
+        }
+
+        assertThat(count).isEqualTo(2);
+        assertThat(load.getCommand()).isEqualTo("COPY users (id, name, active) FROM STDIN");
+        assertThat(Files.readString(file)).isEqualTo("1\tAlice\tt\n2\ttab\\there\\nnew\\\\line\t\\N\n");
+    }
+
+    @Test
+    void streamsAreEncodedWithSmallBuffer() throws IOException {
+        Path file = directory.resolve("numbers.copy");
+        CopyLoad load = copy(CopyFormat.TEXT, 16)
+                .multiValues("numbers", IntStream.range(0, 1000).mapToObj(i -> List.<Object>of(i, "n" + i)));
+
+        try (OutputStream out = Files.newOutputStream(file)) {
+            assertThat(load.writeTo(out)).isEqualTo(1000);
+        }
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(load.getCommand()).isEqualTo("COPY numbers FROM STDIN");
+        assertThat(lines).hasSize(1000);
+        assertThat(lines.get(999)).isEqualTo("999\tn999");
+    }
+
+    @Test
+    void binaryTuplesFollowPostgresLayout() throws IOException {
+        Path file = directory.resolve("users.bin");
+        CopyLoad load = copy(CopyFormat.BINARY).multiValues("users", Stream.of(
+                Arrays.<Object>asList(7L, "é", null, LocalDate.of(2000, 1, 2))));
+
+        try (OutputStream out = Files.newOutputStream(file)) {
+            load.writeTo(out);
+        }
+
+        assertThat(load.getCommand()).isEqualTo("COPY users FROM STDIN (FORMAT binary)");
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            byte[] signature = new byte[11];
+            in.readFully(signature);
+            assertThat(signature).isEqualTo(new byte[]{'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0});
+            assertThat(in.readInt()).isZero();
+            assertThat(in.readInt()).isZero();
+            assertThat(in.readShort()).isEqualTo((short) 4);
+            assertThat(in.readInt()).isEqualTo(8);
+            assertThat(in.readLong()).isEqualTo(7L);
+            assertThat(in.readInt()).isEqualTo(2);
+            assertThat(in.readNBytes(2)).isEqualTo("é".getBytes(StandardCharsets.UTF_8));
+            assertThat(in.readInt()).isEqualTo(-1);
+            assertThat(in.readInt()).isEqualTo(4);
+            assertThat(in.readInt()).isEqualTo(1);
+            assertThat(in.readShort()).isEqualTo((short) -1);
+            assertThat(in.read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void binaryOutputDoesNotDependOnBufferSize() {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            rows.add(List.of(i, "value-" + i, (double) i));
+        }
+
+        ByteArrayOutputStream small = new ByteArrayOutputStream();
+        ByteArrayOutputStream large = new ByteArrayOutputStream();
+        copy(CopyFormat.BINARY, 64).multiValues("t", rows.iterator()).writeTo(small);
+        copy(CopyFormat.BINARY).multiValues("t", rows.iterator()).writeTo(large);
+
+        assertThat(small.toByteArray()).isEqualTo(large.toByteArray());
+    }
+
+    @Test
+    void invalidLoadsAreRejected() {
+        CopyLoad ragged = copy().multiValues("t", List.of(List.<Object>of(1, 2), List.<Object>of(3)).iterator());
+        assertThatThrownBy(() -> ragged.writeTo(new StringWriter()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ragged.writeTo(new StringWriter()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> copy(CopyFormat.BINARY).multiValues("t", List.of(List.<Object>of(1)).iterator())
+                .writeTo(new StringWriter()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> copy(CopyFormat.BINARY).multiValues("t", List.of(List.<Object>of(new Object())).iterator())
+                .writeTo(new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<String, Object> row(long id, String name, Boolean active) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("name", name);
+        row.put("active", active);
+        return row;
+    }
+}
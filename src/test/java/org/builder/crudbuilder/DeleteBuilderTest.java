@@ -344,4 +344,71 @@ class DeleteBuilderTest {
         assertThat(parameters).containsExactly(15, 20, 25);
     }
 
+    @Test
+    void resetRequiresTableAgain() {
+        DeleteBuilder builder = deleteQuery()
+                .deleteFrom("users")
+                .whereEq("id", 1);
+
+        builder.reset();
+
+        assertThat(builder.getQuery()).isEmpty();
+        assertThat(builder.getParameters()).isEmpty();
+        assertThatThrownBy(() -> builder.whereEq("id", 2))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(builder.deleteFrom("orders").whereEq("id", 2).getQuery())
+                .isEqualTo("DELETE FROM orders WHERE id = ?");
+        assertThat(builder.getParameters()).containsExactly(2);
+    }
+
+    @Test
+    void whereNotInAsArray() {
+        DeleteBuilder builder = deleteQuery(StandardDialect.H2)
+                .bindInListsAsArray()
+                .deleteFrom("users")
+                .whereNotIn("name", List.of("a", "b"));
+
+        assertThat(builder.getQuery()).isEqualTo("DELETE FROM users WHERE name <> ALL(?)");
+        assertThat(builder.getParameters()).containsExactly(SqlArray.of("varchar", List.of("a", "b")));
+    }
+
+    @Test
+    void buildChunkLimitsRowsPerDialect() {
+        BuiltQuery generic = deleteQuery()
+                .deleteFrom("events")
+                .whereLt("created_at", 100)
+                .buildChunk("id", 500);
+        BuiltQuery mysql = deleteQuery(StandardDialect.MYSQL)
+                .deleteFrom("events")
+                .whereLt("created_at", 100)
+                .buildChunk("id", 500);
+        BuiltQuery sqlServer = deleteQuery(StandardDialect.SQL_SERVER)
+                .deleteFrom("events")
+                .buildChunk("id", 500);
+
+        assertThat(generic.getQuery()).isEqualTo("DELETE FROM events WHERE id IN "
+                + "(SELECT id FROM events WHERE created_at < ? LIMIT 500)");
+        assertThat(generic.getParameters()).containsExactly(100);
+        assertThat(mysql.getQuery()).isEqualTo("DELETE FROM events WHERE created_at < ? LIMIT 500");
+        assertThat(sqlServer.getQuery()).isEqualTo("DELETE TOP (500) FROM events");
+    }
+
+    @Test
+    void buildChunkReturnsFromTheOuterDelete() {
+        BuiltQuery chunk = deleteQuery(StandardDialect.POSTGRES)
+                .deleteFrom("events")
+                .whereLt("created_at", 100)
+                .returning(List.of("id"))
+                .buildChunk("id", 500);
+
+        assertThat(chunk.getQuery()).isEqualTo("DELETE FROM events WHERE id IN "
+                + "(SELECT id FROM events WHERE created_at < ? LIMIT 500) RETURNING id");
+        assertThat(chunk.getParameters()).containsExactly(100);
+    }
+
+    @Test
+    void buildChunkRequiresTable() {
+        assertThatThrownBy(() -> deleteQuery().buildChunk("id", 10))
+                .isInstanceOf(IllegalStateException.class);
+    }
 }
@@ -0,0 +1,112 @@
+package org.builder.crudbuilder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.builder.crudbuilder.DeleteBuilder.deleteQuery;
+import static org.builder.crudbuilder.InsertBuilder.insert;
+import static org.builder.crudbuilder.SelectBuilder.selectBuilder;
+import static org.builder.crudbuilder.UpdateBuilder.updateQuery;
+
+class DialectTest {
+
+    @Test
+    void genericKeepsParenthesizedSelectList() {
+        String query = selectBuilder(StandardDialect.GENERIC)
+                .select(List.of("email", "age"))
+                .from("users")
+                .getQuery();
+
+        assertThat(query).isEqualTo("SELECT (email, age) FROM users");
+    }
+
+    @Test
+    void vendorDialectsRenderPlainSelectList() {
+        String query = selectBuilder(StandardDialect.POSTGRES)
+                .select(List.of("email", "age"))
+                .from("users")
+                .limit(10)
+                .getQuery();
+
+        assertThat(query).isEqualTo("SELECT email, age FROM users LIMIT 10");
+    }
+
+    @Test
+    void sqlServerUsesFetchFirst() {
+        String query = selectBuilder(StandardDialect.SQL_SERVER)
+                .selectFrom("users")
+                .orderBy("id", OrderType.ASC)
+                .limit(10)
+                .getQuery();
+
+        assertThat(query).isEqualTo("SELECT * FROM users ORDER BY id ASC OFFSET 0 ROWS FETCH NEXT 10 ROWS ONLY");
+    }
+
+    @Test
+    void identifiersAreQuotedPerPart() {
+        assertThat(StandardDialect.POSTGRES.quoteIdentifier("u.order")).isEqualTo("\"u\".\"order\"");
+        assertThat(StandardDialect.H2.quoteIdentifier("we\"ird")).isEqualTo("\"we\"\"ird\"");
+        assertThat(StandardDialect.MYSQL.quoteIdentifier("order")).isEqualTo("`order`");
+        assertThat(StandardDialect.SQL_SERVER.quoteIdentifier("dbo.users")).isEqualTo("[dbo].[users]");
+        assertThat(StandardDialect.POSTGRES.quoteIdentifier("u.*")).isEqualTo("\"u\".*");
+    }
+
+    @Test
+    void seekAfterExpandsRowValueWithoutSupport() {
+        SelectBuilder builder = selectBuilder(StandardDialect.SQL_SERVER)
+                .selectFrom("events")
+                .seekAfter(List.of("a", "b", "c"), List.of(1, 2, 3), 10);
+
+        assertThat(builder.getQuery()).isEqualTo("SELECT * FROM events WHERE (a > ? OR (a = ? AND b > ?) "
+                + "OR (a = ? AND b = ? AND c > ?)) ORDER BY a ASC, b ASC, c ASC OFFSET 0 ROWS FETCH NEXT 10 ROWS ONLY");
+        assertThat(builder.getParameters()).containsExactly(1, 1, 2, 1, 2, 3);
+    }
+
+    @Test
+    void returningOnPostgres() {
+        InsertBuilder insert = insert(StandardDialect.POSTGRES)
+                .values("users", List.of("a"))
+                .returning(List.of("id"));
+        UpdateBuilder update = updateQuery(StandardDialect.POSTGRES)
+                .updateTable("users")
+                .setValues(Map.of("age", 1))
+                .whereEq("id", 2)
+                .returning(List.of("id", "age"));
+        DeleteBuilder delete = deleteQuery(StandardDialect.POSTGRES)
+                .deleteFrom("users")
+                .whereEq("id", 2)
+                .returning(List.of("id"));
+
+        assertThat(insert.getQuery()).isEqualTo("INSERT INTO users VALUES (?) RETURNING id");
+        assertThat(update.getQuery()).isEqualTo("UPDATE users SET age = ? WHERE id = ? RETURNING id, age");
+        assertThat(delete.getQuery()).isEqualTo("DELETE FROM users WHERE id = ? RETURNING id");
+    }
+
+    @Test
+    void returningIsRejectedWithoutSupport() {
+        assertThatThrownBy(() -> insert(StandardDialect.MYSQL).values("users", List.of("a")).returning(List.of("id")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void dialectIsPickedFromProductName() {
+        assertThat(StandardDialect.forProductName("PostgreSQL")).isEqualTo(StandardDialect.POSTGRES);
+        assertThat(StandardDialect.forProductName("MySQL")).isEqualTo(StandardDialect.MYSQL);
+        assertThat(StandardDialect.forProductName("MariaDB")).isEqualTo(StandardDialect.GENERIC);
+        assertThat(StandardDialect.forProductName("H2")).isEqualTo(StandardDialect.H2);
+        assertThat(StandardDialect.forProductName("Microsoft SQL Server")).isEqualTo(StandardDialect.SQL_SERVER);
+        assertThat(StandardDialect.forProductName("Oracle")).isEqualTo(StandardDialect.GENERIC);
+    }
+
+    @Test
+    void cursorSettings() {
+        assertThat(StandardDialect.POSTGRES.cursorRequiresTransaction()).isTrue();
+        assertThat(StandardDialect.H2.cursorRequiresTransaction()).isFalse();
+        assertThat(StandardDialect.MYSQL.cursorFetchSize(500)).isEqualTo(Integer.MIN_VALUE);
+        assertThat(StandardDialect.SQL_SERVER.cursorFetchSize(500)).isEqualTo(500);
+    }
+}
@@ -0,0 +1,102 @@
+package org.builder.crudbuilder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.builder.crudbuilder.DeleteBuilder.deleteQuery;
+import static org.builder.crudbuilder.SelectBuilder.selectBuilder;
+import static org.builder.crudbuilder.UpdateBuilder.updateQuery;
+
+class InListPaddingTest {
+
+    @Test
+    void powersOfTwoRoundUp() {
+        InListPadding padding = InListPadding.powersOfTwo();
+
+        assertThat(padding.paddedSize(1)).isEqualTo(1);
+        assertThat(padding.paddedSize(3)).isEqualTo(4);
+        assertThat(padding.paddedSize(4)).isEqualTo(4);
+        assertThat(padding.paddedSize(5)).isEqualTo(8);
+        assertThat(padding.paddedSize(1000)).isEqualTo(1024);
+    }
+
+    @Test
+    void stepsRoundUpToFirstFittingStep() {
+        InListPadding padding = InListPadding.steps(10, 50, 100);
+
+        assertThat(padding.paddedSize(1)).isEqualTo(10);
+        assertThat(padding.paddedSize(10)).isEqualTo(10);
+        assertThat(padding.paddedSize(11)).isEqualTo(50);
+        assertThat(padding.paddedSize(100)).isEqualTo(100);
+        assertThat(padding.paddedSize(101)).isEqualTo(200);
+    }
+
+    @Test
+    void sizesWithoutAnIntBucketStayExact() {
+        int large = (1 << 30) + 1;
+
+        assertThat(InListPadding.powersOfTwo().paddedSize(1 << 30)).isEqualTo(1 << 30);
+        assertThat(InListPadding.powersOfTwo().paddedSize(large)).isEqualTo(large);
+        assertThat(InListPadding.powersOfTwo().paddedSize(Integer.MAX_VALUE)).isEqualTo(Integer.MAX_VALUE);
+        assertThat(InListPadding.steps(10, 100).paddedSize(Integer.MAX_VALUE - 1)).isEqualTo(Integer.MAX_VALUE - 1);
+    }
+
+    @Test
+    void invalidStepsAreRejected() {
+        assertThatThrownBy(InListPadding::steps)
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> InListPadding.steps(10, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void statisticsCountAvoidedShapes() {
+        InListPadding padding = InListPadding.powersOfTwo();
+        for (int size = 5; size <= 8; size++) {
+            padding.paddedSize(size);
+        }
+
+        assertThat(padding.distinctListSizes()).isEqualTo(4);
+        assertThat(padding.distinctShapes()).isEqualTo(1);
+        assertThat(padding.shapesAvoided()).isEqualTo(3);
+        assertThat(padding.paddedValueCount()).isEqualTo(3 + 2 + 1);
+    }
+
+    @Test
+    void selectWhereInRepeatsLastValue() {
+        SelectBuilder builder = selectBuilder()
+                .padInLists(InListPadding.powersOfTwo())
+                .selectFrom("users")
+                .whereIn("id", Arrays.asList(1, 2, 3, 4, 5));
+
+        assertThat(builder.getQuery()).isEqualTo("SELECT * FROM users WHERE id IN (?, ?, ?, ?, ?, ?, ?, ?)");
+        assertThat(builder.getParameters()).containsExactly(1, 2, 3, 4, 5, 5, 5, 5);
+    }
+
+    @Test
+    void deleteWhereNotInIsPadded() {
+        DeleteBuilder builder = deleteQuery()
+                .padInLists(InListPadding.steps(4))
+                .deleteFrom("users")
+                .whereNotIn("id", Arrays.asList(1, 2, 3));
+
+        assertThat(builder.getQuery()).isEqualTo("DELETE FROM users WHERE id NOT IN (?, ?, ?, ?)");
+        assertThat(builder.getParameters()).containsExactly(1, 2, 3, 3);
+    }
+
+    @Test
+    void updateWhereInIsPadded() {
+        UpdateBuilder builder = updateQuery()
+                .padInLists(InListPadding.powersOfTwo())
+                .updateTable("users")
+                .setValues(Map.of("age", 1))
+                .whereIn("id", Arrays.asList(7, 8, 9));
+
+        assertThat(builder.getQuery()).isEqualTo("UPDATE users SET age = ? WHERE id IN (?, ?, ?, ?)");
+        assertThat(builder.getParameters()).containsExactly(1, 7, 8, 9, 9);
+    }
+}
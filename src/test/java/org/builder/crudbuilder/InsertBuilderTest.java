@@ -2,12 +2,20 @@ package org.builder.crudbuilder;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.builder.crudbuilder.InsertBuilder.insert;
 
 class InsertBuilderTest {
@@ -79,6 +87,194 @@ class InsertBuilderTest {
         assertThat(parameters).containsExactly("Alice", 25, "female", "Bob", 30, "male", "Charlie", 35, "male");
     }
 
+    @Test
+    void chunkedMultiValuesRespectBindLimit() {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.add(Arrays.asList("user" + i, i, "male"));
+        }
+
+        InsertChunks chunks = insert().multiValuesChunked("users", rows, ChunkLimit.maxBinds(9));
+        List<StatementChunk> statements = new ArrayList<>();
+        chunks.forEachRemaining(statements::add);
+
+        assertThat(statements).extracting(StatementChunk::getRowCount).containsExactly(3, 3, 3, 1);
+        assertThat(statements.get(0).getQuery()).isEqualTo("INSERT INTO users VALUES (?, ?, ?), (?, ?, ?), (?, ?, ?)");
+        assertThat(statements.get(1).getQuery()).isSameAs(statements.get(0).getQuery());
+        assertThat(statements.get(2).getQuery()).isSameAs(statements.get(0).getQuery());
+        assertThat(statements.get(3).getQuery()).isEqualTo("INSERT INTO users VALUES (?, ?, ?)");
+        assertThat(statements.get(0).getParameters()).containsExactly("user0", 0, "male", "user1", 1, "male", "user2", 2, "male");
+        assertThat(statements.get(3).getParameters()).containsExactly("user9", 9, "male");
+    }
+
+    @Test
+    void chunkedColumnsAndMultiValuesUseFirstRowColumns() {
+        List<Map<String, Object>> rows = Arrays.asList(
+                createLinkedMap("name", "Alice", "age", 25),
+                createLinkedMap("name", "Bob", "age", 30),
+                createLinkedMap("name", "jim", "age", 15)
+        );
+
+        InsertChunks chunks = insert().columnsAndMultiValuesChunked("users", rows, ChunkLimit.maxBinds(4));
+
+        StatementChunk first = chunks.next();
+        StatementChunk second = chunks.next();
+        assertThat(chunks.hasNext()).isFalse();
+        assertThat(first.getQuery()).isEqualTo("INSERT INTO users (name, age) VALUES (?, ?), (?, ?)");
+        assertThat(first.getParameters()).containsExactly("Alice", 25, "Bob", 30);
+        assertThat(second.getQuery()).isEqualTo("INSERT INTO users (name, age) VALUES (?, ?)");
+        assertThat(second.getParameters()).containsExactly("jim", 15);
+    }
+
+    @Test
+    void multiRowInsertsReadRowsByColumnName() {
+        List<Map<String, Object>> rows = Arrays.asList(
+                createLinkedMap("name", "Alice", "age", 25),
+                createLinkedMap("age", 30, "name", "Bob"),
+                new HashMap<>(createLinkedMap("name", "jim", "age", 15))
+        );
+
+        InsertBuilder builder = insert().columnsAndMultiValues("users", rows);
+        StatementChunk chunk = insert().columnsAndMultiValuesChunked("users", rows, ChunkLimit.maxBinds(100)).next();
+
+        assertThat(builder.getQuery()).isEqualTo("INSERT INTO users (name, age) VALUES (?, ?), (?, ?), (?, ?)");
+        assertThat(builder.getParameters()).containsExactly("Alice", 25, "Bob", 30, "jim", 15);
+        assertThat(chunk.getParameters()).containsExactly("Alice", 25, "Bob", 30, "jim", 15);
+        assertThatThrownBy(() -> insert().columnsAndMultiValues("users",
+                List.of(createLinkedMap("name", "Alice", "age", 25), createLinkedMap("name", "Bob", "score", 30))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("missing column age");
+    }
+
+    @Test
+    void chunkedInsertRespectsByteLimit() {
+        String large = "x".repeat(100);
+        List<List<Object>> rows = Arrays.asList(
+                Arrays.asList(1, large),
+                Arrays.asList(2, large),
+                Arrays.asList(3, large)
+        );
+
+        InsertChunks chunks = insert().multiValuesChunked("blobs", rows, ChunkLimit.maxBinds(100).withMaxBytes(300));
+
+        assertThat(chunks.next().getRowCount()).isEqualTo(2);
+        assertThat(chunks.next().getRowCount()).isEqualTo(1);
+        assertThat(chunks.hasNext()).isFalse();
+    }
+
+    @Test
+    void chunkedInsertWithByteOnlyLimit() {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            rows.add(Arrays.asList(i, "user" + i));
+        }
+        ChunkLimit limit = ChunkLimit.maxBytes(10_000);
+
+        List<StatementChunk> statements = new ArrayList<>();
+        insert().multiValuesChunked("users", rows, limit).forEachRemaining(statements::add);
+
+        assertThat(limit.getMaxBinds()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(statements).hasSizeGreaterThan(1);
+        assertThat(statements).extracting(StatementChunk::getRowCount).allMatch(count -> count < 1_000);
+        assertThat(statements.stream().mapToInt(StatementChunk::getRowCount).sum()).isEqualTo(1_000);
+        assertThat(statements).allMatch(chunk -> chunk.getQuery().length() < 10_000);
+        assertThatThrownBy(() -> ChunkLimit.maxBytes(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void chunkedInsertReadsRowsLazily() {
+        AtomicInteger produced = new AtomicInteger();
+        Iterator<List<Object>> rows = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return produced.get() < 1_000_000;
+            }
+
+            @Override
+            public List<Object> next() {
+                int id = produced.incrementAndGet();
+                return Arrays.asList(id, "name" + id);
+            }
+        };
+
+        InsertChunks chunks = insert().multiValuesChunked("users", rows, ChunkLimit.maxBinds(20));
+        StatementChunk first = chunks.next();
+
+        assertThat(first.getRowCount()).isEqualTo(10);
+        assertThat(produced.get()).isEqualTo(10);
+    }
+
+    @Test
+    void chunkedInsertRejectsRaggedRows() {
+        List<List<Object>> rows = Arrays.asList(
+                Arrays.asList("Alice", 25),
+                Arrays.asList("Bob")
+        );
+
+        InsertChunks chunks = insert().multiValuesChunked("users", rows, ChunkLimit.postgres());
+
+        assertThatThrownBy(chunks::next).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void resetAllowsNextInsert() {
+        InsertBuilder builder = insert().values("users", Arrays.asList("Charlie", 35, "male"));
+
+        builder.reset().values("orders", Arrays.asList(1, 2));
+
+        assertThat(builder.getQuery()).isEqualTo("INSERT INTO orders VALUES (?, ?)");
+        assertThat(builder.getParameters()).containsExactly(1, 2);
+    }
+
+    @Test
+    void parallelRenderingMatchesSerialRendering() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 30_000; i++) {
+            rows.add(createLinkedMap("id", (long) i, "name", "user-" + i, "age", i % 90));
+        }
+
+        InsertBuilder serial = insert().columnsAndMultiValues("users", rows);
+        InsertBuilder parallel = insert().parallelRendering().columnsAndMultiValues("users", rows);
+
+        assertThat(parallel.getQuery()).isEqualTo(serial.getQuery());
+        assertThat(parallel.getParameters()).isEqualTo(serial.getParameters());
+    }
+
+    @Test
+    void parallelRenderingUsesTheGivenExecutor() {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            rows.add(Arrays.asList(i, "v" + i));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        AtomicInteger tasks = new AtomicInteger();
+        Executor counting = task -> {
+            tasks.incrementAndGet();
+            executor.execute(task);
+        };
+        try {
+            InsertBuilder parallel = insert().parallelRendering(counting).multiValues("items", rows);
+            InsertBuilder serial = insert().multiValues("items", rows);
+
+            assertThat(parallel.getQuery()).isEqualTo(serial.getQuery());
+            assertThat(parallel.getParameters().toArray()).isEqualTo(serial.getParameters().toArray());
+            assertThat(tasks.get()).isPositive();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void parallelRenderingReportsRaggedRows() {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            rows.add(i == 15_000 ? List.of(i) : Arrays.asList(i, "v" + i));
+        }
+
+        assertThatThrownBy(() -> insert().parallelRendering().multiValues("items", rows))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     private Map<String, Object> createLinkedMap(Object... keyValues) {
         if (keyValues.length % 2 != 0) {
             throw new IllegalArgumentException("Invalid number of key/value pairs");
@@ -89,4 +285,4 @@ class InsertBuilderTest {
         }
         return map;
     }
-}
\ No newline at end of file
+}
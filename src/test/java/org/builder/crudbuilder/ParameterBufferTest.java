@@ -0,0 +1,88 @@
+package org.builder.crudbuilder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParameterBufferTest {
+
+    @Test
+    void addAndGetKeepsPlaceholderOrder() {
+        ParameterBuffer buffer = new ParameterBuffer();
+        buffer.add("John");
+        buffer.add(30);
+        buffer.add(null);
+
+        assertThat(buffer).containsExactly("John", 30, null);
+        assertThat(buffer.get(1)).isEqualTo(30);
+    }
+
+    @Test
+    void addAtIndexShiftsFollowingSlots() {
+        ParameterBuffer buffer = new ParameterBuffer(2);
+        buffer.add("a");
+        buffer.add("c");
+        buffer.add(1, "b");
+        buffer.add(0, "start");
+        buffer.add(buffer.size(), "end");
+
+        assertThat(buffer).containsExactly("start", "a", "b", "c", "end");
+        assertThatThrownBy(() -> buffer.add(6, "x"))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> buffer.frozenCopy().add(0, "x"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        ParameterBuffer buffer = new ParameterBuffer(2);
+        for (int i = 0; i < 1000; i++) {
+            buffer.add(i);
+        }
+
+        assertThat(buffer).hasSize(1000);
+        assertThat(buffer.get(999)).isEqualTo(999);
+        assertThat(buffer.get(500)).isEqualTo(500);
+    }
+
+    @Test
+    void toArrayExportsValues() {
+        ParameterBuffer buffer = new ParameterBuffer();
+        buffer.add("a");
+        buffer.add(2L);
+
+        assertThat(buffer.toArray()).containsExactly("a", 2L);
+    }
+
+    @Test
+    void removeShiftsFollowingSlots() {
+        ParameterBuffer buffer = new ParameterBuffer();
+        buffer.addAll(List.of("a", "b", "c"));
+        buffer.add(4);
+        buffer.remove(1);
+
+        assertThat(buffer).containsExactly("a", "c", 4);
+    }
+
+    @Test
+    void clearKeepsBufferUsable() {
+        ParameterBuffer buffer = new ParameterBuffer();
+        buffer.addAll(List.of(1, 2, 3));
+        buffer.clear();
+        buffer.add("x");
+
+        assertThat(buffer).containsExactly("x");
+    }
+
+    @Test
+    void outOfRangeIndexIsRejected() {
+        ParameterBuffer buffer = new ParameterBuffer();
+        buffer.add("text");
+
+        assertThatThrownBy(() -> buffer.get(1))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
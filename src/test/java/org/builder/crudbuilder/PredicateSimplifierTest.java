@@ -0,0 +1,186 @@
+package org.builder.crudbuilder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.builder.crudbuilder.DeleteBuilder.deleteQuery;
+import static org.builder.crudbuilder.SelectBuilder.selectBuilder;
+import static org.builder.crudbuilder.UpdateBuilder.updateQuery;
+
+class PredicateSimplifierTest {
+
+    @Test
+    void repeatedTermsAreDropped() {
+        SelectBuilder builder = selectBuilder()
+                .selectFrom("users")
+                .simplifyPredicates()
+                .whereEq("status", "active")
+                .andEq("age", 30)
+                .andEq("status", "active");
+
+        assertThat(builder.getQuery()).isEqualTo("SELECT * FROM users WHERE status = ? AND age = ?");
+        assertThat(builder.getParameters()).containsExactly("active", 30);
+    }
+
+    @Test
+    void rangeBecomesBetween() {
+        SelectBuilder builder = selectBuilder()
+                .selectFrom("orders")
+                .simplifyPredicates()
+                .whereEq("customer_id", 7)
+                .andLte("amount", 100)
+                .andGte("amount", 10);
+
+        assertThat(builder.getQuery()).isEqualTo("SELECT * FROM orders WHERE customer_id = ? AND amount BETWEEN ? AND ?");
+        assertThat(builder.getParameters()).containsExactly(7, 10, 100);
+    }
+
+    @Test
+    void severalBoundsOnOneColumnAreKept() {
+        SelectBuilder builder = selectBuilder()
+                .selectFrom("orders")
+                .simplifyPredicates()
+                .whereGte("amount", 10)
+                .andGte("amount", 20)
+                .andLte("amount", 100);
+
+        assertThat(builder.getQuery()).isEqualTo("SELECT * FROM orders WHERE amount >= ? AND amount >= ? AND amount <= ?");
+    }
+
+    @Test
+    void orEqualitiesBecomeOneInList() {
+        SelectBuilder builder = selectBuilder()
+                .selectFrom("users")
+                .simplifyPredicates()
+                .whereEq("role", "admin")
+                .orEq("role", "owner")
+                .orEq("role", "admin")
+                .orEq("role", "editor");
+
+        assertThat(builder.getQuery()).isEqualTo("SELECT * FROM users WHERE role IN (?, ?, ?)");
+        assertThat(builder.getParameters()).containsExactly("admin", "owner", "editor");
+    }
+
+    @Test
+    void mergedInListIsPadded() {
+        SelectBuilder builder = selectBuilder()
+                .selectFrom("users")
+                .padInLists(InListPadding.powersOfTwo())
+                .simplifyPredicates()
+                .whereEq("id", 1)
+                .orEq("id", 2)
+                .orEq("id", 3);
+
+        assertThat(builder.getQuery()).isEqualTo("SELECT * FROM users WHERE id IN (?, ?, ?, ?)");
+        assertThat(builder.getParameters()).containsExactly(1, 2, 3, 3);
+    }
+
+    @Test
+    void reRenderingDoesNotRecordPaddingStatistics() {
+        InListPadding padding = InListPadding.powersOfTwo();
+        SelectBuilder builder = selectBuilder()
+                .selectFrom("users")
+                .padInLists(padding)
+                .simplifyPredicates()
+                .whereEq("id", 1)
+                .orEq("id", 2)
+                .orEq("id", 3);
+
+        builder.getQuery();
+        for (int i = 0; i < 3; i++) {
+            assertThat(builder.renderFor(StandardDialect.POSTGRES).getQuery())
+                    .isEqualTo("SELECT * FROM users WHERE id IN (?, ?, ?, ?)");
+        }
+
+        assertThat(padding.distinctListSizes()).isZero();
+        assertThat(padding.paddedValueCount()).isZero();
+    }
+
+    @Test
+    void andBindsTighterThanOr() {
+        SelectBuilder builder = selectBuilder()
+                .selectFrom("users")
+                .simplifyPredicates()
+                .whereEq("role", "admin")
+                .andEq("age", 30)
+                .orEq("role", "owner");
+
+        assertThat(builder.getQuery()).isEqualTo("SELECT * FROM users WHERE role = ? AND age = ? OR role = ?");
+    }
+
+    @Test
+    void repeatedOrGroupsAreDropped() {
+        SelectBuilder builder = selectBuilder()
+                .selectFrom("users")
+                .simplifyPredicates()
+                .whereEq("role", "admin")
+                .andEq("age", 30)
+                .orEq("role", "admin")
+                .andEq("age", 30);
+
+        assertThat(builder.getQuery()).isEqualTo("SELECT * FROM users WHERE role = ? AND age = ?");
+        assertThat(builder.getParameters()).containsExactly("admin", 30);
+    }
+
+    @Test
+    void rawConditionsAreLeftAlone() {
+        SelectBuilder builder = selectBuilder()
+                .selectFrom("users")
+                .simplifyPredicates()
+                .where("age > 3")
+                .orEq("id", 1)
+                .orEq("id", 2);
+
+        assertThat(builder.getQuery()).isEqualTo("SELECT * FROM users WHERE age > 3 OR id = ? OR id = ?");
+    }
+
+    @Test
+    void orderByAndLimitAreKept() {
+        SelectBuilder builder = selectBuilder(StandardDialect.POSTGRES)
+                .selectFrom("users")
+                .simplifyPredicates()
+                .whereEq("id", 1)
+                .orEq("id", 2)
+                .orderBy("id", OrderType.ASC)
+                .limit(10);
+
+        assertThat(builder.getQuery()).isEqualTo("SELECT * FROM users WHERE id IN (?, ?) ORDER BY id ASC LIMIT 10");
+    }
+
+    @Test
+    void nodesKeepTheOriginalChain() {
+        SelectBuilder builder = selectBuilder()
+                .selectFrom("users")
+                .simplifyPredicates()
+                .whereEq("id", 1)
+                .orEq("id", 2);
+
+        builder.getQuery();
+
+        assertThat(builder.getNodes()).hasSize(4);
+    }
+
+    @Test
+    void updateAndDeleteAreSimplified() {
+        UpdateBuilder update = updateQuery()
+                .updateTable("users")
+                .setValues(Map.of("active", false))
+                .simplifyPredicates()
+                .whereGte("age", 18)
+                .andLte("age", 65)
+                .andLte("age", 65);
+        DeleteBuilder delete = deleteQuery()
+                .deleteFrom("sessions")
+                .simplifyPredicates()
+                .whereEq("user_id", 1)
+                .orEq("user_id", 2);
+
+        assertThat(update.getQuery()).isEqualTo("UPDATE users SET active = ? WHERE age BETWEEN ? AND ?");
+        assertThat(update.getParameters()).containsExactly(false, 18, 65);
+        assertThat(delete.getQuery()).isEqualTo("DELETE FROM sessions WHERE user_id IN (?, ?)");
+        assertThat(delete.buildChunk("id", 100).getParameters()).containsExactly(1, 2);
+    }
+}
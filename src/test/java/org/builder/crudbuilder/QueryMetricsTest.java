@@ -0,0 +1,122 @@
+package org.builder.crudbuilder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.builder.crudbuilder.InsertBuilder.insert;
+import static org.builder.crudbuilder.SelectBuilder.selectBuilder;
+import static org.builder.crudbuilder.UpsertBuilder.upsert;
+
+class QueryMetricsTest {
+
+    private final InMemoryQueryMetrics metrics = new InMemoryQueryMetrics();
+
+    @BeforeEach
+    void setUp() {
+        QueryMetrics.install(metrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryMetrics.install(QueryMetrics.NOOP);
+    }
+
+    @Test
+    void buildersReportTheirRendering() {
+        SelectBuilder select = selectBuilder()
+                .selectFrom("users")
+                .whereIn("id", List.of(1, 2, 3))
+                .andEq("active", true);
+        InsertBuilder insert = insert().columnsAndMultiValues("users", List.of(row(1), row(2)));
+
+        String sql = select.getQuery();
+        select.getParameters();
+        insert.getQuery();
+
+        assertThat(metrics.renderCount("SelectBuilder")).isEqualTo(1);
+        assertThat(metrics.renderCount("InsertBuilder")).isEqualTo(1);
+        assertThat(metrics.renderNanos().count()).isEqualTo(2);
+        assertThat(metrics.sqlLength().max()).isGreaterThanOrEqualTo(sql.length());
+        assertThat(metrics.parameterCount().sum()).isEqualTo(4 + 4);
+        assertThat(metrics.inListSize().sum()).isEqualTo(3);
+        assertThat(metrics.multiInsertRows().sum()).isEqualTo(2);
+    }
+
+    @Test
+    void upsertReportsItsRows() {
+        upsert(StandardDialect.POSTGRES)
+                .columnsAndMultiValues("counters", List.of(row(1), row(2), row(3)))
+                .onConflict(List.of("id"))
+                .getQuery();
+
+        assertThat(metrics.renderCount("UpsertBuilder")).isEqualTo(1);
+        assertThat(metrics.multiInsertRows().sum()).isEqualTo(3);
+    }
+
+    @Test
+    void noopMeasuresNothing() {
+        QueryMetrics.install(QueryMetrics.NOOP);
+
+        selectBuilder().selectFrom("users").whereEq("id", 1).getQuery();
+
+        assertThat(QueryMetrics.installed()).isSameAs(QueryMetrics.NOOP);
+        assertThat(metrics.renderNanos().count()).isZero();
+        assertThatThrownBy(() -> QueryMetrics.install(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fingerprintIgnoresListLengths() {
+        String twoValues = selectBuilder().selectFrom("users").whereIn("id", List.of(1, 2)).getQuery();
+        String fiveValues = selectBuilder().selectFrom("users").whereIn("id", List.of(1, 2, 3, 4, 5)).getQuery();
+        String oneRow = insert().columnsAndMultiValues("users", List.of(row(1))).getQuery();
+        String threeRows = insert().columnsAndMultiValues("users", List.of(row(1), row(2), row(3))).getQuery();
+
+        assertThat(QueryMetrics.fingerprint(twoValues))
+                .hasSize(16)
+                .isEqualTo(QueryMetrics.fingerprint(fiveValues))
+                .isNotEqualTo(QueryMetrics.fingerprint("SELECT * FROM users WHERE name IN (?, ?)"));
+        assertThat(QueryMetrics.fingerprint(oneRow)).isEqualTo(QueryMetrics.fingerprint(threeRows));
+        assertThat(QueryMetrics.fingerprint("SELECT 1")).isEqualTo(QueryMetrics.fingerprint("SELECT 1"));
+    }
+
+    @Test
+    void fingerprintsAreComputedOncePerStatement() {
+        String sql = selectBuilder(new QueryShapeCache()).selectFrom("orders").whereEq("id", 1).getQuery();
+
+        assertThat(QueryMetrics.fingerprint(sql)).isSameAs(QueryMetrics.fingerprint(sql));
+    }
+
+    @Test
+    void histogramBucketsByPowersOfTwo() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        histogram.record(0);
+        histogram.record(-5);
+
+        assertThat(histogram.count()).isEqualTo(102);
+        assertThat(histogram.sum()).isEqualTo(5050);
+        assertThat(histogram.max()).isEqualTo(100);
+        assertThat(histogram.bucketCount(0)).isEqualTo(2);
+        assertThat(histogram.bucketCount(1)).isEqualTo(1);
+        assertThat(histogram.bucketCount(7)).isEqualTo(37);
+        assertThat(histogram.percentile(0.5)).isEqualTo(63);
+        assertThat(histogram.percentile(1)).isEqualTo(100);
+        assertThat(new Histogram().percentile(0.99)).isZero();
+    }
+
+    private static Map<String, Object> row(int id) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("name", "user" + id);
+        return row;
+    }
+}
@@ -0,0 +1,53 @@
+package org.builder.crudbuilder;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.builder.crudbuilder.SelectBuilder.selectBuilder;
+
+class QueryRenderEventTest {
+
+    @Test
+    void renderingIsRecorded() throws InterruptedException {
+        BlockingQueue<RecordedEvent> events = new LinkedBlockingQueue<>();
+        SelectBuilder select = selectBuilder()
+                .selectFrom("users")
+                .whereIn("id", List.of(1, 2, 3))
+                .andEq("active", true);
+
+        try (RecordingStream stream = new RecordingStream()) {
+            stream.enable(QueryRenderEvent.NAME).withThreshold(Duration.ZERO);
+            stream.onEvent(QueryRenderEvent.NAME, events::add);
+            stream.startAsync();
+
+            String sql = select.getQuery();
+
+            RecordedEvent event = events.poll(30, TimeUnit.SECONDS);
+            assertThat(event).isNotNull();
+            assertThat(event.getString("builder")).isEqualTo("SelectBuilder");
+            assertThat(event.getString("fingerprint")).isEqualTo(QueryMetrics.fingerprint(sql));
+            assertThat(event.getInt("sqlLength")).isEqualTo(sql.length());
+            assertThat(event.getInt("parameterCount")).isEqualTo(4);
+            assertThat(event.getDuration().isNegative()).isFalse();
+        }
+    }
+
+    @Test
+    void disabledEventFillsInNothing() {
+        QueryRenderEvent event = QueryRenderEvent.started();
+
+        event.complete("SelectBuilder", new QueryText().append("SELECT 1"), 0);
+
+        assertThat(event.isEnabled()).isFalse();
+        assertThat(event.fingerprint).isNull();
+        assertThat(event.sqlLength).isZero();
+    }
+}
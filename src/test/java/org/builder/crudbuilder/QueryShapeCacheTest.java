@@ -0,0 +1,98 @@
+package org.builder.crudbuilder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.builder.crudbuilder.DeleteBuilder.deleteQuery;
+import static org.builder.crudbuilder.SelectBuilder.selectBuilder;
+import static org.builder.crudbuilder.UpdateBuilder.updateQuery;
+
+class QueryShapeCacheTest {
+
+    @Test
+    void repeatedSelectShapeReturnsCachedSql() {
+        QueryShapeCache cache = new QueryShapeCache();
+
+        SelectBuilder first = selectBuilder(cache)
+                .selectFrom("users")
+                .whereEq("id", 1)
+                .andGt("age", 20);
+        SelectBuilder second = selectBuilder(cache)
+                .selectFrom("users")
+                .whereEq("id", 2)
+                .andGt("age", 30);
+
+        assertThat(first.getQuery()).isEqualTo("SELECT * FROM users WHERE id = ? AND age > ?");
+        assertThat(second.getQuery()).isSameAs(first.getQuery());
+        assertThat(first.getParameters()).containsExactly(1, 20);
+        assertThat(second.getParameters()).containsExactly(2, 30);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void differentCallSequenceIsDifferentShape() {
+        QueryShapeCache cache = new QueryShapeCache();
+
+        String andQuery = selectBuilder(cache).selectFrom("users").whereEq("id", 1).andEq("age", 2).getQuery();
+        String orQuery = selectBuilder(cache).selectFrom("users").whereEq("id", 1).orEq("age", 2).getQuery();
+
+        assertThat(andQuery).isEqualTo("SELECT * FROM users WHERE id = ? AND age = ?");
+        assertThat(orQuery).isEqualTo("SELECT * FROM users WHERE id = ? OR age = ?");
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void cachedRenderingMatchesPlainRendering() {
+        QueryShapeCache cache = new QueryShapeCache();
+
+        SelectBuilder plain = selectBuilder()
+                .selectFrom("users")
+                .whereIn("id", Arrays.asList(1, 2, 3))
+                .orderBy("id", OrderType.DESC);
+        SelectBuilder cached = selectBuilder(cache)
+                .selectFrom("users")
+                .whereIn("id", Arrays.asList(4, 5, 6))
+                .orderBy("id", OrderType.DESC);
+
+        assertThat(cached.getQuery()).isEqualTo(plain.getQuery());
+        assertThat(cached.getParameters()).containsExactly(4, 5, 6);
+    }
+
+    @Test
+    void updateAndDeleteShapesAreCached() {
+        QueryShapeCache cache = new QueryShapeCache();
+
+        for (int i = 0; i < 3; i++) {
+            UpdateBuilder update = updateQuery(cache)
+                    .updateTable("users")
+                    .setValues(Map.of("age", i))
+                    .whereEq("id", i);
+            DeleteBuilder delete = deleteQuery(cache)
+                    .deleteFrom("users")
+                    .whereLt("age", i);
+
+            assertThat(update.getQuery()).isEqualTo("UPDATE users SET age = ? WHERE id = ?");
+            assertThat(update.getParameters()).containsExactly(i, i);
+            assertThat(delete.getQuery()).isEqualTo("DELETE FROM users WHERE age < ?");
+            assertThat(delete.getParameters()).containsExactly(i);
+        }
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.hitCount()).isEqualTo(4);
+    }
+
+    @Test
+    void shapesBeyondTheLimitAreRenderedButNotStored() {
+        QueryShapeCache cache = new QueryShapeCache(1);
+
+        selectBuilder(cache).selectFrom("users").getQuery();
+        String orders = selectBuilder(cache).selectFrom("orders").getQuery();
+
+        assertThat(orders).isEqualTo("SELECT * FROM orders");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+}
@@ -2,9 +2,14 @@ package org.builder.crudbuilder;
 
 import org.junit.jupiter.api.Test;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.builder.crudbuilder.SelectBuilder.selectBuilder;
 
 class SelectBuilderTest {
@@ -349,4 +354,110 @@ class SelectBuilderTest {
 
         assertThat(builder.getQuery()).isEqualTo("SELECT (u.username, o.order_id, p.product_name) FROM users u LEFT JOIN orders o ON u.user_id = o.user_id");
     }
-}
\ No newline at end of file
+
+    @Test
+    void resetClearsQueryAndParameters() {
+        SelectBuilder builder = selectBuilder()
+                .padInLists(InListPadding.powersOfTwo())
+                .selectFrom("users")
+                .whereIn("id", List.of(1, 2, 3));
+
+        builder.reset()
+                .selectFrom("orders")
+                .whereIn("id", List.of(4, 5, 6));
+
+        assertThat(builder.getQuery()).isEqualTo("SELECT * FROM orders WHERE id IN (?, ?, ?)");
+        assertThat(builder.getParameters()).containsExactly(4, 5, 6);
+    }
+
+    @Test
+    void seekAfterFirstPageOnlyOrdersAndLimits() {
+        SelectBuilder builder = selectBuilder()
+                .selectFrom("events")
+                .seekAfter(List.of("created_at", "id"), null, 100);
+
+        assertThat(builder.getQuery()).isEqualTo("SELECT * FROM events ORDER BY created_at ASC, id ASC LIMIT 100");
+        assertThat(builder.getParameters()).isEmpty();
+    }
+
+    @Test
+    void seekAfterRendersRowValueComparison() {
+        SelectBuilder builder = selectBuilder()
+                .selectFrom("events")
+                .whereEq("tenant_id", 7)
+                .seekAfter(List.of("created_at", "id"), List.of("2024-01-01", 42), 100);
+
+        assertThat(builder.getQuery()).isEqualTo("SELECT * FROM events WHERE tenant_id = ? "
+                + "AND (created_at, id) > (?, ?) ORDER BY created_at ASC, id ASC LIMIT 100");
+        assertThat(builder.getParameters()).containsExactly(7, "2024-01-01", 42);
+    }
+
+    @Test
+    void seekAfterSingleColumnDescending() {
+        SelectBuilder builder = selectBuilder()
+                .selectFrom("events")
+                .seekAfter(List.of("id"), List.of(42), 10, OrderType.DESC);
+
+        assertThat(builder.getQuery()).isEqualTo("SELECT * FROM events WHERE id < ? ORDER BY id DESC LIMIT 10");
+        assertThat(builder.getParameters()).containsExactly(42);
+    }
+
+    @Test
+    void seekAfterRejectsOrConditions() {
+        SelectBuilder builder = selectBuilder()
+                .selectFrom("events")
+                .whereEq("a", 1)
+                .orEq("b", 2);
+
+        assertThatThrownBy(() -> builder.seekAfter(List.of("id"), List.of(1), 10))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> selectBuilder().selectFrom("events").seekAfter(List.of("a", "b"), List.of(1), 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void whereInAsArrayBindsOneParameter() {
+        SelectBuilder builder = selectBuilder(StandardDialect.POSTGRES)
+                .bindInListsAsArray()
+                .selectFrom("users")
+                .whereIn("id", List.of(1L, 2L, 3L));
+
+        assertThat(builder.getQuery()).isEqualTo("SELECT * FROM users WHERE id = ANY(?)");
+        assertThat(builder.getParameters()).containsExactly(SqlArray.of("bigint", List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void arrayElementTypesCoverTemporalValues() {
+        Instant instant = Instant.parse("2024-01-02T03:04:05Z");
+        SelectBuilder builder = selectBuilder(StandardDialect.POSTGRES)
+                .bindInListsAsArray()
+                .selectFrom("events")
+                .whereIn("created_at", Arrays.asList(null, instant));
+
+        assertThat(builder.getParameters()).containsExactly(SqlArray.of("timestamptz", Arrays.asList(null, instant)));
+        assertThat(SqlArray.of(List.of(Timestamp.from(instant))).getElementType()).isEqualTo("timestamp");
+        assertThat(SqlArray.of(List.of(OffsetDateTime.parse("2024-01-02T03:04:05Z"))).getElementType())
+                .isEqualTo("timestamptz");
+    }
+
+    @Test
+    void arrayElementTypeMustBeKnown() {
+        SelectBuilder builder = selectBuilder(StandardDialect.POSTGRES)
+                .bindInListsAsArray()
+                .selectFrom("events")
+                .whereIn("id", Arrays.asList(null, null));
+
+        assertThatThrownBy(builder::getQuery)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("SqlArray.of(elementType, values)");
+        assertThatThrownBy(() -> SqlArray.of(List.of(new Object())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(SqlArray.of("jsonb", List.of("{}")).getElementType()).isEqualTo("jsonb");
+    }
+
+    @Test
+    void arrayInListsRequireDialectSupport() {
+        assertThatThrownBy(() -> selectBuilder().bindInListsAsArray())
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,128 @@
+package org.builder.crudbuilder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.builder.crudbuilder.DeleteBuilder.deleteQuery;
+import static org.builder.crudbuilder.InsertBuilder.insert;
+import static org.builder.crudbuilder.SelectBuilder.selectBuilder;
+import static org.builder.crudbuilder.UpdateBuilder.updateQuery;
+
+class SqlNodeTest {
+
+    @Test
+    void builderRecordsOneNodePerCall() {
+        SelectBuilder builder = selectBuilder()
+                .select(List.of("id", "name"))
+                .from("users")
+                .whereEq("age", 30)
+                .andIsNull("deleted_at")
+                .whereIn("role", List.of("admin", "owner"));
+
+        assertThat(builder.getNodes())
+                .extracting(SqlNode::kind)
+                .containsExactly(SqlNode.Kind.SELECT_LIST, SqlNode.Kind.FROM, SqlNode.Kind.COMPARISON,
+                        SqlNode.Kind.NULL_CHECK, SqlNode.Kind.IN_LIST);
+        assertThat(builder.getNodes().get(2))
+                .isEqualTo(new SqlNode.Comparison(SqlNode.Connector.WHERE, "age", "=", 30));
+    }
+
+    @Test
+    void skippedConditionsAddNoNode() {
+        SelectBuilder builder = selectBuilder()
+                .selectFrom("users")
+                .whereEq("name", null)
+                .andLike("email", " ");
+
+        assertThat(builder.getNodes()).hasSize(2);
+    }
+
+    @Test
+    void nodesAreReadOnly() {
+        SelectBuilder builder = selectBuilder().selectFrom("users");
+
+        assertThatThrownBy(() -> builder.getNodes().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void queryIsRenderedAgainAfterAChange() {
+        SelectBuilder builder = selectBuilder().selectFrom("users").whereEq("id", 1);
+        assertThat(builder.getQuery()).isEqualTo("SELECT * FROM users WHERE id = ?");
+
+        builder.andEq("age", 30);
+
+        assertThat(builder.getQuery()).isEqualTo("SELECT * FROM users WHERE id = ? AND age = ?");
+        assertThat(builder.getParameters()).containsExactly(1, 30);
+    }
+
+    @Test
+    void renderForUsesTheOtherDialect() {
+        SelectBuilder builder = selectBuilder()
+                .select(List.of("id", "name"))
+                .from("users")
+                .seekAfter(List.of("created_at", "id"), List.of("2024-01-01", 7), 20);
+
+        BuiltQuery postgres = builder.renderFor(StandardDialect.POSTGRES);
+        BuiltQuery sqlServer = builder.renderFor(StandardDialect.SQL_SERVER);
+
+        assertThat(postgres.getQuery()).isEqualTo(
+                "SELECT id, name FROM users WHERE (created_at, id) > (?, ?) ORDER BY created_at ASC, id ASC LIMIT 20");
+        assertThat(postgres.getParameters()).containsExactly("2024-01-01", 7);
+        assertThat(sqlServer.getQuery()).isEqualTo(
+                "SELECT id, name FROM users WHERE (created_at > ? OR (created_at = ? AND id > ?))"
+                        + " ORDER BY created_at ASC, id ASC OFFSET 0 ROWS FETCH NEXT 20 ROWS ONLY");
+        assertThat(sqlServer.getParameters()).containsExactly("2024-01-01", "2024-01-01", 7);
+        assertThat(builder.getQuery()).isEqualTo(
+                "SELECT (id, name) FROM users WHERE (created_at, id) > (?, ?) ORDER BY created_at ASC, id ASC LIMIT 20");
+    }
+
+    @Test
+    void renderForMovesBulkUpdateToTheOtherStyle() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1);
+        row.put("price", 10);
+
+        BuiltQuery mysql = updateQuery(StandardDialect.POSTGRES)
+                .bulkUpdate("items", "id", List.of(row))
+                .renderFor(StandardDialect.MYSQL);
+
+        assertThat(mysql.getQuery()).isEqualTo("UPDATE items JOIN (VALUES ROW(?, ?)) AS src (id, price)"
+                + " ON items.id = src.id SET items.price = src.price");
+        assertThat(mysql.getParameters()).containsExactly(1, 10);
+    }
+
+    @Test
+    void renderForRejectsUnsupportedFeatures() {
+        DeleteBuilder builder = deleteQuery(StandardDialect.POSTGRES)
+                .deleteFrom("users")
+                .whereEq("id", 1)
+                .returning(List.of("id"));
+
+        assertThatThrownBy(() -> builder.renderFor(StandardDialect.MYSQL))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void onReplacesTheConditionOfThePreviousJoin() {
+        SelectBuilder builder = selectBuilder()
+                .selectFrom("users u")
+                .join("orders o").on("u.id", "o.user_id");
+
+        assertThat(builder.getNodes().get(2))
+                .isEqualTo(new SqlNode.Join("JOIN", "orders o", "u.id", "o.user_id"));
+        assertThatThrownBy(() -> builder.on("u.id", "o.user_id"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void raggedRowsAreRejected() {
+        assertThatThrownBy(() -> insert().multiValues("users", List.of(List.of(1, "a"), List.of(2))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
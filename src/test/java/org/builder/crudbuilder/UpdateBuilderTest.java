@@ -3,11 +3,15 @@ package org.builder.crudbuilder;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.builder.crudbuilder.UpdateBuilder.updateQuery;
 
 class UpdateBuilderTest {
@@ -191,4 +195,179 @@ class UpdateBuilderTest {
         assertThat(builder.getParameters()).containsExactly("age + 1", 25, 30);
     }
 
-}
\ No newline at end of file
+    @Test
+    void resetLeavesCaseStatement() {
+        UpdateBuilder builder = updateQuery()
+                .updateTable("members")
+                .setCase("member_grade")
+                .when("points").gte(1000).then("Platinum");
+
+        builder.reset();
+
+        assertThat(builder.getQuery()).isEmpty();
+        assertThat(builder.getParameters()).isEmpty();
+        assertThatThrownBy(() -> builder.when("points"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(builder.updateTable("users").setValues(Map.of("age", 1)).getQuery())
+                .isEqualTo("UPDATE users SET age = ?");
+    }
+
+    @Test
+    void bulkUpdateJoinsValuesList() {
+        UpdateBuilder builder = updateQuery(StandardDialect.POSTGRES)
+                .bulkUpdate("items", "id", List.of(priceRow(1, 10), priceRow(2, 20)));
+
+        assertThat(builder.getQuery()).isEqualTo("UPDATE items SET price = src.price FROM (VALUES (?, ?), (?, ?)) "
+                + "AS src (id, price) WHERE items.id = src.id");
+        assertThat(builder.getParameters()).containsExactly(1, 10, 2, 20);
+    }
+
+    @Test
+    void bulkUpdateFollowsDialect() {
+        String mysql = updateQuery(StandardDialect.MYSQL)
+                .bulkUpdate("items", "id", List.of(priceRow(1, 10)))
+                .getQuery();
+        String sqlServer = updateQuery(StandardDialect.SQL_SERVER)
+                .bulkUpdate("items", "id", List.of(priceRow(1, 10)))
+                .getQuery();
+
+        assertThat(mysql).isEqualTo("UPDATE items JOIN (VALUES ROW(?, ?)) AS src (id, price) "
+                + "ON items.id = src.id SET items.price = src.price");
+        assertThat(sqlServer).isEqualTo("MERGE INTO items AS tgt USING (VALUES (?, ?)) AS src (id, price) "
+                + "ON tgt.id = src.id WHEN MATCHED THEN UPDATE SET price = src.price;");
+    }
+
+    @Test
+    void bulkUpdateIsChunkedByBindLimit() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            rows.add(priceRow(i, i * 10));
+        }
+
+        Iterator<StatementChunk> chunks = updateQuery(StandardDialect.POSTGRES)
+                .bulkUpdateChunked("items", "id", rows, ChunkLimit.maxBinds(4));
+        List<StatementChunk> statements = new ArrayList<>();
+        chunks.forEachRemaining(statements::add);
+
+        assertThat(statements).extracting(StatementChunk::getRowCount).containsExactly(2, 2, 1);
+        assertThat(statements.get(0).getQuery()).isSameAs(statements.get(1).getQuery());
+        assertThat(statements.get(2).getQuery()).isEqualTo("UPDATE items SET price = src.price FROM (VALUES (?, ?)) "
+                + "AS src (id, price) WHERE items.id = src.id");
+        assertThat(statements.get(2).getParameters()).containsExactly(4, 40);
+    }
+
+    @Test
+    void bulkUpdateRequiresKeyAndValueColumns() {
+        assertThatThrownBy(() -> updateQuery().bulkUpdate("items", "sku", List.of(priceRow(1, 10))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> updateQuery().bulkUpdate("items", "id", List.of(Map.of("id", 1))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void bulkUpdateReadsRowsByColumnName() {
+        Map<String, Object> reversed = new LinkedHashMap<>();
+        reversed.put("price", 20);
+        reversed.put("id", 2);
+        Map<String, Object> hashed = new HashMap<>(priceRow(3, 30));
+
+        UpdateBuilder builder = updateQuery(StandardDialect.POSTGRES)
+                .bulkUpdate("items", "id", List.of(priceRow(1, 10), reversed, hashed));
+        List<StatementChunk> chunks = new ArrayList<>();
+        updateQuery(StandardDialect.POSTGRES)
+                .bulkUpdateChunked("items", "id", List.of(priceRow(1, 10), reversed), ChunkLimit.maxBinds(100))
+                .forEachRemaining(chunks::add);
+
+        assertThat(builder.getParameters()).containsExactly(1, 10, 2, 20, 3, 30);
+        assertThat(chunks.get(0).getParameters()).containsExactly(1, 10, 2, 20);
+    }
+
+    @Test
+    void bulkUpdateRejectsMissingOrExtraColumns() {
+        Map<String, Object> extra = priceRow(2, 20);
+        extra.put("stock", 5);
+        Map<String, Object> renamed = new LinkedHashMap<>();
+        renamed.put("id", 2);
+        renamed.put("cost", 20);
+
+        assertThatThrownBy(() -> updateQuery().bulkUpdate("items", "id", List.of(priceRow(1, 10), extra)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("columns other than");
+        assertThatThrownBy(() -> updateQuery().bulkUpdate("items", "id", List.of(priceRow(1, 10), renamed)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("missing column price");
+        Iterator<StatementChunk> chunks = updateQuery()
+                .bulkUpdateChunked("items", "id", List.of(priceRow(1, 10), renamed), ChunkLimit.maxBinds(100));
+        assertThatThrownBy(chunks::next).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void setCaseByKeyKeepsUnmatchedRows() {
+        Map<Object, Object> prices = new LinkedHashMap<>();
+        prices.put(1, 100);
+        prices.put(2, 200);
+
+        UpdateBuilder builder = updateQuery()
+                .updateTable("items")
+                .setCaseByKey("price", "id", prices);
+
+        assertThat(builder.getQuery()).isEqualTo("UPDATE items SET price = CASE id WHEN ? THEN ? WHEN ? THEN ? "
+                + "ELSE price END WHERE id IN (?, ?)");
+        assertThat(builder.getParameters()).containsExactly(1, 100, 2, 200, 1, 2);
+    }
+
+    @Test
+    void setCaseByKeyChunksShareShape() {
+        Map<Object, Object> prices = new LinkedHashMap<>();
+        for (int id = 0; id < 7; id++) {
+            prices.put(id, id * 10);
+        }
+
+        List<StatementChunk> statements = new ArrayList<>();
+        updateQuery().setCaseByKeyChunked("items", "price", "id", prices, ChunkLimit.maxBinds(9))
+                .forEachRemaining(statements::add);
+
+        assertThat(statements).extracting(StatementChunk::getRowCount).containsExactly(3, 3, 1);
+        assertThat(statements.get(1).getQuery()).isSameAs(statements.get(0).getQuery());
+        assertThat(statements.get(1).getParameters()).containsExactly(3, 30, 4, 40, 5, 50, 3, 4, 5);
+        assertThat(statements.get(2).getQuery()).isEqualTo("UPDATE items SET price = CASE id WHEN ? THEN ? "
+                + "ELSE price END WHERE id IN (?)");
+    }
+
+    @Test
+    void paddedSetCaseByKeyChunksStayWithinBindLimit() {
+        Map<Object, Object> prices = new LinkedHashMap<>();
+        for (int id = 0; id < 20_000; id++) {
+            prices.put(id, id * 10);
+        }
+
+        List<StatementChunk> statements = new ArrayList<>();
+        updateQuery().padInLists(InListPadding.powersOfTwo())
+                .setCaseByKeyChunked("items", "price", "id", prices, ChunkLimit.maxBinds(32_767))
+                .forEachRemaining(statements::add);
+
+        assertThat(statements).extracting(StatementChunk::getRowCount).containsExactly(8192, 8192, 3616);
+        assertThat(statements).allSatisfy(statement ->
+                assertThat(statement.getParameters().size()).isLessThanOrEqualTo(32_767));
+        assertThat(statements.get(0).getParameters()).hasSize(2 * 8192 + 8192);
+    }
+
+    @Test
+    void endCaseColumnKeepsCurrentValue() {
+        String query = updateQuery()
+                .updateTable("users")
+                .setCase("age")
+                .when("id").eq(1).then(30)
+                .endCaseColumn("age")
+                .getQuery();
+
+        assertThat(query).isEqualTo("UPDATE users SET age = CASE WHEN id = ? THEN ? ELSE age END");
+    }
+
+    private static Map<String, Object> priceRow(int id, int price) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("price", price);
+        return row;
+    }
+}
@@ -0,0 +1,161 @@
+package org.builder.crudbuilder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.builder.crudbuilder.UpsertBuilder.upsert;
+
+class UpsertBuilderTest {
+
+    @Test
+    void onConflictUpdatesNonKeyColumnsByDefault() {
+        UpsertBuilder builder = upsert(StandardDialect.POSTGRES)
+                .columnsAndValues("users", row(1, "Alice", 3))
+                .onConflict(List.of("id"));
+
+        assertThat(builder.getQuery()).isEqualTo("INSERT INTO users (id, name, hits) VALUES (?, ?, ?) "
+                + "ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, hits = EXCLUDED.hits");
+        assertThat(builder.getParameters()).containsExactly(1, "Alice", 3);
+    }
+
+    @Test
+    void multiRowUpsertWithUpdateActions() {
+        UpsertBuilder builder = upsert(StandardDialect.POSTGRES)
+                .columnsAndMultiValues("users", List.of(row(1, "Alice", 3), row(2, "Bob", 5)))
+                .onConflict(List.of("id"))
+                .updateFromInserted(List.of("name"))
+                .addToExisting("hits")
+                .updateValue("updated_at", "now");
+
+        assertThat(builder.getQuery()).isEqualTo("INSERT INTO users (id, name, hits) VALUES (?, ?, ?), (?, ?, ?) "
+                + "ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, hits = users.hits + EXCLUDED.hits, updated_at = ?");
+        assertThat(builder.getParameters()).containsExactly(1, "Alice", 3, 2, "Bob", 5, "now");
+    }
+
+    @Test
+    void onConflictDoNothing() {
+        UpsertBuilder builder = upsert(StandardDialect.POSTGRES)
+                .columnsAndValues("users", row(1, "Alice", 3))
+                .onConflict(List.of("id"))
+                .doNothing();
+
+        assertThat(builder.getQuery()).endsWith("ON CONFLICT (id) DO NOTHING");
+    }
+
+    @Test
+    void mysqlUsesOnDuplicateKey() {
+        UpsertBuilder builder = upsert(StandardDialect.MYSQL)
+                .columnsAndValues("users", row(1, "Alice", 3))
+                .onConflict(List.of("id"))
+                .updateFromInserted(List.of("name"))
+                .addToExisting("hits");
+
+        assertThat(builder.getQuery()).isEqualTo("INSERT INTO users (id, name, hits) VALUES (?, ?, ?) "
+                + "AS new ON DUPLICATE KEY UPDATE name = new.name, hits = hits + new.hits");
+    }
+
+    @Test
+    void sqlServerUsesMerge() {
+        UpsertBuilder builder = upsert(StandardDialect.SQL_SERVER)
+                .columnsAndMultiValues("users", List.of(row(1, "Alice", 3), row(2, "Bob", 5)))
+                .onConflict(List.of("id"))
+                .addToExisting("hits");
+
+        assertThat(builder.getQuery()).isEqualTo("MERGE INTO users AS tgt USING (VALUES (?, ?, ?), (?, ?, ?)) "
+                + "AS src (id, name, hits) ON tgt.id = src.id WHEN MATCHED THEN UPDATE SET hits = tgt.hits + src.hits "
+                + "WHEN NOT MATCHED THEN INSERT (id, name, hits) VALUES (src.id, src.name, src.hits);");
+        assertThat(builder.getParameters()).containsExactly(1, "Alice", 3, 2, "Bob", 5);
+    }
+
+    @Test
+    void rowsBecomeTheSameNodesAsAnInsert() {
+        List<Map<String, Object>> rows = List.of(row(1, "Alice", 3), row(2, "Bob", 5));
+        UpsertBuilder builder = upsert(StandardDialect.POSTGRES)
+                .columnsAndMultiValues("users", rows)
+                .onConflict(List.of("name"))
+                .onConflict(List.of("id"))
+                .updateValue("updated_at", "now");
+        InsertBuilder insert = InsertBuilder.insert(StandardDialect.POSTGRES).columnsAndMultiValues("users", rows);
+
+        assertThat(builder.getNodes()).extracting(SqlNode::kind).containsExactly(SqlNode.Kind.INSERT_INTO,
+                SqlNode.Kind.VALUES, SqlNode.Kind.ON_CONFLICT, SqlNode.Kind.UPSERT_SET);
+        assertThat(builder.getQuery()).startsWith(insert.getQuery() + " ON CONFLICT (id)");
+        assertThat(builder.renderFor(StandardDialect.MYSQL).getQuery()).isEqualTo("INSERT INTO users (id, name, hits) "
+                + "VALUES (?, ?, ?), (?, ?, ?) AS new ON DUPLICATE KEY UPDATE updated_at = ?");
+        assertThat(builder.renderFor(StandardDialect.MYSQL).getParameters())
+                .containsExactly(1, "Alice", 3, 2, "Bob", 5, "now");
+    }
+
+    @Test
+    void rowsAreReadByColumnName() {
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("hits", 5);
+        reordered.put("name", "Bob");
+        reordered.put("id", 2);
+
+        UpsertBuilder builder = upsert(StandardDialect.POSTGRES)
+                .columnsAndMultiValues("users", List.of(row(1, "Alice", 3), reordered))
+                .onConflict(List.of("id"));
+
+        assertThat(builder.getParameters()).containsExactly(1, "Alice", 3, 2, "Bob", 5);
+    }
+
+    @Test
+    void sameShapesShareCachedSql() {
+        QueryShapeCache cache = new QueryShapeCache(8);
+
+        String first = upsert(StandardDialect.POSTGRES, cache)
+                .columnsAndValues("users", row(1, "Alice", 3))
+                .onConflict(List.of("id"))
+                .getQuery();
+        String second = upsert(StandardDialect.POSTGRES, cache)
+                .columnsAndValues("users", row(2, "Bob", 5))
+                .onConflict(List.of("id"))
+                .getQuery();
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void invalidUsageIsRejected() {
+        assertThatThrownBy(() -> upsert().onConflict(List.of("id")))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> upsert().columnsAndValues("users", row(1, "a", 1)).getQuery())
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> upsert().columnsAndValues("users", row(1, "a", 1)).onConflict(List.of("email")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> upsert().columnsAndValues("users", row(1, "a", 1)).onConflict(List.of("id"))
+                .updateFromInserted(List.of("name")).doNothing())
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> upsert().columnsAndMultiValues("users", List.of(row(1, "a", 1), Map.of("id", 2))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void resetClearsState() {
+        UpsertBuilder builder = upsert()
+                .columnsAndValues("users", row(1, "Alice", 3))
+                .onConflict(List.of("id"));
+        builder.getQuery();
+
+        builder.reset()
+                .columnsAndValues("orders", Map.of("id", 9))
+                .onConflict(List.of("id"));
+
+        assertThat(builder.getQuery()).isEqualTo("INSERT INTO orders (id) VALUES (?) ON CONFLICT (id) DO NOTHING");
+        assertThat(builder.getParameters()).containsExactly(9);
+    }
+
+    private static Map<String, Object> row(int id, String name, int hits) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("name", name);
+        row.put("hits", hits);
+        return row;
+    }
+}
@@ -0,0 +1,196 @@
+package org.builder.crudbuilder.jdbc;
+
+import org.builder.crudbuilder.SqlQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.builder.crudbuilder.SelectBuilder.selectBuilder;
+import static org.builder.crudbuilder.UpdateBuilder.updateQuery;
+
+class AsyncQueryExecutorTest {
+
+    private final StubDriver driver = new StubDriver();
+    private AsyncQueryExecutor async;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        driver.gate.countDown();
+        async.close();
+        assertThat(async.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void queriesCompleteOnWorkerThreads() {
+        async = AsyncQueryExecutor.of(driver, 2, 10);
+        driver.gate.countDown();
+
+        List<Object> rows = async.query(selectBuilder().selectFrom("users").whereEq("id", 1),
+                (rs, rowNum) -> rs.getObject(1)).join();
+
+        assertThat(rows).containsExactly("SELECT * FROM users WHERE id = ?");
+        assertThat(driver.threads).allMatch(name -> name.startsWith("sqlbuilder-async-"));
+    }
+
+    @Test
+    void dependentQueriesChain() {
+        async = AsyncQueryExecutor.of(driver, 1, 0);
+        driver.gate.countDown();
+
+        int updated = async.query(selectBuilder().select(List.of("id")).from("users"), (rs, rowNum) -> rs.getObject(1))
+                .thenCompose(ids -> async.update(updateQuery()
+                        .updateTable("sessions")
+                        .setValues(Map.of("active", false))
+                        .whereIn("user_id", ids)))
+                .join();
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(driver.queries).containsExactly(
+                "SELECT (id) FROM users",
+                "UPDATE sessions SET active = ? WHERE user_id IN (?)");
+    }
+
+    @Test
+    void rejectsWhenThreadsAndQueueAreTaken() {
+        async = AsyncQueryExecutor.of(driver, 1, 1);
+
+        CompletableFuture<Integer> running = async.update(updateQuery().updateTable("a").setValues(Map.of("x", 1)));
+        CompletableFuture<Integer> queued = async.update(updateQuery().updateTable("b").setValues(Map.of("x", 1)));
+        CompletableFuture<Integer> rejected = async.update(updateQuery().updateTable("c").setValues(Map.of("x", 1)));
+
+        assertThat(async.pendingQueries()).isEqualTo(2);
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        driver.gate.countDown();
+        assertThat(running.join()).isEqualTo(1);
+        assertThat(queued.join()).isEqualTo(1);
+        assertThat(async.pendingQueries()).isZero();
+    }
+
+    @Test
+    void chainedSubmissionsAreBoundedToo() {
+        async = AsyncQueryExecutor.of(driver, 1, 1).whenFull(AsyncQueryExecutor.WhenFull.WAIT);
+
+        CompletableFuture<List<CompletableFuture<Integer>>> fanOut = async
+                .query(selectBuilder().selectFrom("users"), (rs, rowNum) -> rs.getObject(1))
+                .thenApply(rows -> {
+                    // Runs on the only worker, so none of these can start before the loop ends.
+                    List<CompletableFuture<Integer>> updates = new ArrayList<>();
+                    for (int i = 0; i < 5; i++) {
+                        updates.add(async.update(updateQuery().updateTable("t" + i).setValues(Map.of("x", i))));
+                    }
+                    return updates;
+                });
+        driver.gate.countDown();
+        List<CompletableFuture<Integer>> chained = fanOut.join();
+
+        assertThat(chained.subList(0, 3)).allSatisfy(future -> assertThat(future.join()).isEqualTo(1));
+        assertThat(chained.subList(3, 5)).allSatisfy(future -> assertThatThrownBy(future::join)
+                .hasCauseInstanceOf(RejectedExecutionException.class));
+        assertThat(async.pendingQueries()).isZero();
+    }
+
+    @Test
+    void waitPolicyBlocksUntilThereIsRoom() throws InterruptedException {
+        async = AsyncQueryExecutor.of(driver, 1, 0).whenFull(AsyncQueryExecutor.WhenFull.WAIT);
+        CompletableFuture<Integer> running = async.update(updateQuery().updateTable("a").setValues(Map.of("x", 1)));
+        AtomicBoolean submitted = new AtomicBoolean();
+        Thread caller = new Thread(() -> {
+            async.update(updateQuery().updateTable("b").setValues(Map.of("x", 1)));
+            submitted.set(true);
+        });
+
+        caller.start();
+        caller.join(200);
+        assertThat(submitted).isFalse();
+        driver.gate.countDown();
+        caller.join(5000);
+
+        assertThat(submitted).isTrue();
+        assertThat(running.join()).isEqualTo(1);
+    }
+
+    @Test
+    void failuresCompleteTheFuture() {
+        async = AsyncQueryExecutor.of(driver, 1, 0);
+        driver.gate.countDown();
+
+        CompletableFuture<List<Object>> future = async.query(selectBuilder().selectFrom("missing"),
+                (rs, rowNum) -> rs.getObject(1));
+
+        assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(SQLException.class);
+    }
+
+    @Test
+    void closedExecutorRejects() {
+        async = AsyncQueryExecutor.of(driver, 1, 0);
+        async.close();
+
+        CompletableFuture<Integer> future = async.update(updateQuery().updateTable("a").setValues(Map.of("x", 1)));
+
+        assertThatThrownBy(future::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(async.pendingQueries()).isZero();
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        async = AsyncQueryExecutor.of(driver, 1, 0);
+
+        assertThatThrownBy(() -> AsyncQueryExecutor.of(null, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AsyncQueryExecutor.of(driver, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AsyncQueryExecutor.of(driver, 1, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Answers from memory once the gate opens: a query returns its SQL as the only row, an
+     * update affects one row, and a table named {@code missing} fails.
+     */
+    private static final class StubDriver implements QueryDriver {
+
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final List<String> queries = new CopyOnWriteArrayList<>();
+        private final List<String> threads = new CopyOnWriteArrayList<>();
+
+        @Override
+        public <T> List<T> query(SqlQuery query, RowMapper<T> rowMapper) throws SQLException {
+            await(query);
+            @SuppressWarnings("unchecked")
+            T row = (T) query.getQuery();
+            return List.of(row);
+        }
+
+        @Override
+        public int update(SqlQuery query) throws SQLException {
+            await(query);
+            return 1;
+        }
+
+        private void await(SqlQuery query) throws SQLException {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException(e);
+            }
+            queries.add(query.getQuery());
+            threads.add(Thread.currentThread().getName());
+            if (query.getQuery().contains("missing")) {
+                throw new SQLException("Table \"MISSING\" not found");
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.builder.crudbuilder.jdbc;
+
+import org.builder.crudbuilder.InMemoryQueryMetrics;
+import org.builder.crudbuilder.QueryMetrics;
+import org.builder.crudbuilder.StandardDialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.builder.crudbuilder.DeleteBuilder.deleteQuery;
+
+class ChunkedDeleteTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:chunked;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE events (id BIGINT PRIMARY KEY, created_at INT)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO events VALUES (?, ?)")) {
+            for (int id = 1; id <= 25; id++) {
+                insert.setLong(1, id);
+                insert.setInt(2, id);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE events");
+        }
+        connection.close();
+    }
+
+    @Test
+    void deletesInChunksUntilNoRowsRemain() throws SQLException {
+        connection.setAutoCommit(false);
+        List<DeleteProgress> reports = new ArrayList<>();
+        AtomicInteger pauses = new AtomicInteger();
+
+        DeleteProgress done = ChunkedDelete.of(deleteQuery().deleteFrom("events").whereLte("created_at", 20), "id", 7)
+                .throttle(progress -> pauses.incrementAndGet())
+                .onProgress(reports::add)
+                .execute(connection);
+
+        assertThat(done.getRowsDeleted()).isEqualTo(20);
+        assertThat(done.getChunks()).isEqualTo(3);
+        assertThat(reports).extracting(DeleteProgress::getLastChunkRows).containsExactly(7, 7, 6);
+        assertThat(pauses).hasValue(2);
+        connection.rollback();
+        assertThat(remainingRows()).isEqualTo(5);
+    }
+
+    @Test
+    void exactMultipleEndsWithEmptyChunk() throws SQLException {
+        DeleteProgress done = ChunkedDelete.of(deleteQuery().deleteFrom("events").whereLte("created_at", 10), "id", 5)
+                .throttle(DeleteThrottle.fixed(Duration.ofMillis(1)).andThen(DeleteThrottle.proportional(0.5)))
+                .execute(connection);
+
+        assertThat(done.getRowsDeleted()).isEqualTo(10);
+        assertThat(done.getChunks()).isEqualTo(3);
+        assertThat(done.getLastChunkRows()).isZero();
+        assertThat(remainingRows()).isEqualTo(15);
+    }
+
+    @Test
+    void returningIsRejectedBeforeAnyChunkRuns() throws SQLException {
+        assertThatThrownBy(() -> ChunkedDelete.of(deleteQuery(StandardDialect.POSTGRES)
+                .deleteFrom("events")
+                .whereLte("created_at", 10)
+                .returning(List.of("id")), "id", 5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("RETURNING");
+        assertThat(remainingRows()).isEqualTo(25);
+    }
+
+    @Test
+    void everyChunkIsReportedToMetrics() throws SQLException {
+        InMemoryQueryMetrics metrics = new InMemoryQueryMetrics();
+        QueryMetrics.install(metrics);
+        try {
+            ChunkedDelete purge = ChunkedDelete.of(deleteQuery().deleteFrom("events").whereLte("created_at", 10),
+                    "id", 4);
+            purge.execute(connection);
+
+            InMemoryQueryMetrics.Executions chunks =
+                    metrics.executions(QueryMetrics.fingerprint(purge.getChunkQuery().getQuery()));
+            assertThat(chunks.count()).isEqualTo(3);
+            assertThat(chunks.rows()).isEqualTo(10);
+        } finally {
+            QueryMetrics.install(QueryMetrics.NOOP);
+        }
+    }
+
+    @Test
+    void replicaLagThrottleWaitsUntilCaughtUp() throws SQLException {
+        AtomicInteger lagChecks = new AtomicInteger();
+        DeleteThrottle throttle = DeleteThrottle.maxReplicaLag(
+                () -> lagChecks.incrementAndGet() % 2 == 1 ? Duration.ofSeconds(5) : Duration.ZERO,
+                Duration.ofSeconds(1), Duration.ofMillis(1));
+
+        ChunkedDelete.of(deleteQuery().deleteFrom("events"), "id", 10)
+                .throttle(throttle)
+                .execute(connection);
+
+        assertThat(lagChecks).hasValue(4);
+        assertThat(remainingRows()).isZero();
+    }
+
+    private int remainingRows() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM events")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.builder.crudbuilder.jdbc;
+
+import org.builder.crudbuilder.OrderType;
+import org.builder.crudbuilder.SelectBuilder;
+import org.builder.crudbuilder.StandardDialect;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.builder.crudbuilder.SelectBuilder.selectBuilder;
+
+class ConcurrentQueryRunnerTest {
+
+    private static final AtomicInteger RUNNING = new AtomicInteger();
+    private static final AtomicInteger MAX_RUNNING = new AtomicInteger();
+    private static final Set<Thread> THREADS = ConcurrentHashMap.newKeySet();
+
+    private JdbcDataSource dataSource;
+    private Connection keepAlive;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        RUNNING.set(0);
+        MAX_RUNNING.set(0);
+        THREADS.clear();
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:concurrent;DB_CLOSE_DELAY=-1");
+        keepAlive = dataSource.getConnection();
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("CREATE TABLE users (id INT PRIMARY KEY, name VARCHAR(50))");
+            statement.execute("INSERT INTO users VALUES (1, 'kim'), (2, 'lee'), (3, 'park')");
+            statement.execute("CREATE ALIAS TRACK FOR 'org.builder.crudbuilder.jdbc.ConcurrentQueryRunnerTest$Functions.track'");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("DROP ALIAS TRACK");
+            statement.execute("DROP TABLE users");
+        }
+        keepAlive.close();
+    }
+
+    @Test
+    void returnsResultsInInputOrder() throws Exception {
+        List<List<String>> results = ConcurrentQueryRunner.of(dataSource).queryAll(List.of(
+                selectBuilder().selectFrom("users").whereEq("id", 3),
+                selectBuilder().selectFrom("users").whereGte("id", 2).orderBy("id", OrderType.ASC),
+                selectBuilder().selectFrom("users").whereEq("id", 99)), (rs, rowNum) -> rs.getString("name"));
+
+        assertThat(results).containsExactly(List.of("park"), List.of("lee", "park"), List.of());
+    }
+
+    @Test
+    void limitsConcurrentQueries() throws Exception {
+        List<SelectBuilder> queries = List.of(sleep(100), sleep(100), sleep(100), sleep(100), sleep(100), sleep(100));
+
+        List<List<Integer>> results = ConcurrentQueryRunner.of(dataSource)
+                .maxConcurrency(2)
+                .queryAll(queries, (rs, rowNum) -> rs.getInt(1));
+
+        assertThat(results).hasSize(6).allSatisfy(rows -> assertThat(rows).containsExactly(100));
+        assertThat(MAX_RUNNING.get()).isEqualTo(2);
+    }
+
+    @Test
+    void platformThreadsAreBoundedByConcurrency() throws Exception {
+        List<SelectBuilder> queries = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            queries.add(sleep(5));
+        }
+
+        List<List<Integer>> results = ConcurrentQueryRunner.of(dataSource)
+                .platformThreads()
+                .maxConcurrency(3)
+                .queryAll(queries, (rs, rowNum) -> rs.getInt(1));
+
+        assertThat(results).hasSize(40);
+        assertThat(THREADS).hasSizeLessThanOrEqualTo(3)
+                .allSatisfy(thread -> assertThat(thread.getName()).startsWith("sqlbuilder-query-"));
+    }
+
+    @Test
+    void slowQueryTimesOut() {
+        ConcurrentQueryRunner runner = ConcurrentQueryRunner.of(dataSource).timeout(Duration.ofMillis(200));
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> runner.queryAll(List.of(sleep(10), sleep(5000)), (rs, rowNum) -> rs.getInt(1)))
+                .isInstanceOf(SQLTimeoutException.class)
+                .hasMessageContaining("Query 1 timed out");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+        assertThat(RUNNING.get()).isZero();
+    }
+
+    @Test
+    void failureCancelsTheOtherQueries() {
+        ConcurrentQueryRunner runner = ConcurrentQueryRunner.of(dataSource);
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> runner.queryAll(List.of(sleep(5000), selectBuilder().selectFrom("missing")),
+                (rs, rowNum) -> rs.getObject(1)))
+                .isInstanceOf(SQLException.class)
+                .isNotInstanceOf(SQLTimeoutException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+        assertThat(RUNNING.get()).isZero();
+    }
+
+    @Test
+    void virtualThreadsNeedJava21() {
+        ConcurrentQueryRunner runner = ConcurrentQueryRunner.of(dataSource);
+
+        assertThat(runner.usesVirtualThreads()).isEqualTo(Runtime.version().feature() >= 21);
+        assertThat(runner.platformThreads().usesVirtualThreads()).isFalse();
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThatThrownBy(() -> ConcurrentQueryRunner.of(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ConcurrentQueryRunner.of(dataSource).maxConcurrency(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ConcurrentQueryRunner.of(dataSource).timeout(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static SelectBuilder sleep(int millis) {
+        return selectBuilder(StandardDialect.H2).select(List.of("TRACK(" + millis + ")")).from("DUAL");
+    }
+
+    /**
+     * Called by H2 as {@code TRACK(millis)}; sleeps and records how many calls overlap and on
+     * which threads they run.
+     */
+    public static final class Functions {
+
+        public static int track(int millis) throws InterruptedException {
+            THREADS.add(Thread.currentThread());
+            int running = RUNNING.incrementAndGet();
+            MAX_RUNNING.accumulateAndGet(running, Math::max);
+            try {
+                Thread.sleep(millis);
+                return millis;
+            } finally {
+                RUNNING.decrementAndGet();
+            }
+        }
+    }
+}
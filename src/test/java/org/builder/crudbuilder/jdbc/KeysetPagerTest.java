@@ -0,0 +1,107 @@
+package org.builder.crudbuilder.jdbc;
+
+import org.builder.crudbuilder.OrderType;
+import org.builder.crudbuilder.StandardDialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.builder.crudbuilder.SelectBuilder.selectBuilder;
+
+class KeysetPagerTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:keyset;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE events (grp INT, id INT, tenant_id INT, PRIMARY KEY (grp, id))");
+            for (int i = 1; i <= 25; i++) {
+                statement.execute("INSERT INTO events VALUES (" + (i % 3) + ", " + i + ", " + (i % 2) + ")");
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE events");
+        }
+        connection.close();
+    }
+
+    @Test
+    void walksAllPagesInKeyOrder() {
+        KeysetPager<int[]> pager = KeysetPager.of(connection,
+                () -> selectBuilder().selectFrom("events"),
+                List.of("grp", "id"), 10,
+                (resultSet, rowNum) -> new int[]{resultSet.getInt("grp"), resultSet.getInt("id")},
+                row -> List.of(row[0], row[1]));
+
+        List<Integer> pageSizes = new ArrayList<>();
+        List<int[]> rows = new ArrayList<>();
+        pager.forEachRemaining(page -> {
+            pageSizes.add(page.size());
+            rows.addAll(page);
+        });
+
+        assertThat(pageSizes).containsExactly(10, 10, 5);
+        assertThat(rows).hasSize(25);
+        for (int i = 1; i < rows.size(); i++) {
+            int[] previous = rows.get(i - 1);
+            int[] current = rows.get(i);
+            assertThat(previous[0] < current[0] || previous[0] == current[0] && previous[1] < current[1]).isTrue();
+        }
+    }
+
+    @Test
+    void baseConditionsAndDescendingOrderApply() {
+        KeysetPager<Integer> pager = KeysetPager.of(connection,
+                () -> selectBuilder().selectFrom("events").whereEq("tenant_id", 1),
+                List.of("id"), 5, OrderType.DESC,
+                (resultSet, rowNum) -> resultSet.getInt("id"),
+                id -> List.of(id));
+
+        List<Integer> ids = new ArrayList<>();
+        pager.forEachRemaining(ids::addAll);
+
+        assertThat(ids).containsExactly(25, 23, 21, 19, 17, 15, 13, 11, 9, 7, 5, 3, 1);
+    }
+
+    @Test
+    void exactMultipleOfPageSizeEndsWithEmptyFetch() {
+        KeysetPager<Integer> pager = KeysetPager.of(connection,
+                () -> selectBuilder().selectFrom("events").whereLte("id", 10),
+                List.of("id"), 5,
+                (resultSet, rowNum) -> resultSet.getInt("id"),
+                id -> List.of(id));
+
+        assertThat(pager.next()).containsExactly(1, 2, 3, 4, 5);
+        assertThat(pager.next()).containsExactly(6, 7, 8, 9, 10);
+        assertThat(pager.hasNext()).isFalse();
+    }
+
+    @Test
+    void expandedKeyComparisonWalksSamePages() {
+        KeysetPager<int[]> pager = KeysetPager.of(connection,
+                () -> selectBuilder(StandardDialect.SQL_SERVER).selectFrom("events"),
+                List.of("grp", "id"), 10,
+                (resultSet, rowNum) -> new int[]{resultSet.getInt("grp"), resultSet.getInt("id")},
+                row -> List.of(row[0], row[1]));
+
+        List<int[]> rows = new ArrayList<>();
+        pager.forEachRemaining(rows::addAll);
+
+        assertThat(rows).hasSize(25);
+        assertThat(rows).extracting(row -> row[1]).doesNotHaveDuplicates();
+    }
+}
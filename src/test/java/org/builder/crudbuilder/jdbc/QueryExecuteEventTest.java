@@ -0,0 +1,107 @@
+package org.builder.crudbuilder.jdbc;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.builder.crudbuilder.ChunkLimit;
+import org.builder.crudbuilder.InsertChunks;
+import org.builder.crudbuilder.QueryMetrics;
+import org.builder.crudbuilder.SelectBuilder;
+import org.builder.crudbuilder.StandardDialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.builder.crudbuilder.DeleteBuilder.deleteQuery;
+import static org.builder.crudbuilder.InsertBuilder.insert;
+import static org.builder.crudbuilder.SelectBuilder.selectBuilder;
+
+class QueryExecuteEventTest {
+
+    private final QueryExecutor executor = new QueryExecutor();
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:execute_event;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE users");
+        }
+        connection.close();
+    }
+
+    @Test
+    void executionsAreRecorded() throws Exception {
+        BlockingQueue<RecordedEvent> events = new LinkedBlockingQueue<>();
+
+        try (RecordingStream stream = new RecordingStream()) {
+            stream.enable(QueryExecuteEvent.NAME).withThreshold(Duration.ZERO);
+            stream.onEvent(QueryExecuteEvent.NAME, events::add);
+            stream.startAsync();
+
+            executor.executeUpdate(connection, insert().columnsAndMultiValues("users",
+                    List.of(Map.of("id", 1L, "name", "kim"), Map.of("id", 2L, "name", "lee"))));
+            SelectBuilder select = selectBuilder().selectFrom("users").whereEq("name", "kim");
+            executor.executeQuery(connection, select, (rs, rowNum) -> rs.getLong("id"));
+
+            RecordedEvent inserted = events.poll(30, TimeUnit.SECONDS);
+            RecordedEvent selected = events.poll(30, TimeUnit.SECONDS);
+            assertThat(inserted).isNotNull();
+            assertThat(inserted.getString("builder")).isEqualTo("InsertBuilder");
+            assertThat(inserted.getInt("parameterCount")).isEqualTo(4);
+            assertThat(inserted.getLong("rows")).isEqualTo(2);
+            assertThat(selected).isNotNull();
+            assertThat(selected.getString("builder")).isEqualTo("SelectBuilder");
+            assertThat(selected.getString("fingerprint")).isEqualTo(QueryMetrics.fingerprint(select.getQuery()));
+            assertThat(selected.getInt("sqlLength")).isEqualTo(select.getQuery().length());
+            assertThat(selected.getInt("parameterCount")).isEqualTo(1);
+            assertThat(selected.getLong("rows")).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void snapshotsAndChunksRecordTheirBuilder() throws Exception {
+        BlockingQueue<RecordedEvent> events = new LinkedBlockingQueue<>();
+
+        try (RecordingStream stream = new RecordingStream()) {
+            stream.enable(QueryExecuteEvent.NAME).withThreshold(Duration.ZERO);
+            stream.onEvent(QueryExecuteEvent.NAME, events::add);
+            stream.startAsync();
+
+            InsertChunks chunks = insert().multiValuesChunked("users",
+                    List.of(List.<Object>of(1L, "kim"), List.<Object>of(2L, "lee")), ChunkLimit.maxBinds(100));
+            executor.executeBatch(connection, List.of(chunks.next()));
+            executor.executeQuery(connection, selectBuilder().selectFrom("users").whereEq("id", 1L).build(),
+                    (rs, rowNum) -> rs.getLong("id"));
+            executor.executeUpdate(connection, deleteQuery().deleteFrom("users").whereEq("id", 2L)
+                    .renderFor(StandardDialect.H2));
+
+            List<String> builders = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                RecordedEvent event = events.poll(30, TimeUnit.SECONDS);
+                assertThat(event).isNotNull();
+                builders.add(event.getString("builder"));
+            }
+            assertThat(builders).containsExactly("InsertBuilder", "SelectBuilder", "DeleteBuilder");
+        }
+    }
+}
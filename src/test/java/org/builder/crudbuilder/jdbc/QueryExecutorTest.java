@@ -0,0 +1,358 @@
+package org.builder.crudbuilder.jdbc;
+
+import org.builder.crudbuilder.ChunkLimit;
+import org.builder.crudbuilder.InMemoryQueryMetrics;
+import org.builder.crudbuilder.InsertChunks;
+import org.builder.crudbuilder.OrderType;
+import org.builder.crudbuilder.ParameterBuffer;
+import org.builder.crudbuilder.QueryMetrics;
+import org.builder.crudbuilder.SqlQuery;
+import org.builder.crudbuilder.StandardDialect;
+import org.builder.crudbuilder.StatementChunk;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.builder.crudbuilder.DeleteBuilder.deleteQuery;
+import static org.builder.crudbuilder.InsertBuilder.insert;
+import static org.builder.crudbuilder.SelectBuilder.selectBuilder;
+import static org.builder.crudbuilder.UpdateBuilder.updateQuery;
+import static org.builder.crudbuilder.UpsertBuilder.upsert;
+
+class QueryExecutorTest {
+
+    private final QueryExecutor executor = new QueryExecutor();
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:executor;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, name VARCHAR(50), age INT, "
+                    + "score DOUBLE, created_at TIMESTAMP)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE users");
+        }
+        connection.close();
+    }
+
+    @Test
+    void insertSelectUpdateDelete() throws SQLException {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        int inserted = executor.executeUpdate(connection, insert().columnsAndValues("users",
+                row(1L, "Alice", 25, 1.5, createdAt)));
+
+        assertThat(inserted).isEqualTo(1);
+        List<String> names = executor.executeQuery(connection,
+                selectBuilder().selectFrom("users").whereEq("id", 1L).andEq("created_at", createdAt),
+                (resultSet, rowNum) -> resultSet.getString("name"));
+        assertThat(names).containsExactly("Alice");
+
+        int updated = executor.executeUpdate(connection, updateQuery()
+                .updateTable("users")
+                .setValues(Map.of("age", 26))
+                .whereEq("id", 1L));
+        assertThat(updated).isEqualTo(1);
+
+        int deleted = executor.executeUpdate(connection, deleteQuery()
+                .deleteFrom("users")
+                .whereGte("age", 26));
+        assertThat(deleted).isEqualTo(1);
+    }
+
+    @Test
+    void numericParametersAreBound() throws SQLException {
+        ParameterBuffer parameters = new ParameterBuffer();
+        parameters.add(7L);
+        parameters.add("Bob");
+        parameters.add(40);
+        parameters.add(2.5);
+        parameters.add(null);
+        SqlQuery query = query("INSERT INTO users (id, name, age, score, created_at) VALUES (?, ?, ?, ?, ?)", parameters);
+
+        executor.executeUpdate(connection, query);
+
+        List<Object[]> rows = executor.executeQuery(connection,
+                selectBuilder().selectFrom("users").whereEq("id", 7L),
+                (resultSet, rowNum) -> new Object[]{resultSet.getInt("age"), resultSet.getDouble("score"),
+                        resultSet.getTimestamp("created_at")});
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)).containsExactly(40, 2.5, null);
+    }
+
+    @Test
+    void chunkedInsertRunsAsBatch() throws SQLException {
+        List<List<Object>> rows = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            rows.add(Arrays.asList(id, "user" + id, (int) id, 0.0, null));
+        }
+        InsertChunks chunks = insert().multiValuesChunked("users", rows, ChunkLimit.maxBinds(15));
+        List<StatementChunk> statements = new ArrayList<>();
+        chunks.forEachRemaining(statements::add);
+
+        int[] counts = executor.executeBatch(connection, statements);
+
+        assertThat(counts).containsExactly(3, 3, 3, 1);
+        List<Long> ids = executor.executeQuery(connection,
+                selectBuilder().selectFrom("users").whereGt("age", 0),
+                (resultSet, rowNum) -> resultSet.getLong("id"));
+        assertThat(ids).hasSize(10);
+    }
+
+    @Test
+    void addBatchReusesPreparedStatement() throws SQLException {
+        SqlQuery first = insert().values("users", Arrays.asList(1L, "a", 1, 0.0, null));
+        SqlQuery second = insert().values("users", Arrays.asList(2L, "b", 2, 0.0, null));
+
+        try (PreparedStatement statement = connection.prepareStatement(first.getQuery())) {
+            executor.addBatch(statement, first);
+            executor.addBatch(statement, second);
+            assertThat(statement.executeBatch()).containsExactly(1, 1);
+        }
+    }
+
+    @Test
+    void mergeUpsertInsertsAndUpdatesInOneStatement() throws SQLException {
+        executor.executeUpdate(connection, insert().columnsAndValues("users", row(1L, "Alice", 25, 1.5, null)));
+
+        int affected = executor.executeUpdate(connection, upsert(StandardDialect.H2)
+                .columnsAndMultiValues("users", List.of(row(1L, "Alice", 25, 2.0, null), row(2L, "Bob", 30, 1.0, null)))
+                .onConflict(List.of("id"))
+                .addToExisting("score"));
+
+        assertThat(affected).isEqualTo(2);
+        List<Double> scores = executor.executeQuery(connection,
+                selectBuilder().selectFrom("users").whereGt("id", 0).orderBy("id", OrderType.ASC),
+                (resultSet, rowNum) -> resultSet.getDouble("score"));
+        assertThat(scores).containsExactly(3.5, 1.0);
+    }
+
+    @Test
+    void inListsBoundAsArray() throws SQLException {
+        for (long id = 1; id <= 5; id++) {
+            executor.executeUpdate(connection, insert().values("users", Arrays.asList(id, "user" + id, (int) id, 0.0, null)));
+        }
+
+        List<Long> ids = executor.executeQuery(connection, selectBuilder(StandardDialect.H2)
+                        .bindInListsAsArray()
+                        .selectFrom("users")
+                        .whereIn("id", List.of(2L, 4L, 9L))
+                        .orderBy("id", OrderType.ASC),
+                (resultSet, rowNum) -> resultSet.getLong("id"));
+        int deleted = executor.executeUpdate(connection, deleteQuery(StandardDialect.H2)
+                .bindInListsAsArray()
+                .deleteFrom("users")
+                .whereNotIn("name", List.of("user1", "user2")));
+
+        assertThat(ids).containsExactly(2L, 4L);
+        assertThat(deleted).isEqualTo(3);
+    }
+
+    @Test
+    void boundArraysAreFreedOnceExecuted() throws SQLException {
+        executor.executeUpdate(connection, insert().values("users", Arrays.asList(1L, "user1", 1, 0.0, null)));
+        List<java.sql.Array> created = new ArrayList<>();
+        Connection recording = RecordingArrays.wrap(connection, created);
+
+        List<Long> ids = executor.executeQuery(recording, selectBuilder(StandardDialect.H2)
+                        .bindInListsAsArray()
+                        .selectFrom("users")
+                        .whereIn("id", List.of(1L, 2L)),
+                (resultSet, rowNum) -> resultSet.getLong("id"));
+        executor.executeUpdate(recording, deleteQuery(StandardDialect.H2)
+                .bindInListsAsArray()
+                .deleteFrom("users")
+                .whereIn("id", List.of(3L)));
+
+        assertThat(ids).containsExactly(1L);
+        assertThat(created).hasSize(2);
+        for (java.sql.Array array : created) {
+            assertThatThrownBy(array::getArray).isInstanceOf(SQLException.class);
+        }
+    }
+
+    @Test
+    void chunkedBulkUpdateSetsPerRowValues() throws SQLException {
+        for (long id = 1; id <= 5; id++) {
+            executor.executeUpdate(connection, insert().values("users", Arrays.asList(id, "user" + id, 0, 0.0, null)));
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", id);
+            row.put("age", (int) id * 10);
+            rows.add(row);
+        }
+        List<StatementChunk> statements = new ArrayList<>();
+        updateQuery(StandardDialect.H2)
+                .bulkUpdateChunked("users", "id", rows, ChunkLimit.maxBinds(4))
+                .forEachRemaining(statements::add);
+
+        int[] counts = executor.executeBatch(connection, statements);
+
+        assertThat(counts).containsExactly(2, 2, 1);
+        List<Integer> ages = executor.executeQuery(connection,
+                selectBuilder().selectFrom("users").whereGt("id", 0).orderBy("id", OrderType.ASC),
+                (resultSet, rowNum) -> resultSet.getInt("age"));
+        assertThat(ages).containsExactly(10, 20, 30, 40, 50);
+    }
+
+    @Test
+    void setCaseByKeyUpdatesOnlyListedRows() throws SQLException {
+        for (long id = 1; id <= 4; id++) {
+            executor.executeUpdate(connection, insert().values("users", Arrays.asList(id, "user" + id, 1, 0.0, null)));
+        }
+        Map<Object, Object> ages = new LinkedHashMap<>();
+        ages.put(1L, 10);
+        ages.put(3L, 30);
+
+        int updated = executor.executeUpdate(connection, updateQuery()
+                .updateTable("users")
+                .setCaseByKey("age", "id", ages));
+
+        assertThat(updated).isEqualTo(2);
+        List<Integer> result = executor.executeQuery(connection,
+                selectBuilder().selectFrom("users").whereGt("id", 0).orderBy("id", OrderType.ASC),
+                (resultSet, rowNum) -> resultSet.getInt("age"));
+        assertThat(result).containsExactly(10, 1, 30, 1);
+    }
+
+    @Test
+    void streamReadsLazilyThroughAForwardOnlyCursor() throws SQLException {
+        for (long id = 1; id <= 5; id++) {
+            executor.executeUpdate(connection, insert().values("users", Arrays.asList(id, "user" + id, 1, 0.0, null)));
+        }
+        List<Statement> statements = new ArrayList<>();
+        List<Integer> mapped = new ArrayList<>();
+
+        try (Stream<Long> ids = executor.stream(connection,
+                selectBuilder(StandardDialect.H2).selectFrom("users").whereGt("id", 1).orderBy("id", OrderType.ASC),
+                (resultSet, rowNum) -> {
+                    statements.add(resultSet.getStatement());
+                    assertThat(resultSet.getType()).isEqualTo(ResultSet.TYPE_FORWARD_ONLY);
+                    assertThat(resultSet.getConcurrency()).isEqualTo(ResultSet.CONCUR_READ_ONLY);
+                    mapped.add(rowNum);
+                    return resultSet.getLong("id");
+                }, 2)) {
+            assertThat(mapped).isEmpty();
+            Iterator<Long> iterator = ids.iterator();
+            assertThat(List.of(iterator.next(), iterator.next())).containsExactly(2L, 3L);
+            assertThat(mapped).containsExactly(0, 1);
+            assertThat(statements.get(0).getFetchSize()).isEqualTo(2);
+            assertThat(statements.get(0).isClosed()).isFalse();
+        }
+
+        assertThat(statements.get(0).isClosed()).isTrue();
+    }
+
+    @Test
+    void streamClosesTheStatementAfterTheLastRow() throws SQLException {
+        executor.executeUpdate(connection, insert().values("users", Arrays.asList(1L, "Alice", 1, 0.0, null)));
+        List<Statement> statements = new ArrayList<>();
+
+        List<String> names = executor.stream(connection, selectBuilder().selectFrom("users"), (resultSet, rowNum) -> {
+            statements.add(resultSet.getStatement());
+            return resultSet.getString("name");
+        }).toList();
+
+        assertThat(names).containsExactly("Alice");
+        assertThat(statements.get(0).isClosed()).isTrue();
+    }
+
+    @Test
+    void streamTurnsOffAutoCommitWhileOpenOnPostgres() throws SQLException {
+        executor.executeUpdate(connection, insert().values("users", Arrays.asList(1L, "Alice", 1, 0.0, null)));
+        List<Boolean> autoCommit = new ArrayList<>();
+
+        executor.forEach(connection, selectBuilder(StandardDialect.POSTGRES).selectFrom("users"),
+                (resultSet, rowNum) -> connection.getAutoCommit(), 100, autoCommit::add);
+
+        assertThat(autoCommit).containsExactly(false);
+        assertThat(connection.getAutoCommit()).isTrue();
+    }
+
+    @Test
+    void forEachThrowsTheSqlException() throws SQLException {
+        executor.executeUpdate(connection, insert().values("users", Arrays.asList(1L, "Alice", 1, 0.0, null)));
+
+        assertThatThrownBy(() -> executor.forEach(connection, selectBuilder().selectFrom("users"),
+                (resultSet, rowNum) -> resultSet.getString("missing"), 10, row -> {
+                }))
+                .isInstanceOf(SQLException.class);
+        assertThatThrownBy(() -> executor.stream(connection, selectBuilder().selectFrom("users"),
+                (resultSet, rowNum) -> rowNum, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void executionsAreReportedByFingerprint() throws SQLException {
+        InMemoryQueryMetrics metrics = new InMemoryQueryMetrics();
+        QueryMetrics.install(metrics);
+        try {
+            for (long id = 1; id <= 3; id++) {
+                executor.executeUpdate(connection, insert().values("users", Arrays.asList(id, "user" + id, 1, 0.0, null)));
+            }
+            String select = executor.executeQuery(connection, selectBuilder().selectFrom("users").whereIn("id", List.of(1L, 2L)),
+                    (resultSet, rowNum) -> resultSet.getString("name")).get(0);
+
+            InMemoryQueryMetrics.Executions inserts = metrics.executions(
+                    QueryMetrics.fingerprint("INSERT INTO users VALUES (?, ?, ?, ?, ?)"));
+            InMemoryQueryMetrics.Executions selects = metrics.executions(
+                    QueryMetrics.fingerprint("SELECT * FROM users WHERE id IN (?)"));
+            assertThat(select).isEqualTo("user1");
+            assertThat(inserts.count()).isEqualTo(3);
+            assertThat(inserts.rows()).isEqualTo(3);
+            assertThat(selects.count()).isEqualTo(1);
+            assertThat(selects.rows()).isEqualTo(2);
+            assertThat(metrics.executions()).hasSize(2);
+        } finally {
+            QueryMetrics.install(QueryMetrics.NOOP);
+        }
+    }
+
+    private static Map<String, Object> row(long id, String name, int age, double score, LocalDateTime createdAt) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("name", name);
+        row.put("age", age);
+        row.put("score", score);
+        row.put("created_at", createdAt);
+        return row;
+    }
+
+    private static SqlQuery query(String sql, ParameterBuffer parameters) {
+        return new SqlQuery() {
+            @Override
+            public String getQuery() {
+                return sql;
+            }
+
+            @Override
+            public ParameterBuffer getParameters() {
+                return parameters;
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package org.builder.crudbuilder.jdbc;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * Wraps a connection so every driver array its statements create is recorded, to check that
+ * arrays are freed.
+ */
+final class RecordingArrays {
+
+    private RecordingArrays() {
+    }
+
+    /**
+     * @param created Receives every array created through the returned connection.
+     */
+    static Connection wrap(Connection connection, List<Array> created) {
+        ClassLoader loader = RecordingArrays.class.getClassLoader();
+        Connection[] proxy = new Connection[1];
+        proxy[0] = (Connection) Proxy.newProxyInstance(loader, new Class<?>[]{Connection.class}, (self, method, args) -> {
+            Object result = invoke(method, connection, args);
+            if (method.getName().equals("createArrayOf")) {
+                created.add((Array) result);
+            } else if (result instanceof PreparedStatement) {
+                PreparedStatement statement = (PreparedStatement) result;
+                return Proxy.newProxyInstance(loader, new Class<?>[]{PreparedStatement.class}, (s, m, a) ->
+                        m.getName().equals("getConnection") ? proxy[0] : invoke(m, statement, a));
+            }
+            return result;
+        });
+        return proxy[0];
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
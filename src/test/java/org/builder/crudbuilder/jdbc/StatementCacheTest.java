@@ -0,0 +1,124 @@
+package org.builder.crudbuilder.jdbc;
+
+import org.builder.crudbuilder.QueryShapeCache;
+import org.builder.crudbuilder.StandardDialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.builder.crudbuilder.InsertBuilder.insert;
+import static org.builder.crudbuilder.SelectBuilder.selectBuilder;
+import static org.builder.crudbuilder.UpdateBuilder.updateQuery;
+
+class StatementCacheTest {
+
+    private Connection setup;
+    private StatementCache statements;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        setup = DriverManager.getConnection("jdbc:h2:mem:statements;DB_CLOSE_DELAY=-1");
+        try (Statement statement = setup.createStatement()) {
+            statement.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, name VARCHAR(50), age INT)");
+        }
+        statements = StatementCache.of(DriverManager.getConnection("jdbc:h2:mem:statements"), 2);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        statements.close();
+        try (Statement statement = setup.createStatement()) {
+            statement.execute("DROP TABLE users");
+        }
+        setup.close();
+    }
+
+    @Test
+    void sameShapeReusesTheStatement() throws SQLException {
+        QueryShapeCache shapes = new QueryShapeCache();
+        for (long id = 1; id <= 3; id++) {
+            statements.executeUpdate(insert().values("users", List.of(id, "user" + id, 20)));
+        }
+
+        List<String> names = statements.executeQuery(selectBuilder(shapes).selectFrom("users").whereGt("id", 1L),
+                (rs, rowNum) -> rs.getString("name"));
+
+        assertThat(names).containsExactly("user2", "user3");
+        assertThat(statements.missCount()).isEqualTo(2);
+        assertThat(statements.hitCount()).isEqualTo(2);
+        assertThat(statements.size()).isEqualTo(2);
+    }
+
+    @Test
+    void arraysBoundByPrepareAreFreedOnTheNextBind() throws SQLException {
+        List<Array> created = new ArrayList<>();
+        StatementCache recording = StatementCache.of(RecordingArrays.wrap(
+                DriverManager.getConnection("jdbc:h2:mem:statements"), created));
+        try {
+            recording.executeUpdate(insert().values("users", List.of(1L, "user1", 20)));
+            PreparedStatement statement = recording.prepare(selectBuilder(StandardDialect.H2)
+                    .bindInListsAsArray().selectFrom("users").whereIn("id", List.of(1L, 2L)));
+            statement.executeQuery().close();
+            assertThat(created).hasSize(1);
+            assertThat(created.get(0).getArray()).isNotNull();
+
+            recording.prepare(selectBuilder(StandardDialect.H2)
+                    .bindInListsAsArray().selectFrom("users").whereIn("id", List.of(3L)));
+            assertThatThrownBy(created.get(0)::getArray).isInstanceOf(SQLException.class);
+
+            recording.clear();
+            assertThatThrownBy(created.get(1)::getArray).isInstanceOf(SQLException.class);
+        } finally {
+            recording.close();
+        }
+    }
+
+    @Test
+    void leastRecentlyUsedStatementIsClosedOnEviction() throws SQLException {
+        PreparedStatement byId = statements.prepare(selectBuilder().selectFrom("users").whereEq("id", 1L));
+        PreparedStatement byName = statements.prepare(selectBuilder().selectFrom("users").whereEq("name", "a"));
+        statements.prepare(selectBuilder().selectFrom("users").whereEq("id", 2L));
+
+        PreparedStatement byAge = statements.prepare(selectBuilder().selectFrom("users").whereEq("age", 3));
+
+        assertThat(byName.isClosed()).isTrue();
+        assertThat(byId.isClosed()).isFalse();
+        assertThat(byAge.isClosed()).isFalse();
+        assertThat(statements.evictionCount()).isEqualTo(1);
+        assertThat(statements.size()).isEqualTo(2);
+    }
+
+    @Test
+    void closeClosesStatementsAndTheConnection() throws SQLException {
+        PreparedStatement statement = statements.prepare(updateQuery()
+                .updateTable("users")
+                .setValues(Map.of("age", 1))
+                .whereEq("id", 1L));
+
+        statements.close();
+
+        assertThat(statement.isClosed()).isTrue();
+        assertThat(statements.getConnection().isClosed()).isTrue();
+        assertThat(statements.size()).isZero();
+        assertThatThrownBy(() -> statements.prepare(selectBuilder().selectFrom("users")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThatThrownBy(() -> StatementCache.of(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StatementCache.of(setup, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}